@@ -0,0 +1,87 @@
+package controller;
+
+import model.Card;
+import model.ICardHolder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures what the controller does on every click: finding the pile of a card, placing it,
+ * and stepping back through the journal.
+ * Moves are undone within the same invocation, so every invocation starts from the same position.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ControllerBenchmark {
+    private SolitaireController _controller;
+    private KlondikeEngine _engine;
+    private byte[] _tableauCards;
+    private Card _playableCard;
+
+    @Setup
+    public void setUp() {
+        _controller = new SolitaireController();
+        _engine = _controller.get_engine();
+        for (long seed = 1; _playableCard == null; seed++) {
+            _engine.deal(seed);
+            for (int pile = Move.FIRST_TABLEAU; pile < Move.FIRST_TABLEAU + Move.TABLEAU_COUNT; pile++) {
+                byte top = _engine.getPile(pile).peekCardCode();
+                if (_engine.findMoveForCard(top) != Move.NONE) {
+                    _playableCard = new Card(top);
+                    break;
+                }
+            }
+        }
+
+        int count = 0;
+        for (int pile = Move.FIRST_TABLEAU; pile < Move.FIRST_TABLEAU + Move.TABLEAU_COUNT; pile++) {
+            count += _engine.getPile(pile).size();
+        }
+        _tableauCards = new byte[count];
+        int index = 0;
+        for (int pile = Move.FIRST_TABLEAU; pile < Move.FIRST_TABLEAU + Move.TABLEAU_COUNT; pile++) {
+            ICardHolder tableau = _engine.getPile(pile);
+            for (int i = 0; i < tableau.size(); i++) {
+                _tableauCards[index++] = tableau.cardCodeAt(i);
+            }
+        }
+    }
+
+    /**
+     * Looks up the pile of every tableau card, which replaced the search through all piles
+     */
+    @Benchmark
+    public void findCardOrigin(Blackhole blackhole) {
+        for (byte card : _tableauCards) {
+            blackhole.consume(_engine.findPile(card));
+        }
+    }
+
+    @Benchmark
+    public boolean placeCardOnClick() {
+        boolean placed = _controller.placeCardOnClick(_playableCard);
+        _engine.undo();
+        return placed;
+    }
+
+    @Benchmark
+    public boolean stepBack() {
+        _engine.apply(Move.draw());
+        return _engine.getGameMoveManager().stepBack();
+    }
+}
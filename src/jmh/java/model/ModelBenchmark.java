@@ -0,0 +1,82 @@
+package model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the hot paths of the model: building and shuffling the deck, the placement rules of
+ * tableaus and foundations, and the card identity used by maps and lookups.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelBenchmark {
+    private long _seed;
+    private Deck _deck;
+    private Tableau _tableau;
+    private Foundation _foundation;
+    private Card _blackSeven;
+    private Card _redSeven;
+    private Card _twoOfHearts;
+    private Card _otherTwoOfHearts;
+
+    @Setup
+    public void setUp() {
+        _deck = new Deck(1);
+        _tableau = new Tableau();
+        _tableau.placeCardCode(PackedCard.withVisibility(PackedCard.of(Card.Suit.HEART, 8), true));
+        _foundation = new Foundation();
+        _foundation.placeCardCode(PackedCard.withVisibility(PackedCard.of(Card.Suit.HEART, 1), true));
+        _blackSeven = new Card(PackedCard.withVisibility(PackedCard.of(Card.Suit.SPADE, 7), true));
+        _redSeven = new Card(PackedCard.withVisibility(PackedCard.of(Card.Suit.DIAMOND, 7), true));
+        _twoOfHearts = new Card(PackedCard.withVisibility(PackedCard.of(Card.Suit.HEART, 2), true));
+        _otherTwoOfHearts = new Card(Card.Suit.HEART, 2);
+    }
+
+    @Benchmark
+    public Deck deckConstruction() {
+        return new Deck(++_seed);
+    }
+
+    @Benchmark
+    public Deck deckShuffle() {
+        _deck.shuffle(++_seed);
+        return _deck;
+    }
+
+    @Benchmark
+    public void tableauIsValidMove(Blackhole blackhole) {
+        blackhole.consume(_tableau.isValidMove(_blackSeven));
+        blackhole.consume(_tableau.isValidMove(_redSeven));
+    }
+
+    @Benchmark
+    public void foundationIsValidMove(Blackhole blackhole) {
+        blackhole.consume(_foundation.isValidMove(_twoOfHearts, true));
+        blackhole.consume(_foundation.isValidMove(_redSeven, true));
+    }
+
+    @Benchmark
+    public int cardHashCode() {
+        return _twoOfHearts.hashCode();
+    }
+
+    @Benchmark
+    public boolean cardEquals() {
+        return _twoOfHearts.equals(_otherTwoOfHearts);
+    }
+}
@@ -0,0 +1,91 @@
+package view;
+
+import controller.KlondikeEngine;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * A {@link GamePanel} without a frame, which renders a {@link KlondikeEngine} and paints into an image.
+ * Works in a headless JVM, since the panel never becomes displayable.
+ */
+final class OffscreenBoard {
+    private final KlondikeEngine _engine;
+    private final GamePanel _gamePanel;
+    private final JLayeredPane _mainPane;
+    private final BufferedImage _image;
+    private final Graphics2D _graphics;
+
+    OffscreenBoard(KlondikeEngine engine) {
+        _engine = engine;
+        _gamePanel = new GamePanel();
+        _mainPane = _gamePanel.getMainPane();
+        _mainPane.setSize(SolitaireView.SCREEN_WIDTH, SolitaireView.SCREEN_HEIGHT);
+        layOut(_mainPane);
+        _image = new BufferedImage(SolitaireView.SCREEN_WIDTH, SolitaireView.SCREEN_HEIGHT,
+                BufferedImage.TYPE_INT_RGB);
+        _graphics = _image.createGraphics();
+    }
+
+    /**
+     * Renders the piles of the engine that changed since the last frame and paints the board
+     */
+    void frame() {
+        _gamePanel.renderGameState(_engine.getDeck(), _engine.getDiscardPile(), _engine.getFoundations(),
+                _engine.getTableaus());
+        paint();
+    }
+
+    /**
+     * Paints the board as it is, e.g. while cards are dragged
+     */
+    void paint() {
+        _mainPane.paint(_graphics);
+    }
+
+    /**
+     * Forgets what every pile looks like, so the next frame renders all cards again
+     */
+    void invalidateAll() {
+        _gamePanel.invalidatePile(_gamePanel.getDeckPanel().getDeckPanel());
+        _gamePanel.invalidatePile(_gamePanel.getDiscardPilePanel().getDiscardPilePanel());
+        for (Component pile : _gamePanel.getFoundationPanel().getFoundationPanel().getComponents()) {
+            _gamePanel.invalidatePile((Container) pile);
+        }
+        for (Component pile : _gamePanel.getTableauPanel().getTableauPanel().getComponents()) {
+            _gamePanel.invalidatePile((Container) pile);
+        }
+    }
+
+    /**
+     * @return The pane of a tableau
+     */
+    JLayeredPane tableauPane(int index) {
+        return (JLayeredPane) _gamePanel.getTableauPanel().getTableauPanel().getComponent(index);
+    }
+
+    JLayeredPane getMainPane() {
+        return _mainPane;
+    }
+
+    GamePanel getGamePanel() {
+        return _gamePanel;
+    }
+
+    BufferedImage getImage() {
+        return _image;
+    }
+
+    /**
+     * Lays out a component tree that has no frame, which would otherwise do it
+     */
+    private static void layOut(Component component) {
+        if (component instanceof Container container) {
+            container.doLayout();
+            for (Component child : container.getComponents()) {
+                layOut(child);
+            }
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package view;
+
+import controller.KlondikeEngine;
+import controller.Move;
+import model.Card;
+import model.PackedCard;
+import model.Tableau;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import service.ImageLoader;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the Swing board offscreen: {@link GamePanel#renderGameState} drives scripted board states
+ * and every frame is painted into an image, so no display is needed.
+ * The forked JVM runs headless, which makes the numbers comparable between desktops and CI.
+ * All scores are per frame; the allocation per frame comes from the GC profiler.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RenderBenchmark {
+    private static final int DRAG_FRAMES = 8;
+    private static final int RUN_LENGTH = 12;
+
+    /**
+     * A dealt game
+     */
+    @State(Scope.Thread)
+    public static class Dealt {
+        KlondikeEngine _engine;
+        OffscreenBoard _board;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            ImageLoader.preload();
+            _engine = new KlondikeEngine();
+            _engine.deal(1);
+            _board = new OffscreenBoard(_engine);
+            _board.frame();
+        }
+    }
+
+    /**
+     * A game whose deck was drawn completely onto the discard pile
+     */
+    @State(Scope.Thread)
+    public static class DrawnOut extends Dealt {
+        @Setup(Level.Trial)
+        public void drawOut() {
+            while (!_engine.getDeck().isEmpty()) {
+                _engine.apply(Move.draw());
+            }
+            _board.frame();
+        }
+    }
+
+    /**
+     * A board with a run from King down to Two on the first tableau, next to an empty tableau
+     */
+    @State(Scope.Thread)
+    public static class LongRun extends Dealt {
+        int _from;
+        int _to;
+
+        @Setup(Level.Trial)
+        public void buildRun() {
+            for (int pile = 0; pile < Move.PILE_COUNT; pile++) {
+                _engine.getPile(pile).clear();
+            }
+            Tableau[] tableaus = _engine.getTableaus();
+            boolean[] inRun = new boolean[PackedCard.IDENTITY_COUNT];
+            for (int i = 0; i < RUN_LENGTH; i++) {
+                byte card = PackedCard.of(i % 2 == 0 ? Card.Suit.SPADE : Card.Suit.HEART, 13 - i);
+                tableaus[0].placeCardCode(PackedCard.withVisibility(card, true));
+                inRun[PackedCard.identity(card)] = true;
+            }
+            // the other cards fill the tableaus from the third one on, the rest goes into the deck
+            int next = 2;
+            for (Card.Suit suit : Card.Suit.values()) {
+                for (int rank = 1; rank <= 13; rank++) {
+                    byte card = PackedCard.of(suit, rank);
+                    if (inRun[PackedCard.identity(card)]) {
+                        continue;
+                    }
+                    if (next < tableaus.length) {
+                        tableaus[next].placeCardCode(card);
+                        if (tableaus[next].size() == next + 1) {
+                            tableaus[next++].setTopCardVisibility(true);
+                        }
+                    } else {
+                        _engine.getDeck().placeCardCode(card);
+                    }
+                }
+            }
+            _from = Move.tableau(0);
+            _to = Move.tableau(1);
+            _board.frame();
+        }
+    }
+
+    /**
+     * Renders and paints every card of the board, as after a resize or a new game
+     */
+    @Benchmark
+    public void fullRender(Dealt state) {
+        state._board.invalidateAll();
+        state._board.frame();
+    }
+
+    /**
+     * Draws a card and takes it back, the usual small change between two frames
+     */
+    @Benchmark
+    @OperationsPerInvocation(2)
+    public void drawAndUndo(Dealt state) {
+        state._engine.apply(Move.draw());
+        state._board.frame();
+        state._engine.undo();
+        state._board.frame();
+    }
+
+    /**
+     * Drags a run of twelve cards like the controller does: the labels move into the drag layer,
+     * follow the mouse for a few frames and drop onto the empty tableau, which renders both tableaus again.
+     * The run moves back and forth between the two tableaus.
+     */
+    @Benchmark
+    @OperationsPerInvocation(DRAG_FRAMES + 1)
+    public void dragLongRun(LongRun state) {
+        OffscreenBoard board = state._board;
+        JLayeredPane mainPane = board.getMainPane();
+        JLayeredPane origin = board.tableauPane(state._from);
+
+        for (Component label : origin.getComponents()) {
+            Point location = SwingUtilities.convertPoint(origin, label.getLocation(), mainPane);
+            origin.remove(label);
+            label.setLocation(location);
+            mainPane.add(label, JLayeredPane.DRAG_LAYER);
+        }
+        for (int frame = 0; frame < DRAG_FRAMES; frame++) {
+            for (Component label : mainPane.getComponentsInLayer(JLayeredPane.DRAG_LAYER)) {
+                label.setLocation(label.getX() + 20, label.getY() + 2);
+            }
+            board.paint();
+        }
+        for (Component label : mainPane.getComponentsInLayer(JLayeredPane.DRAG_LAYER)) {
+            mainPane.remove(label);
+            origin.add(label);
+        }
+        board.getGamePanel().invalidatePile(origin);
+
+        state._engine.apply(Move.of(state._from, state._to, RUN_LENGTH));
+        board.frame();
+        int from = state._from;
+        state._from = state._to;
+        state._to = from;
+    }
+
+    /**
+     * Puts the whole discard pile back into the deck and draws it out again with an undo
+     */
+    @Benchmark
+    @OperationsPerInvocation(2)
+    public void reDeal(DrawnOut state) {
+        state._engine.apply(Move.reDeal(state._engine.getDiscardPile().size()));
+        state._board.frame();
+        state._engine.undo();
+        state._board.frame();
+    }
+}
@@ -1,171 +1,208 @@
 package controller;
 
-import model.Card;
-import model.Deck;
-import model.DiscardPile;
-import model.Foundation;
-import model.GameMove;
 import model.ICardHolder;
+import model.PackedCard;
 import model.Tableau;
 
-import java.util.List;
-import java.util.Stack;
+import java.util.Arrays;
 
 /**
  * The GameMoveManager class is responsible for managing game moves.
  * It keeps track of all moves made during the game and allows the user to step back one move at a time.
+ * Every {@link KlondikeEngine} owns its own GameMoveManager.
+ * <p>
+ * Moves are kept as packed records in a growable long[], a move costs 8 bytes and no objects:
+ * bits 0-15 hold the packed move (see {@link Move}), bit 16 is set if the move turned over a tableau card,
+ * bit 17 is set if the move belongs to the same batch as the move before it
+ * and bits 32-63 hold the score the move earned.
+ * Stepping back only decodes the records and moves the cards back, a batch is stepped back as a whole.
  */
 public final class GameMoveManager {
-    private static GameMoveManager INSTANCE;
-    private final Stack<GameMove> _gameMoves;
+    private static final int INITIAL_CAPACITY = 64;
+    private static final long MOVE_MASK = 0xFFFF;
+    private static final long TURNED_OVER = 1L << 16;
+    private static final long JOINS_PREVIOUS = 1L << 17;
+    private static final int SCORE_SHIFT = 32;
+
+    private final ICardHolder[] _piles;
+    private final byte[] _movedCards;
+    private long[] _records;
+    private int _size;
+    private boolean _batching;
+    private int _batchStart;
+    private int _reDeals;
 
     /**
-     * inits the GameMoveManager with an empty stack of game moves.
+     * inits the GameMoveManager with an empty journal.
+     *
+     * @param piles The card holders of the game, indexed by pile number
      */
-    private GameMoveManager() {
-        _gameMoves = new Stack<>();
+    GameMoveManager(ICardHolder[] piles) {
+        _piles = piles;
+        _movedCards = new byte[PackedCard.CARD_COUNT];
+        _records = new long[INITIAL_CAPACITY];
+        _size = 0;
     }
 
     /**
-     * Returns the singleton instance of the GameMoveManager.
-     *
-     * @return The singleton instance of the GameMoveManager.
+     * Clears all game moves.
      */
-    public static GameMoveManager getInstance() {
-        if (INSTANCE == null) {
-            INSTANCE = new GameMoveManager();
-        }
-        return INSTANCE;
+    public void clearGameMoves() {
+        _size = 0;
+        _batching = false;
+        _reDeals = 0;
     }
 
     /**
-     * Clears all game moves.
+     * @return The number of re-deals played, including those before the journal was cleared by loading a position
      */
-    public void clearGameMoves() {
-        _gameMoves.clear();
+    public int getReDeals() {
+        return _reDeals;
     }
 
     /**
-     * Adds a game move to the stack of game moves.
-     *
-     * @param gameMove The game move to be added.
+     * Sets the number of re-deals played before the first move of the journal
      */
-    public void addGameMove(GameMove gameMove) {
-        _gameMoves.push(gameMove);
+    void setReDeals(int reDeals) {
+        _reDeals = reDeals;
     }
 
     /**
-     * Steps back one move in the game, if possible.
+     * Starts a batch, all moves added until {@link #endBatch()} are stepped back as one.
      */
-    public void stepBack() {
-        if (_gameMoves.isEmpty()) {
-            return;
-        }
+    public void beginBatch() {
+        _batching = true;
+        _batchStart = _size;
+    }
 
-        GameMove gameMove = _gameMoves.pop();
-        List<Card> movedCards = gameMove.getMovedCards();
-        ICardHolder origin = gameMove.getOrigin();
-        ICardHolder destination = gameMove.getDestination();
-
-        if (origin instanceof Deck) {
-            handleDeckStepBack(origin, destination);
-        } else if (origin instanceof DiscardPile) {
-            handleDiscardPileStepBack(movedCards, destination, origin);
-        } else if (origin instanceof Tableau) {
-            handleTableauStepBack(gameMove, movedCards, origin, destination);
-        } else if (origin instanceof Foundation) {
-            handleFoundationStepBack(movedCards, origin, destination);
-        }
+    /**
+     * Ends the current batch.
+     */
+    public void endBatch() {
+        _batching = false;
     }
 
     /**
-     * Handles the step back logic when the origin is a Deck.
+     * Adds a game move to the journal.
      *
-     * @param movedCards        The list of cards that were moved.
-     * @param destination       The destination from where the cards were moved.
-     * @param discardPileOrigin The originating deck from which cards were moved.
+     * @param move       The packed move
+     * @param turnedOver True if the move turned over the new top card of the tableau it was taken from
+     * @param score      The score the move earned
      */
-    private void handleDiscardPileStepBack(List<Card> movedCards, ICardHolder destination, ICardHolder discardPileOrigin) {
-        if (!(destination instanceof Deck)) {
-            destination.pickUpCard();
-            discardPileOrigin.placeCard(movedCards.getFirst());
-        } else {
-            while (!destination.isEmpty()) {
-                discardPileOrigin.placeCard(destination.pickUpCard());
-            }
+    public void addGameMove(int move, boolean turnedOver, int score) {
+        if (_size == _records.length) {
+            _records = Arrays.copyOf(_records, _records.length * 2);
+        }
+        if (Move.to(move) == Move.DECK) {
+            _reDeals++;
         }
+        long joinsPrevious = _batching && _size > _batchStart ? JOINS_PREVIOUS : 0;
+        _records[_size++] = (long) score << SCORE_SHIFT | joinsPrevious | (turnedOver ? TURNED_OVER : 0) | move;
     }
 
     /**
-     * Used to go one Step back for the Deck and DiscardPile
-     * If the discardPile is empty, all cards from the deck are moved to the discardPile
-     * If the discardPile is not empty, the top card is moved back to the deck
+     * Checks if there is a move to step back.
+     *
+     * @return True if no moves have been made, false otherwise.
      */
-    public void handleDeckStepBack(ICardHolder origin, ICardHolder destination) {
-        Card card = destination.pickUpCard();
-        card.setVisibility(false);
-        origin.placeCard(card);
+    public boolean isEmpty() {
+        return _size == 0;
     }
 
     /**
-     * Handles the step back logic when the origin is a Tableau.
-     *
-     * @param gameMove      The game move object containing move details.
-     * @param movedCards    The list of cards that were moved.
-     * @param tableauOrigin The originating tableau from which cards were moved.
-     * @param destination   The destination where the cards were moved.
+     * @return The number of moves in the journal
      */
-    private void handleTableauStepBack(GameMove gameMove, List<Card> movedCards, ICardHolder tableauOrigin, ICardHolder destination) {
-        if (destination instanceof Tableau) {
-            moveCardsBetweenTableaus(gameMove, movedCards, tableauOrigin, destination);
-        } else if (destination instanceof Foundation) {
-            destination.pickUpCard();
-            handleTableauVisibility(gameMove, tableauOrigin);
-            tableauOrigin.placeCard(movedCards.getFirst());
-        }
+    public int size() {
+        return _size;
     }
 
     /**
-     * Handles the step back logic when the origin is a Foundation.
-     *
-     * @param movedCards       The list of cards that were moved.
-     * @param foundationOrigin The originating foundation from which cards were moved.
-     * @param destination      The destination where the cards were moved.
+     * @param index The number of the move, 0 being the first move
+     * @return The packed move
      */
-    private void handleFoundationStepBack(List<Card> movedCards, ICardHolder foundationOrigin, ICardHolder destination) {
-        destination.pickUpCard();
-        foundationOrigin.placeCard(movedCards.getFirst());
+    public int moveAt(int index) {
+        return (int) (_records[index] & MOVE_MASK);
     }
 
     /**
-     * Ensures the visibility of the cards in the tableau is correctly managed.
-     *
-     * @param gameMove The game move object containing move details.
-     * @param tableau  The tableau whose visibility is being managed.
+     * @param index The number of the move, 0 being the first move
+     * @return True if the move turned over a tableau card
      */
-    private void handleTableauVisibility(GameMove gameMove, ICardHolder tableau) {
-        if (!tableau.isEmpty() && !gameMove.getTableauCardWasVisible()) {
-            tableau.peek().setVisibility(false);
+    public boolean turnedOverAt(int index) {
+        return (_records[index] & TURNED_OVER) != 0;
+    }
+
+    /**
+     * @param index The number of the move, 0 being the first move
+     * @return The score the move earned
+     */
+    public int scoreAt(int index) {
+        return (int) (_records[index] >> SCORE_SHIFT);
+    }
+
+    /**
+     * @return The number of moves the next {@link #stepBack()} reverts, 1 unless the last move ended a batch
+     */
+    public int lastEntrySize() {
+        int index = _size - 1;
+        while (index > 0 && (_records[index] & JOINS_PREVIOUS) != 0) {
+            index--;
         }
+        return _size - Math.max(index, 0);
     }
 
     /**
-     * Manages the movement of cards between Tableaus when stepping back.
+     * Steps back one move in the game, or the whole batch the last move belongs to, if possible.
+     * Drawn cards go back into the deck face-down, a re-deal puts all cards of the deck back onto the discard pile
+     * and all other moves put the cards back onto the pile they came from.
      *
-     * @param gameMove    The game move object containing move details.
-     * @param movedCards  The list of cards that were moved.
-     * @param origin      The originating tableau from which cards were moved.
-     * @param destination The destination tableau to which cards were moved.
+     * @return True if a move was reverted, false if there was no move.
      */
-    private void moveCardsBetweenTableaus(GameMove gameMove, List<Card> movedCards, ICardHolder origin, ICardHolder destination) {
-        for (Card ignored : movedCards) {
-            destination.pickUpCard();
+    public boolean stepBack() {
+        if (_size == 0) {
+            return false;
         }
+        long record;
+        do {
+            record = _records[--_size];
+            revert(record);
+        } while ((record & JOINS_PREVIOUS) != 0 && _size > 0);
+        return true;
+    }
 
-        handleTableauVisibility(gameMove, origin);
-
-        for (int i = movedCards.size() - 1; i >= 0; i--) {
-            origin.placeCard(movedCards.get(i));
+    /**
+     * Moves the cards of a record back.
+     */
+    private void revert(long record) {
+        int move = (int) (record & MOVE_MASK);
+        ICardHolder origin = _piles[Move.from(move)];
+        ICardHolder destination = _piles[Move.to(move)];
+        int count = Move.count(move);
+
+        // the deck places cards face-down and the discard pile face-up
+        if (Move.to(move) == Move.DECK) {
+            // a re-deal reversed the order of the cards, so does stepping back
+            for (int i = 0; i < count; i++) {
+                origin.placeCardCode(destination.pickUpCardCode());
+            }
+            _reDeals--;
+            return;
+        }
+        if (Move.from(move) == Move.DECK) {
+            // drawing placed the cards one by one, so the last card drawn goes back first
+            for (int i = 0; i < count; i++) {
+                origin.placeCardCode(destination.pickUpCardCode());
+            }
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            _movedCards[i] = destination.pickUpCardCode();
+        }
+        if ((record & TURNED_OVER) != 0) {
+            ((Tableau) origin).setTopCardVisibility(false);
+        }
+        for (int i = count - 1; i >= 0; i--) {
+            origin.placeCardCode(_movedCards[i]);
         }
     }
 }
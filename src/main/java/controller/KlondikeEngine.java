@@ -0,0 +1,618 @@
+package controller;
+
+import model.BoardSnapshot;
+import model.CardIndex;
+import model.Deck;
+import model.DiscardPile;
+import model.Foundation;
+import model.ICardHolder;
+import model.PackedCard;
+import model.Tableau;
+import model.ZobristHash;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Headless rules engine for a game of Klondike.
+ * Owns the Deck, the DiscardPile, the Foundations and the Tableaus and applies moves to them.
+ * Moves are packed into ints (see {@link Move}), so the engine can run without the Swing layer
+ * and without allocating Card objects.
+ * <p>
+ * The {@link Rules} decide how many cards a draw turns over, how often the discard pile may be re-dealt
+ * and how the game is scored, see {@link Scoring}. They are chosen once per game.
+ * <p>
+ * Auto-complete and sending the safe cards up play many moves as one batch:
+ * they are stepped back as one and the ScoreManager hears about the batch once.
+ */
+public final class KlondikeEngine {
+    /**
+     * Upper bound for the number of legal moves in any position
+     */
+    public static final int MAX_MOVES = 256;
+
+    private final ScoreManager _scoreManager;
+    private final GameMoveManager _gameMoveManager;
+    private final ICardHolder[] _piles;
+    private final byte[] _movedCards;
+    private final Deck _deck;
+    private final DiscardPile _discardPile;
+    private final Foundation[] _foundations;
+    private final Tableau[] _tableaus;
+    private final ZobristHash _hash;
+    private final CardIndex _cardIndex;
+    private final MoveGenerator _moveGenerator;
+    private Rules _rules;
+    private Rules _nextRules;
+    private StockRule _stockRule;
+    private Scoring _scoring;
+    private long _seed;
+    private int _score;
+    private boolean _batching;
+
+    /**
+     * Creates a headless engine that keeps the score to itself
+     */
+    public KlondikeEngine() {
+        this(null);
+    }
+
+    /**
+     * Creates an engine that also reports every score change to the given ScoreManager
+     *
+     * @param scoreManager The ScoreManager to report to, may be null
+     */
+    public KlondikeEngine(ScoreManager scoreManager) {
+        this(scoreManager, Rules.STANDARD);
+    }
+
+    /**
+     * Creates an engine that plays by the given rules and reports every score change to the given ScoreManager
+     *
+     * @param scoreManager The ScoreManager to report to, may be null
+     * @param rules        The rules of the games
+     */
+    public KlondikeEngine(ScoreManager scoreManager, Rules rules) {
+        _scoreManager = scoreManager;
+        _nextRules = rules;
+        _rules = rules;
+        _stockRule = rules.stockRule();
+        _scoring = rules.getScoring();
+        _piles = new ICardHolder[Move.PILE_COUNT];
+        _gameMoveManager = new GameMoveManager(_piles);
+        _movedCards = new byte[PackedCard.CARD_COUNT];
+
+        _deck = new Deck();
+        _discardPile = new DiscardPile();
+        _foundations = new Foundation[Move.FOUNDATION_COUNT];
+        for (int i = 0; i < _foundations.length; i++) {
+            _foundations[i] = new Foundation();
+            _piles[Move.foundation(i)] = _foundations[i];
+        }
+        _tableaus = new Tableau[Move.TABLEAU_COUNT];
+        for (int i = 0; i < _tableaus.length; i++) {
+            _tableaus[i] = new Tableau();
+            _piles[Move.tableau(i)] = _tableaus[i];
+        }
+        _piles[Move.DECK] = _deck;
+        _piles[Move.DISCARD_PILE] = _discardPile;
+        _hash = new ZobristHash();
+        _cardIndex = new CardIndex();
+        for (int pile = 0; pile < Move.PILE_COUNT; pile++) {
+            _piles[pile].attachHash(_hash, pile);
+            _piles[pile].attachIndex(_cardIndex, pile);
+        }
+        _moveGenerator = new MoveGenerator(_deck, _discardPile, _foundations, _tableaus, _piles, _gameMoveManager,
+                _stockRule);
+        deal();
+    }
+
+    /**
+     * Deals a new random game.
+     *
+     * @see #deal(long)
+     */
+    public void deal() {
+        deal(ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Deals the game belonging to a seed, the same seed always deals the same game.
+     * Shuffles the Deck and deals the 7 Tableaus straight from it.
+     * The first Tableau has 1 Card, the second 2 Cards, the third 3 Cards and so on.
+     * The top Card of each Tableau is set visible.
+     * Clears the moves and resets the score of the engine.
+     * The card holders are reused, so dealing does not allocate.
+     *
+     * @param seed The seed of the deal
+     */
+    public void deal(long seed) {
+        startGame();
+        _seed = seed;
+        _deck.shuffle(seed);
+        _discardPile.clear();
+        for (Foundation foundation : _foundations) {
+            foundation.clear();
+        }
+        for (int i = 0; i < _tableaus.length; i++) {
+            Tableau tableau = _tableaus[i];
+            tableau.clear();
+            for (int j = 0; j <= i; j++) {
+                tableau.placeCardCode(_deck.pickUpCardCode());
+            }
+            tableau.setTopCardVisibility(true);
+        }
+
+        _gameMoveManager.clearGameMoves();
+        resetScore();
+        _batching = false;
+    }
+
+    /**
+     * Sets the rules of the next game, they apply from the next deal or load on.
+     *
+     * @param rules The rules
+     */
+    public void setRules(Rules rules) {
+        _nextRules = rules;
+    }
+
+    /**
+     * @return The rules of the current game
+     */
+    public Rules getRules() {
+        return _rules;
+    }
+
+    /**
+     * Switches to the rules of the next game, if they changed.
+     */
+    private void startGame() {
+        if (_nextRules != _rules) {
+            _rules = _nextRules;
+            _stockRule = _rules.stockRule();
+            _scoring = _rules.getScoring();
+            _moveGenerator.setStockRule(_stockRule);
+        }
+    }
+
+    /**
+     * Takes an immutable copy of all piles, which other threads may read while the game goes on.
+     * Piles are numbered as in {@link Move}.
+     *
+     * @return The snapshot of the current position
+     */
+    public BoardSnapshot snapshot() {
+        return BoardSnapshot.of(_piles, getHash(), _gameMoveManager.getReDeals());
+    }
+
+    /**
+     * Sets up the position of a snapshot taken from an engine.
+     * Clears the moves and resets the score, the seed stays the same.
+     * The re-deals played before the snapshot still count against the re-deal limit.
+     *
+     * @param snapshot The snapshot, see {@link #snapshot()}
+     */
+    public void load(BoardSnapshot snapshot) {
+        startGame();
+        snapshot.restore(_piles);
+        _gameMoveManager.clearGameMoves();
+        _gameMoveManager.setReDeals(snapshot.getReDeals());
+        resetScore();
+        _batching = false;
+    }
+
+    /**
+     * Writes all legal moves of the current position into the given array.
+     *
+     * @param moves The array to write to, needs room for {@link #MAX_MOVES} moves
+     * @return The number of moves written
+     * @see MoveGenerator#generate(int[])
+     */
+    public int legalMoves(int[] moves) {
+        return _moveGenerator.generate(moves);
+    }
+
+    /**
+     * Fills the buffer with all legal moves of the current position.
+     *
+     * @param buffer The buffer to fill
+     * @see MoveGenerator#generate(int[])
+     */
+    public void legalMoves(MoveBuffer buffer) {
+        _moveGenerator.generate(buffer);
+    }
+
+    /**
+     * Checks if a move is legal in the current position
+     *
+     * @param move The packed move
+     * @return True if the move may be applied, false otherwise
+     */
+    public boolean isLegal(int move) {
+        return _moveGenerator.isLegal(move);
+    }
+
+    /**
+     * Applies a move without checking if it is legal.
+     * Turns over the new top card of a tableau the cards were taken from and updates the score.
+     *
+     * @param move The packed move
+     * @see #isLegal(int)
+     */
+    public void apply(int move) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+
+        if (from == Move.DECK) {
+            for (int i = Move.count(move); i > 0; i--) {
+                _discardPile.placeCardCode(_deck.pickUpCardCode());
+            }
+            _gameMoveManager.addGameMove(move, false, 0);
+        } else if (from == Move.DISCARD_PILE && to == Move.DECK) {
+            for (int i = Move.count(move); i > 0; i--) {
+                _deck.placeCardCode(_discardPile.pickUpCardCode());
+            }
+            int score = _scoring.reDealScore();
+            addScore(score);
+            _gameMoveManager.addGameMove(move, false, score);
+        } else {
+            ICardHolder origin = _piles[from];
+            ICardHolder destination = _piles[to];
+            int count = Move.count(move);
+            for (int i = 0; i < count; i++) {
+                _movedCards[i] = origin.pickUpCardCode();
+            }
+            for (int i = count - 1; i >= 0; i--) {
+                destination.placeCardCode(_movedCards[i]);
+            }
+            boolean turnsOver = turnOverTopCard(origin);
+            int score = scoreOf(from, to, turnsOver);
+            addScore(score);
+            _gameMoveManager.addGameMove(move, turnsOver, score);
+        }
+    }
+
+    /**
+     * Turns over the top card of the origin, if it is a face-down tableau card.
+     *
+     * @return True if a card was turned over, false otherwise
+     */
+    private static boolean turnOverTopCard(ICardHolder origin) {
+        if (origin instanceof Tableau tableau && !tableau.isEmpty() && !PackedCard.isFaceUp(tableau.peekCardCode())) {
+            tableau.setTopCardVisibility(true);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Computes the score of a card move.
+     */
+    private int scoreOf(int from, int to, boolean turnsOver) {
+        int score = _scoring.moveScore(from, to, turnsOver);
+        if (Move.isFoundation(to) && isWon()) {
+            score += _scoring.winScore();
+        }
+        return score;
+    }
+
+    /**
+     * Checks if the game can be finished without a decision.
+     * That is the case once all tableau cards are face-up: the lowest card left is then always
+     * the top card of a tableau or reachable by drawing, so moving cards to the foundations wins.
+     * Face-down cards only lie at the bottom of a tableau, so only the bottom cards are checked.
+     *
+     * @return True if the game is not won yet and all tableau cards are face-up, false otherwise
+     */
+    public boolean canAutoComplete() {
+        for (Tableau tableau : _tableaus) {
+            if (!tableau.isEmpty() && !PackedCard.isFaceUp(tableau.cardCodeAt(0))) {
+                return false;
+            }
+        }
+        return !isWon();
+    }
+
+    /**
+     * Finishes the game if {@link #canAutoComplete()}.
+     * Moves cards to the foundations, drawing and re-dealing when no card fits, until the game is won.
+     * All moves are applied as one batch, see {@link GameMoveManager#beginBatch()}.
+     *
+     * @return The number of moves applied, they are the last moves of the journal
+     */
+    public int autoComplete() {
+        if (!canAutoComplete()) {
+            return 0;
+        }
+        return playToFoundations(false);
+    }
+
+    /**
+     * Moves all safe cards from the tableaus and the discard pile to the foundations, as one batch.
+     * A card is safe if no card of the other color could ever need it: it is an Ace or a Two,
+     * or both foundations of the other color have reached one rank below it.
+     *
+     * @return The number of moves applied, they are the last moves of the journal
+     */
+    public int sendSafeCardsUp() {
+        return playToFoundations(true);
+    }
+
+    private int playToFoundations(boolean safeOnly) {
+        int scoreBefore = _score;
+        int applied = 0;
+        // draws and re-deals since the last card went up, more than a full round means no card fits
+        int idle = 0;
+        _gameMoveManager.beginBatch();
+        _batching = true;
+        while (!isWon()) {
+            int move = nextFoundationMove(safeOnly);
+            if (move != Move.NONE) {
+                idle = 0;
+            } else if (safeOnly || idle > _deck.size() + _discardPile.size()) {
+                break;
+            } else if (!_deck.isEmpty()) {
+                move = _stockRule.drawMove(_deck.size());
+                idle++;
+            } else if (canReDeal()) {
+                move = Move.reDeal(_discardPile.size());
+                idle++;
+            } else {
+                break;
+            }
+            apply(move);
+            applied++;
+        }
+        _batching = false;
+        _gameMoveManager.endBatch();
+        reportScore(_score - scoreBefore);
+        return applied;
+    }
+
+    /**
+     * @return A move of the top card of the discard pile or a tableau to a foundation or {@link Move#NONE}
+     */
+    private int nextFoundationMove(boolean safeOnly) {
+        int move = foundationMoveOf(Move.DISCARD_PILE, safeOnly);
+        for (int i = 0; i < Move.TABLEAU_COUNT && move == Move.NONE; i++) {
+            move = foundationMoveOf(Move.tableau(i), safeOnly);
+        }
+        return move;
+    }
+
+    private int foundationMoveOf(int from, boolean safeOnly) {
+        byte card = _piles[from].peekCardCode();
+        if (card == PackedCard.NONE || !PackedCard.isFaceUp(card) || (safeOnly && !isSafe(card))) {
+            return Move.NONE;
+        }
+        for (int i = 0; i < Move.FOUNDATION_COUNT; i++) {
+            if (_foundations[i].isValidMove(card, true)) {
+                return Move.of(from, Move.foundation(i), 1);
+            }
+        }
+        return Move.NONE;
+    }
+
+    private boolean isSafe(byte card) {
+        int rank = PackedCard.rank(card);
+        if (rank <= 2) {
+            return true;
+        }
+        int covered = 0;
+        for (Foundation foundation : _foundations) {
+            byte top = foundation.peekCardCode();
+            if (top != PackedCard.NONE && PackedCard.isOppositeColor(top, card) && PackedCard.rank(top) >= rank - 1) {
+                covered++;
+            }
+        }
+        return covered == 2;
+    }
+
+    /**
+     * Steps back one move, or the batch the last move belongs to, if possible.
+     * Scored by the {@link Scoring} of the rules, standard scoring decreases the score by 10.
+     *
+     * @return True if a move was reverted, false if there was no move
+     */
+    public boolean undo() {
+        int revertedScore = 0;
+        for (int i = _gameMoveManager.size() - _gameMoveManager.lastEntrySize(); i < _gameMoveManager.size(); i++) {
+            revertedScore += _gameMoveManager.scoreAt(i);
+        }
+        if (!_gameMoveManager.stepBack()) {
+            return false;
+        }
+        addScore(_scoring.undoScore(revertedScore));
+        return true;
+    }
+
+    /**
+     * @return The move that draws from the deck by the rules of the game or {@link Move#NONE} if the deck is empty
+     */
+    public int drawMove() {
+        return _deck.isEmpty() ? Move.NONE : _stockRule.drawMove(_deck.size());
+    }
+
+    /**
+     * @return True if the deck is empty, the discard pile is not and the rules allow one more re-deal
+     */
+    public boolean canReDeal() {
+        return _deck.isEmpty() && !_discardPile.isEmpty() && _stockRule.mayReDeal(_gameMoveManager.getReDeals());
+    }
+
+    /**
+     * Checks if the game is won.
+     * The game is won if all foundations are filled up to a King.
+     *
+     * @return True if the game is won, false otherwise
+     */
+    public boolean isWon() {
+        for (Foundation foundation : _foundations) {
+            if (PackedCard.rank(foundation.peekCardCode()) != 13) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void addScore(int score) {
+        if (score == 0) {
+            return;
+        }
+        _score = _scoring.add(_score, score);
+        if (!_batching) {
+            reportScore(score);
+        }
+    }
+
+    /**
+     * Resets the score to the initial score of the rules, the ScoreManager starts over with the same scoring.
+     */
+    private void resetScore() {
+        _score = _scoring.initialScore();
+        if (_scoreManager != null) {
+            _scoreManager.resetScore(_scoring);
+        }
+    }
+
+    private void reportScore(int score) {
+        if (score != 0 && _scoreManager != null) {
+            _scoreManager.addScore(score);
+        }
+    }
+
+    /**
+     * Finds the pile a card lies in with a lookup in the card index.
+     * Only the top card of the discard pile and the foundations are considered.
+     *
+     * @param card The packed card to find
+     * @return The pile of the card or -1 if the card can not be played
+     */
+    public int findPile(byte card) {
+        int pile = _cardIndex.pileOf(card);
+        if (pile == CardIndex.NOWHERE || pile == Move.DECK) {
+            return -1;
+        }
+        if (!Move.isTableau(pile) && _cardIndex.positionOf(card) != _piles[pile].size() - 1) {
+            return -1;
+        }
+        return pile;
+    }
+
+    /**
+     * Counts the cards from the given card up to the top of its pile.
+     */
+    private int countFromCard(int from, byte card) {
+        return _piles[from].size() - _cardIndex.positionOf(card);
+    }
+
+    /**
+     * Creates the move of a card, and all cards on top of it, to the given pile.
+     *
+     * @param card The packed card to move
+     * @param to   The pile to move to
+     * @return The move, which might not be legal, or {@link Move#NONE} if the card can not be played
+     */
+    public int moveOf(byte card, int to) {
+        int from = findPile(card);
+        if (from < 0) {
+            return Move.NONE;
+        }
+        return Move.of(from, to, countFromCard(from, card));
+    }
+
+    /**
+     * Finds the move for a clicked card.
+     * A single card is placed on the first foundation that accepts it,
+     * otherwise the card and all cards on top of it are placed on the first tableau that accepts them.
+     *
+     * @param card The packed card that was clicked
+     * @return The legal move or {@link Move#NONE} if the card can not be placed anywhere
+     */
+    public int findMoveForCard(byte card) {
+        int from = findPile(card);
+        if (from < 0) {
+            return Move.NONE;
+        }
+        int count = countFromCard(from, card);
+        for (int to = Move.FIRST_FOUNDATION; to < Move.FIRST_FOUNDATION + Move.FOUNDATION_COUNT; to++) {
+            int move = Move.of(from, to, count);
+            if (isLegal(move)) {
+                return move;
+            }
+        }
+        for (int to = Move.FIRST_TABLEAU; to < Move.FIRST_TABLEAU + Move.TABLEAU_COUNT; to++) {
+            int move = Move.of(from, to, count);
+            if (isLegal(move)) {
+                return move;
+            }
+        }
+        return Move.NONE;
+    }
+
+    /**
+     * @return The seed of the current deal
+     */
+    public long getSeed() {
+        return _seed;
+    }
+
+    /**
+     * Returns the Zobrist hash of the current position.
+     * It is updated with every card that moves, so reading it is free, and stepping back
+     * restores the hash of the previous position.
+     * The score and the move history are not part of the hash,
+     * the number of re-deals played only is if the rules limit the re-deals.
+     *
+     * @return The hash of the cards in all piles, including their visibility
+     */
+    public long getHash() {
+        return _hash.getValue() ^ _stockRule.hashKey(_gameMoveManager.getReDeals());
+    }
+
+    public int getScore() {
+        return _score;
+    }
+
+    /**
+     * @param pile The number of the pile, see {@link Move}
+     * @return The card holder of the pile
+     */
+    public ICardHolder getPile(int pile) {
+        return _piles[pile];
+    }
+
+    /**
+     * @return The index that knows the pile and position of every card
+     */
+    public CardIndex getCardIndex() {
+        return _cardIndex;
+    }
+
+    /**
+     * @return The journal of the moves applied since the deal
+     */
+    public GameMoveManager getGameMoveManager() {
+        return _gameMoveManager;
+    }
+
+    public MoveGenerator getMoveGenerator() {
+        return _moveGenerator;
+    }
+
+    public Deck getDeck() {
+        return _deck;
+    }
+
+    public DiscardPile getDiscardPile() {
+        return _discardPile;
+    }
+
+    public Foundation[] getFoundations() {
+        return _foundations;
+    }
+
+    public Tableau[] getTableaus() {
+        return _tableaus;
+    }
+}
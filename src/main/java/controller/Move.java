@@ -0,0 +1,114 @@
+package controller;
+
+/**
+ * Static helpers for moves packed into a single int, as used by the {@link KlondikeEngine}.
+ * Bits 0-3 hold the pile the cards are taken from, bits 4-7 the pile they are placed on
+ * and bits 8-13 the number of moved cards.
+ * <p>
+ * Piles are numbered 0-6 for the tableaus, 7-10 for the foundations, 11 for the deck and 12 for the discard pile.
+ */
+public final class Move {
+    public static final int TABLEAU_COUNT = 7;
+    public static final int FOUNDATION_COUNT = 4;
+    public static final int FIRST_TABLEAU = 0;
+    public static final int FIRST_FOUNDATION = FIRST_TABLEAU + TABLEAU_COUNT;
+    public static final int DECK = FIRST_FOUNDATION + FOUNDATION_COUNT;
+    public static final int DISCARD_PILE = DECK + 1;
+    public static final int PILE_COUNT = DISCARD_PILE + 1;
+    /**
+     * Value used when no move exists
+     */
+    public static final int NONE = 0;
+
+    private static final int PILE_MASK = 0x0F;
+    private static final int TO_SHIFT = 4;
+    private static final int COUNT_SHIFT = 8;
+    private static final int COUNT_MASK = 0x3F;
+
+    private Move() {
+    }
+
+    /**
+     * Packs a move.
+     *
+     * @param from  The pile the cards are taken from
+     * @param to    The pile the cards are placed on
+     * @param count The number of cards that are moved
+     * @return The packed move
+     */
+    public static int of(int from, int to, int count) {
+        return from | to << TO_SHIFT | count << COUNT_SHIFT;
+    }
+
+    /**
+     * @return The move drawing one card from the deck to the discard pile
+     */
+    public static int draw() {
+        return draw(1);
+    }
+
+    /**
+     * @param count The number of cards drawn, see {@link Rules#getDrawCount()}
+     * @return The move drawing cards from the deck to the discard pile, one after the other
+     */
+    public static int draw(int count) {
+        return of(DECK, DISCARD_PILE, count);
+    }
+
+    /**
+     * @param count The number of cards on the discard pile
+     * @return The move putting the discard pile back into the deck
+     */
+    public static int reDeal(int count) {
+        return of(DISCARD_PILE, DECK, count);
+    }
+
+    public static int from(int move) {
+        return move & PILE_MASK;
+    }
+
+    public static int to(int move) {
+        return (move >>> TO_SHIFT) & PILE_MASK;
+    }
+
+    public static int count(int move) {
+        return (move >>> COUNT_SHIFT) & COUNT_MASK;
+    }
+
+    public static int tableau(int index) {
+        return FIRST_TABLEAU + index;
+    }
+
+    public static int foundation(int index) {
+        return FIRST_FOUNDATION + index;
+    }
+
+    public static boolean isTableau(int pile) {
+        return pile < FIRST_FOUNDATION;
+    }
+
+    public static boolean isFoundation(int pile) {
+        return pile >= FIRST_FOUNDATION && pile < DECK;
+    }
+
+    /**
+     * Creates a readable representation of a move, e.g. "Tableau 3 -> Foundation 1 (1)"
+     *
+     * @param move The packed move
+     * @return The readable move
+     */
+    public static String toString(int move) {
+        return pileName(from(move)) + " -> " + pileName(to(move)) + " (" + count(move) + ")";
+    }
+
+    private static String pileName(int pile) {
+        if (isTableau(pile)) {
+            return "Tableau " + (pile - FIRST_TABLEAU + 1);
+        } else if (isFoundation(pile)) {
+            return "Foundation " + (pile - FIRST_FOUNDATION + 1);
+        } else if (pile == DECK) {
+            return "Deck";
+        }
+        return "Discard Pile";
+    }
+}
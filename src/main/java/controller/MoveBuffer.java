@@ -0,0 +1,57 @@
+package controller;
+
+/**
+ * A reusable list of packed moves (see {@link Move}).
+ * Room for {@link KlondikeEngine#MAX_MOVES} moves is allocated once, so filling the buffer
+ * again and again does not allocate.
+ */
+public final class MoveBuffer {
+    private final int[] _moves;
+    private int _size;
+
+    public MoveBuffer() {
+        _moves = new int[KlondikeEngine.MAX_MOVES];
+        _size = 0;
+    }
+
+    /**
+     * @param index The position of the move, between 0 and {@link #size()} - 1
+     * @return The packed move
+     */
+    public int get(int index) {
+        return _moves[index];
+    }
+
+    public int size() {
+        return _size;
+    }
+
+    public boolean isEmpty() {
+        return _size == 0;
+    }
+
+    /**
+     * @param move The packed move
+     * @return True if the buffer holds the move, false otherwise
+     */
+    public boolean contains(int move) {
+        for (int i = 0; i < _size; i++) {
+            if (_moves[i] == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void clear() {
+        _size = 0;
+    }
+
+    int[] array() {
+        return _moves;
+    }
+
+    void setSize(int size) {
+        _size = size;
+    }
+}
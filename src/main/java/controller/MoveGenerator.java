@@ -0,0 +1,246 @@
+package controller;
+
+import model.Deck;
+import model.DiscardPile;
+import model.Foundation;
+import model.ICardHolder;
+import model.PackedCard;
+import model.Tableau;
+
+/**
+ * Lists and checks the moves of the position of a {@link KlondikeEngine} without changing it.
+ * Works on the packed cards only and keeps its scratch state in arrays that are allocated once,
+ * so generating moves does not allocate.
+ * <p>
+ * The face-up cards of a tableau always form a run of alternating colors and descending ranks,
+ * so the card of a run that fits onto another tableau follows from the top card of that tableau
+ * and is found without walking the run.
+ */
+public final class MoveGenerator {
+    private static final int SUIT_COUNT = 4;
+    private static final int KING = 13;
+
+    private final Deck _deck;
+    private final DiscardPile _discardPile;
+    private final Foundation[] _foundations;
+    private final Tableau[] _tableaus;
+    private final ICardHolder[] _piles;
+    private final GameMoveManager _gameMoveManager;
+    private StockRule _stockRule;
+    // rank and pile of the foundation of each suit, rank 0 if the suit has no foundation yet
+    private final int[] _foundationRanks;
+    private final int[] _foundationPiles;
+    // top card and position of the lowest face-up card of each tableau
+    private final byte[] _tops;
+    private final int[] _runStarts;
+    private int _emptyFoundation;
+
+    MoveGenerator(Deck deck, DiscardPile discardPile, Foundation[] foundations, Tableau[] tableaus,
+                  ICardHolder[] piles, GameMoveManager gameMoveManager, StockRule stockRule) {
+        _deck = deck;
+        _discardPile = discardPile;
+        _foundations = foundations;
+        _tableaus = tableaus;
+        _piles = piles;
+        _gameMoveManager = gameMoveManager;
+        _stockRule = stockRule;
+        _foundationRanks = new int[SUIT_COUNT];
+        _foundationPiles = new int[SUIT_COUNT];
+        _tops = new byte[Move.TABLEAU_COUNT];
+        _runStarts = new int[Move.TABLEAU_COUNT];
+    }
+
+    /**
+     * Fills the buffer with all legal moves of the current position.
+     *
+     * @param buffer The buffer to fill, its previous moves are removed
+     * @see #generate(int[])
+     */
+    public void generate(MoveBuffer buffer) {
+        buffer.setSize(generate(buffer.array()));
+    }
+
+    /**
+     * Writes all legal moves of the current position into the given array, in this order:
+     * moves of the discard pile, moves of the tableaus, moves of the foundations and drawing or re-dealing.
+     * Moves that only shift a King from the bottom of a tableau to an empty tableau
+     * and moves between foundations are left out.
+     *
+     * @param moves The array to write to, needs room for {@link KlondikeEngine#MAX_MOVES} moves
+     * @return The number of moves written
+     */
+    public int generate(int[] moves) {
+        readFoundations();
+        readTableaus();
+        int count = 0;
+
+        byte discardCard = _discardPile.peekCardCode();
+        if (discardCard != PackedCard.NONE) {
+            count = addSingleCardMoves(moves, count, discardCard, Move.DISCARD_PILE, true);
+        }
+
+        for (int from = 0; from < Move.TABLEAU_COUNT; from++) {
+            byte top = _tops[from];
+            if (top == PackedCard.NONE) {
+                continue;
+            }
+            int foundation = foundationFor(top);
+            if (foundation >= 0) {
+                moves[count++] = Move.of(Move.tableau(from), foundation, 1);
+            }
+            count = addRunMoves(moves, count, from);
+        }
+
+        for (int i = 0; i < _foundations.length; i++) {
+            byte card = _foundations[i].peekCardCode();
+            if (card != PackedCard.NONE) {
+                count = addSingleCardMoves(moves, count, card, Move.foundation(i), false);
+            }
+        }
+
+        if (!_deck.isEmpty()) {
+            moves[count++] = _stockRule.drawMove(_deck.size());
+        } else if (!_discardPile.isEmpty() && _stockRule.mayReDeal(_gameMoveManager.getReDeals())) {
+            moves[count++] = Move.reDeal(_discardPile.size());
+        }
+        return count;
+    }
+
+    /**
+     * Sets the stock rule of the rules of a new game
+     */
+    void setStockRule(StockRule stockRule) {
+        _stockRule = stockRule;
+    }
+
+    /**
+     * Checks if a move is legal in the current position
+     *
+     * @param move The packed move
+     * @return True if the move may be applied, false otherwise
+     */
+    public boolean isLegal(int move) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        int count = Move.count(move);
+        if (from == Move.DECK) {
+            return !_deck.isEmpty() && move == _stockRule.drawMove(_deck.size());
+        }
+        if (from == Move.DISCARD_PILE && to == Move.DECK) {
+            return _deck.isEmpty() && !_discardPile.isEmpty() && count == _discardPile.size()
+                    && _stockRule.mayReDeal(_gameMoveManager.getReDeals());
+        }
+        if (from == to || to >= Move.DECK || count < 1) {
+            return false;
+        }
+        ICardHolder origin = _piles[from];
+        int size = origin.size();
+        if (count > size || (count > 1 && !Move.isTableau(from))) {
+            return false;
+        }
+        byte card = origin.cardCodeAt(size - count);
+        if (!PackedCard.isFaceUp(card)) {
+            return false;
+        }
+        if (Move.isFoundation(to)) {
+            return count == 1 && ((Foundation) _piles[to]).isValidMove(card, true);
+        }
+        return ((Tableau) _piles[to]).isValidMove(card);
+    }
+
+    private void readFoundations() {
+        _emptyFoundation = -1;
+        for (int suit = 0; suit < SUIT_COUNT; suit++) {
+            _foundationRanks[suit] = 0;
+        }
+        for (int i = _foundations.length - 1; i >= 0; i--) {
+            byte top = _foundations[i].peekCardCode();
+            if (top == PackedCard.NONE) {
+                _emptyFoundation = Move.foundation(i);
+            } else {
+                int suit = PackedCard.suitOrdinal(top);
+                _foundationRanks[suit] = PackedCard.rank(top);
+                _foundationPiles[suit] = Move.foundation(i);
+            }
+        }
+    }
+
+    private void readTableaus() {
+        for (int i = 0; i < Move.TABLEAU_COUNT; i++) {
+            Tableau tableau = _tableaus[i];
+            int position = tableau.size() - 1;
+            _tops[i] = tableau.peekCardCode();
+            while (position > 0 && PackedCard.isFaceUp(tableau.cardCodeAt(position - 1))) {
+                position--;
+            }
+            _runStarts[i] = position;
+        }
+    }
+
+    /**
+     * @return The foundation the card can be placed on or -1 if there is none
+     */
+    private int foundationFor(byte card) {
+        int suit = PackedCard.suitOrdinal(card);
+        if (PackedCard.rank(card) != _foundationRanks[suit] + 1) {
+            return -1;
+        }
+        return _foundationRanks[suit] == 0 ? _emptyFoundation : _foundationPiles[suit];
+    }
+
+    /**
+     * Adds the moves of the top card of the discard pile or a foundation.
+     */
+    private int addSingleCardMoves(int[] moves, int count, byte card, int from, boolean mayGoToFoundation) {
+        if (mayGoToFoundation) {
+            int foundation = foundationFor(card);
+            if (foundation >= 0) {
+                moves[count++] = Move.of(from, foundation, 1);
+            }
+        }
+        for (int to = 0; to < Move.TABLEAU_COUNT; to++) {
+            if (PackedCard.canPlaceOnTableau(card, _tops[to])) {
+                moves[count++] = Move.of(from, Move.tableau(to), 1);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Adds the moves of the face-up run of a tableau, or a part of it, to the other tableaus.
+     * At most one card of the run fits onto a given tableau.
+     */
+    private int addRunMoves(int[] moves, int count, int from) {
+        Tableau origin = _tableaus[from];
+        int size = origin.size();
+        int runStart = _runStarts[from];
+        byte runBottom = origin.cardCodeAt(runStart);
+        int lowestRank = PackedCard.rank(_tops[from]);
+        int highestRank = PackedCard.rank(runBottom);
+
+        for (int to = 0; to < Move.TABLEAU_COUNT; to++) {
+            if (to == from) {
+                continue;
+            }
+            byte top = _tops[to];
+            int position;
+            if (top == PackedCard.NONE) {
+                // a King at the bottom of a tableau would only change places
+                if (highestRank != KING || runStart == 0) {
+                    continue;
+                }
+                position = runStart;
+            } else {
+                int rank = PackedCard.rank(top) - 1;
+                if (rank < lowestRank || rank > highestRank) {
+                    continue;
+                }
+                position = runStart + highestRank - rank;
+            }
+            if (PackedCard.canPlaceOnTableau(origin.cardCodeAt(position), top)) {
+                moves[count++] = Move.of(Move.tableau(from), Move.tableau(to), size - position);
+            }
+        }
+        return count;
+    }
+}
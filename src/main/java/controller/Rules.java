@@ -0,0 +1,216 @@
+package controller;
+
+import java.util.Objects;
+
+/**
+ * The rules of a game of Klondike: how many cards a draw turns over, how often the discard pile may be
+ * re-dealt and how the game is scored.
+ * The rules are chosen once per game, see {@link KlondikeEngine#setRules(Rules)}; the engine turns them
+ * into a {@link StockRule} and a {@link Scoring}, so no move checks which rules are played.
+ */
+public final class Rules {
+    /**
+     * The re-deal limit of rules that re-deal as often as the player likes
+     */
+    public static final int UNLIMITED = -1;
+    /**
+     * The system property naming the rules of the Swing game, see {@link #parse(String)}
+     */
+    public static final String PROPERTY = "solitaire.rules";
+
+    /**
+     * Draw one card, re-deal without limit, standard scoring
+     */
+    public static final Rules STANDARD = new Rules(1, UNLIMITED, Scoring.STANDARD);
+    /**
+     * Draw three cards, re-deal without limit, standard scoring
+     */
+    public static final Rules DRAW_THREE = new Rules(3, UNLIMITED, Scoring.STANDARD);
+    /**
+     * Draw three cards, go through the deck three times, Vegas scoring
+     */
+    public static final Rules VEGAS = new Rules(3, 2, Scoring.VEGAS);
+
+    private final int _drawCount;
+    private final int _reDealLimit;
+    private final Scoring _scoring;
+
+    /**
+     * @param drawCount   The number of cards a draw turns over, 1 to 24
+     * @param reDealLimit The number of times the discard pile may be re-dealt or {@link #UNLIMITED}
+     * @param scoring     The scoring
+     * @throws IllegalArgumentException if the draw count or the re-deal limit is out of range
+     */
+    public Rules(int drawCount, int reDealLimit, Scoring scoring) {
+        if (drawCount < 1 || drawCount > 24) {
+            throw new IllegalArgumentException("Draw count must be between 1 and 24: " + drawCount);
+        }
+        if (reDealLimit < UNLIMITED) {
+            throw new IllegalArgumentException("Invalid re-deal limit: " + reDealLimit);
+        }
+        _drawCount = drawCount;
+        _reDealLimit = reDealLimit;
+        _scoring = Objects.requireNonNull(scoring);
+    }
+
+    /**
+     * Returns the rules of a name: standard, draw3 or vegas,
+     * or the draw count, the re-deal limit and the scoring separated by colons, e.g. 3:2:vegas,
+     * where an empty re-deal limit means unlimited.
+     *
+     * @param name The name of the rules
+     * @return The rules
+     * @throws IllegalArgumentException if the name is not valid
+     */
+    public static Rules parse(String name) {
+        switch (name) {
+            case "standard":
+                return STANDARD;
+            case "draw3":
+                return DRAW_THREE;
+            case "vegas":
+                return VEGAS;
+            default:
+                break;
+        }
+        String[] parts = name.split(":", -1);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Unknown rules: " + name);
+        }
+        try {
+            int drawCount = Integer.parseInt(parts[0]);
+            int reDealLimit = parts[1].isEmpty() ? UNLIMITED : Integer.parseInt(parts[1]);
+            Scoring scoring = Scoring.valueOf(parts[2].toUpperCase());
+            return new Rules(drawCount, reDealLimit, scoring);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown rules: " + name, e);
+        }
+    }
+
+    public int getDrawCount() {
+        return _drawCount;
+    }
+
+    /**
+     * @return The number of times the discard pile may be re-dealt or {@link #UNLIMITED}
+     */
+    public int getReDealLimit() {
+        return _reDealLimit;
+    }
+
+    public Scoring getScoring() {
+        return _scoring;
+    }
+
+    /**
+     * Creates the stock rule of these rules, specialised for drawing one card and for re-dealing without limit
+     */
+    StockRule stockRule() {
+        if (_reDealLimit != UNLIMITED) {
+            return new LimitedStock(_drawCount, _reDealLimit);
+        }
+        return _drawCount == 1 ? DrawOne.INSTANCE : new DrawMany(_drawCount);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Rules other)) {
+            return false;
+        }
+        return _drawCount == other._drawCount && _reDealLimit == other._reDealLimit && _scoring == other._scoring;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(_drawCount, _reDealLimit, _scoring);
+    }
+
+    @Override
+    public String toString() {
+        return _drawCount + ":" + (_reDealLimit == UNLIMITED ? "" : _reDealLimit) + ":"
+                + _scoring.name().toLowerCase();
+    }
+
+    /**
+     * Draws one card and re-deals without limit, the classic game
+     */
+    private static final class DrawOne implements StockRule {
+        static final DrawOne INSTANCE = new DrawOne();
+        private static final int DRAW = Move.draw();
+
+        @Override
+        public int drawMove(int deckSize) {
+            return DRAW;
+        }
+
+        @Override
+        public boolean mayReDeal(int reDeals) {
+            return true;
+        }
+
+        @Override
+        public long hashKey(int reDeals) {
+            return 0;
+        }
+    }
+
+    /**
+     * Draws several cards, or the rest of the deck, and re-deals without limit
+     */
+    private static final class DrawMany implements StockRule {
+        private final int _drawCount;
+
+        DrawMany(int drawCount) {
+            _drawCount = drawCount;
+        }
+
+        @Override
+        public int drawMove(int deckSize) {
+            return Move.draw(Math.min(_drawCount, deckSize));
+        }
+
+        @Override
+        public boolean mayReDeal(int reDeals) {
+            return true;
+        }
+
+        @Override
+        public long hashKey(int reDeals) {
+            return 0;
+        }
+    }
+
+    /**
+     * Draws one or more cards and re-deals a limited number of times
+     */
+    private static final class LimitedStock implements StockRule {
+        // odd constant from the golden ratio, spreads the re-deal count over all bits of the key
+        private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+        private final int _drawCount;
+        private final int _reDealLimit;
+
+        LimitedStock(int drawCount, int reDealLimit) {
+            _drawCount = drawCount;
+            _reDealLimit = reDealLimit;
+        }
+
+        @Override
+        public int drawMove(int deckSize) {
+            return Move.draw(Math.min(_drawCount, deckSize));
+        }
+
+        @Override
+        public boolean mayReDeal(int reDeals) {
+            return reDeals < _reDealLimit;
+        }
+
+        @Override
+        public long hashKey(int reDeals) {
+            return reDeals * HASH_MULTIPLIER;
+        }
+    }
+}
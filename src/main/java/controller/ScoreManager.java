@@ -2,20 +2,33 @@ package controller;
 
 import listener.IScoreListener;
 
-import java.util.ArrayList;
+import javax.swing.*;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
- * Manages the score of the game
+ * Manages the score of the game.
+ * A score change takes effect right away, the listeners hear about it later on the EDT:
+ * all changes made until the EDT gets to them are published as one event with the resulting score,
+ * and none if they cancel out.
+ * A new listener and a reset get the current score published once, even if it did not change.
+ * The engine reports the net change of a move, or of a batch of moves, once the move is applied.
+ * Without listeners nothing is published, so changing the score costs no more than the addition.
+ * The score is kept by the {@link Scoring} of the current game, which the engine sets on every deal.
  */
 public final class ScoreManager {
 
     private static ScoreManager _INSTANCE;
+    private Scoring _scoring;
     private int _score;
-    private final List<IScoreListener> listeners = new ArrayList<>();
+    private int _publishedScore;
+    private boolean _isPublishPending;
+    private boolean _isPublishForced;
+    private final List<IScoreListener> listeners = new CopyOnWriteArrayList<>();
 
-    private ScoreManager() {
-        _score = 0;
+    ScoreManager() {
+        _scoring = Scoring.STANDARD;
+        _score = _scoring.initialScore();
     }
 
     public static ScoreManager getInstance() {
@@ -25,43 +38,99 @@ public final class ScoreManager {
         return _INSTANCE;
     }
 
-    public int getScore() {
+    public synchronized int getScore() {
         return _score;
     }
 
     public void increaseScore(int i) {
-        _score += i;
-        notifyListeners();
-        System.out.println("Score increased by " + i);
+        addScore(i);
     }
 
     public void decreaseScore(int i) {
-        if (_score - i < 0) {
-            _score = 0;
-        } else {
-            _score -= i;
+        addScore(-i);
+    }
+
+    /**
+     * Changes the score, standard scoring never lets it drop below 0
+     *
+     * @param change The net change, e.g. of one move
+     * @see Scoring#add(int, int)
+     */
+    public void addScore(int change) {
+        synchronized (this) {
+            _score = _scoring.add(_score, change);
         }
         notifyListeners();
-        System.out.println("Score decreased by " + i);
     }
 
+    /**
+     * Resets the score to the initial score of the current scoring
+     */
     public void resetScore() {
-        _score = 0;
+        resetScore(_scoring);
+    }
+
+    /**
+     * Switches to the scoring of a new game and resets the score to its initial score
+     *
+     * @param scoring The scoring of the new game
+     */
+    void resetScore(Scoring scoring) {
+        synchronized (this) {
+            _scoring = scoring;
+            _score = scoring.initialScore();
+            _isPublishForced = true;
+        }
         notifyListeners();
-        System.out.println("Score reset");
     }
 
+    /**
+     * Adds a listener, which hears about the current score on the EDT
+     *
+     * @param listener The listener
+     */
     public void addListener(IScoreListener listener) {
         listeners.add(listener);
+        synchronized (this) {
+            _isPublishForced = true;
+        }
+        notifyListeners();
     }
 
     public void removeListener(IScoreListener listener) {
         listeners.remove(listener);
     }
 
+    /**
+     * Publishes the current score to the listeners on the EDT, unless a publication is already pending,
+     * which will then carry the current score.
+     */
     public void notifyListeners() {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            if (_isPublishPending) {
+                return;
+            }
+            _isPublishPending = true;
+        }
+        SwingUtilities.invokeLater(this::publish);
+    }
+
+    private void publish() {
+        int score;
+        synchronized (this) {
+            _isPublishPending = false;
+            if (_score == _publishedScore && !_isPublishForced) {
+                return;
+            }
+            _isPublishForced = false;
+            score = _score;
+            _publishedScore = score;
+        }
         for (IScoreListener listener : listeners) {
-            listener.onScoreChange(_score);
+            listener.onScoreChange(score);
         }
     }
 }
@@ -0,0 +1,116 @@
+package controller;
+
+/**
+ * The scoring of a game, chosen once per game by its {@link Rules}.
+ * Each mode implements the scoring itself, so the engine asks its mode instead of checking which mode is played.
+ */
+public enum Scoring {
+    /**
+     * +10 for a card placed on a foundation, -5 for a card taken from a foundation,
+     * +5 for a card taken from the discard pile, +5 for turning over a tableau card,
+     * -100 for re-dealing the discard pile, +100 for winning and -10 for stepping back.
+     * The score never drops below 0.
+     */
+    STANDARD {
+        @Override
+        int moveScore(int from, int to, boolean turnsOver) {
+            int score = turnsOver ? 5 : 0;
+            if (from == Move.DISCARD_PILE) {
+                score += 5;
+            } else if (Move.isFoundation(from)) {
+                score -= 5;
+            }
+            if (Move.isFoundation(to)) {
+                score += 10;
+            }
+            return score;
+        }
+
+        @Override
+        int winScore() {
+            return 100;
+        }
+
+        @Override
+        int reDealScore() {
+            return -100;
+        }
+
+        @Override
+        int undoScore(int revertedScore) {
+            return -10;
+        }
+
+        @Override
+        int add(int score, int change) {
+            return Math.max(0, score + change);
+        }
+    },
+
+    /**
+     * Casino scoring: the game costs 52, every card placed on a foundation pays 5
+     * and a card taken back from a foundation costs 5 again.
+     * Stepping back takes back the score of the reverted moves, and the score may be negative.
+     */
+    VEGAS {
+        @Override
+        int initialScore() {
+            return -52;
+        }
+
+        @Override
+        int moveScore(int from, int to, boolean turnsOver) {
+            if (Move.isFoundation(to)) {
+                return 5;
+            }
+            return Move.isFoundation(from) ? -5 : 0;
+        }
+
+        @Override
+        int undoScore(int revertedScore) {
+            return -revertedScore;
+        }
+    };
+
+    /**
+     * @return The score of a new deal
+     */
+    int initialScore() {
+        return 0;
+    }
+
+    /**
+     * @param from      The pile the cards are taken from
+     * @param to        The pile the cards are placed on
+     * @param turnsOver True if the move turns over a tableau card
+     * @return The score of a move of cards between the tableaus, foundations and the discard pile
+     */
+    abstract int moveScore(int from, int to, boolean turnsOver);
+
+    /**
+     * @return The bonus for the move that wins the game
+     */
+    int winScore() {
+        return 0;
+    }
+
+    /**
+     * @return The score of re-dealing the discard pile
+     */
+    int reDealScore() {
+        return 0;
+    }
+
+    /**
+     * @param revertedScore The score the stepped back moves had earned
+     * @return The score of stepping back
+     */
+    abstract int undoScore(int revertedScore);
+
+    /**
+     * @return The score after a change
+     */
+    int add(int score, int change) {
+        return score + change;
+    }
+}
@@ -1,6 +1,7 @@
 package controller;
 
-import view.SolitaireView;
+import service.ImageLoader;
+
 import javax.swing.*;
 
 /**
@@ -8,6 +9,7 @@ import javax.swing.*;
  */
 public class SolitaireApp {
     public static void main(String[] args) {
+        ImageLoader.preload();
         SwingUtilities.invokeLater(() -> {
             SolitaireController controller = SolitaireController.getInstance();
             controller.initialize();
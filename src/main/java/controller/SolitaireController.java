@@ -1,23 +1,29 @@
 package controller;
 
+import listener.IBoardListener;
 import listener.ICardDraggedListener;
 import listener.ICardPressedListener;
 import listener.ICardReleasedListener;
+import model.BoardSnapshot;
 import model.Card;
 import model.Deck;
 import model.DiscardPile;
 import model.Foundation;
-import model.GameMove;
 import model.ICardHolder;
 import model.Tableau;
+import model.PackedCard;
+import service.ReplayWriter;
+import solver.HintService;
+import view.PileGeometry;
+import view.RenderScheduler;
 import view.SolitaireView;
 import view.ToolbarPanel;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.MouseEvent;
+import java.io.IOException;
 import java.util.Objects;
-import java.util.Stack;
 
 import static view.DeckPanel.DECK;
 import static view.FoundationPanel.FOUNDATION;
@@ -25,15 +31,19 @@ import static view.TableauPanel.TABLEAU;
 
 /**
  * Represents the game of Solitaire.
- * Contains the Deck, the Foundations and the Tableaus.
+ * Connects the Swing view with the {@link KlondikeEngine}, which owns the Deck, the Foundations and the Tableaus
+ * and applies the rules.
  */
-public final class SolitaireController implements ICardPressedListener, ICardReleasedListener, ICardDraggedListener {
+public final class SolitaireController
+        implements ICardPressedListener, ICardReleasedListener, ICardDraggedListener, IBoardListener {
     private static SolitaireController INSTANCE;
     private SolitaireView _view;
-    private Deck _deck;
-    private DiscardPile _discardPile;
-    private Foundation[] _foundationsArray;
-    private Tableau[] _tableausArray;
+    private final KlondikeEngine _engine;
+    private ReplayWriter _replayWriter;
+    private RenderScheduler _renderScheduler;
+    private HintService _hintService;
+    // counts hint requests and moves, a hint is only shown if nothing happened since it was requested
+    private int _hintGeneration;
 
     private JLayeredPane _mainPane;
     private boolean _hasBeenDragged = false;
@@ -42,8 +52,11 @@ public final class SolitaireController implements ICardPressedListener, ICardRel
 
     /**
      * Constructor for the Solitaire class.
+     * Deals a new game without creating the view, which is done in {@link #initialize()}.
      */
-    private SolitaireController() {
+    SolitaireController() {
+        Rules rules = Rules.parse(System.getProperty(Rules.PROPERTY, "standard"));
+        _engine = new KlondikeEngine(ScoreManager.getInstance(), rules);
     }
 
     public static SolitaireController getInstance() {
@@ -57,18 +70,62 @@ public final class SolitaireController implements ICardPressedListener, ICardRel
      * Restarts the Solitaire game.
      */
     public void restart() {
-        GameMoveManager.getInstance().clearGameMoves();
-        ScoreManager.getInstance().resetScore();
-        initializeGame();
+        _engine.deal();
+        if (_replayWriter != null) {
+            try {
+                _replayWriter.beginGame(_engine.getSeed());
+            } catch (IOException e) {
+                throw new RuntimeException("Could not write the replay", e);
+            }
+        }
+    }
+
+    /**
+     * Records the current game and every following game with the given writer.
+     * The moves played so far are written right away.
+     *
+     * @param replayWriter The writer to record with, null to stop recording
+     */
+    public void setReplayWriter(ReplayWriter replayWriter) {
+        _replayWriter = replayWriter;
+        if (replayWriter == null) {
+            return;
+        }
+        GameMoveManager gameMoves = _engine.getGameMoveManager();
+        try {
+            replayWriter.beginGame(_engine.getSeed());
+            for (int i = 0; i < gameMoves.size(); i++) {
+                replayWriter.writeMove(gameMoves.moveAt(i));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Could not write the replay", e);
+        }
+    }
+
+    /**
+     * Applies a move and records it if a replay writer is set.
+     */
+    private void applyMove(int move) {
+        _engine.apply(move);
+        if (_replayWriter != null) {
+            try {
+                _replayWriter.writeMove(move);
+            } catch (IOException e) {
+                throw new RuntimeException("Could not write the replay", e);
+            }
+        }
     }
 
     /**
-     * Initializes the controller, model and view.
+     * Initializes the view for the dealt game.
      */
     public void initialize() {
-        initializeGame();
         _view = new SolitaireView();
-        _mainPane = _view.getGamePanel().getMainPane();
+        _renderScheduler = new RenderScheduler(this::renderView, RenderScheduler.DEFAULT_FRAME_MILLIS);
+        _hintService = new HintService();
+        if (_view.getGamePanel() != null) {
+            _mainPane = _view.getGamePanel().getMainPane();
+        }
         wireUpView();
         updateView();
     }
@@ -89,12 +146,29 @@ public final class SolitaireController implements ICardPressedListener, ICardRel
             updateView();
         });
 
+        _view.getToolbarPanel().addAutoCompleteListener(e -> {
+            autoComplete();
+            updateView();
+        });
+
+        _view.getToolbarPanel().addHintListener(e -> requestHint());
+
+        _view.getToolbarPanel().addSendUpListener(e -> {
+            sendSafeCardsUp();
+            updateView();
+        });
+
         _view.addGameOverListener(e -> {
             restart();
             ToolbarPanel.resetTimer();
             updateView();
         });
 
+        if (_view.getBoardCanvas() != null) {
+            _view.getBoardCanvas().setBoardListener(this);
+            return;
+        }
+
         _view.getGamePanel().getDeckPanel().addRedrawListener(e -> {
             reDealCards();
             updateView();
@@ -104,81 +178,87 @@ public final class SolitaireController implements ICardPressedListener, ICardRel
     }
 
     /**
-     * Updates the view with the current state of the model.
+     * Marks the view as outdated.
+     * Any number of calls within one frame lead to a single render, see {@link RenderScheduler}.
      */
     private void updateView() {
-        _view.updateGameState(_deck, _discardPile, _foundationsArray, _tableausArray);
+        cancelHint();
+        _renderScheduler.requestRender();
+    }
 
-        if (isGameFinished()) {
-            _view.showGameOverDialog();
+    /**
+     * Searches the best move in the background, from a snapshot of the board,
+     * and shows it once found, unless the game changed in the meantime.
+     * The search is time-boxed, see {@link HintService#DEFAULT_TIME_LIMIT_MILLIS}.
+     */
+    private void requestHint() {
+        GameMoveManager gameMoves = _engine.getGameMoveManager();
+        int lastMove = gameMoves.isEmpty() ? Move.NONE : gameMoves.moveAt(gameMoves.size() - 1);
+        BoardSnapshot snapshot = _engine.snapshot();
+        int generation = ++_hintGeneration;
+        _view.showHint(PackedCard.NONE, "Thinking...");
+        _hintService.setRules(_engine.getRules());
+        _hintService.findHint(snapshot, lastMove).thenAccept(move -> SwingUtilities.invokeLater(() -> {
+            if (generation == _hintGeneration && snapshot.getHash() == _engine.getHash()) {
+                showHint(move);
+            }
+        }));
+    }
+
+    private void showHint(int move) {
+        if (move == Move.NONE) {
+            _view.showHint(PackedCard.NONE, "No moves left");
+        } else if (Move.from(move) == Move.DECK) {
+            _view.showHint(_engine.getDeck().peekCardCode(), "Hint: draw a card");
+        } else if (Move.to(move) == Move.DECK) {
+            _view.showHint(PackedCard.NONE, "Hint: re-deal the discard pile");
+        } else {
+            ICardHolder origin = _engine.getPile(Move.from(move));
+            _view.showHint(origin.cardCodeAt(origin.size() - Move.count(move)), "Hint: " + Move.toString(move));
         }
     }
 
     /**
-     * Initializes the Solitaire game.
-     * Creates a new Deck, 4 Foundations and 7 Tableaus.
-     * The Deck is initialized with 52 Cards.
-     * The Foundations are initialized with 4 empty Stacks.
-     * The Tableaus are initialized with 7 Stacks of Cards.
-     * The first Tableau has 1 Card, the second 2 Cards, the third 3 Cards and so on.
-     * The top Card of each Tableau is set visible.
+     * Stops the running hint search and removes the shown hint
      */
-    private void initializeGame() {
-        _deck = new Deck();
-        _discardPile = new DiscardPile();
+    private void cancelHint() {
+        _hintGeneration++;
+        _hintService.cancel();
+        _view.showHint(PackedCard.NONE, "");
+    }
 
-        _foundationsArray = new Foundation[4];
-        for (int i = 0; i < _foundationsArray.length; i++) {
-            _foundationsArray[i] = new Foundation();
-        }
+    /**
+     * Updates the view with the current state of the model.
+     */
+    private void renderView() {
+        _view.updateGameState(get_deck(), get_discardPile(), get_foundationsArray(), get_tableausArray());
+        _view.getToolbarPanel().setAutoCompleteEnabled(_engine.canAutoComplete());
 
-        _tableausArray = new Tableau[7];
-        for (int i = 0; i < _tableausArray.length; i++) {
-            Stack<Card> tableau = new Stack<>();
-            for (int j = 0; j <= i; j++) {
-                tableau.push(_deck.pickUpCard());
-            }
-            _tableausArray[i] = new Tableau(tableau);
-            _tableausArray[i].peek().setVisibility(true);
+        if (isGameFinished()) {
+            _view.showGameOverDialog();
         }
     }
 
     /**
      * Places a card on a foundation or tableau by clicking on it.
-     * If the card is the top card of the origin, it is removed from the origin.
-     * If the card is not the top card of the origin, all cards on top of the card are removed from the origin.
-     * The card is then placed on the foundation or tableau.
+     * The card and all cards on top of it are placed on the first foundation or tableau that accepts them.
      *
      * @param card The card to be placed
      * @return True if the card was placed successfully, false otherwise
+     * @see KlondikeEngine#findMoveForCard(byte)
      */
     public boolean placeCardOnClick(Card card) {
-        ICardHolder origin = findCardOrigin(card);
-        boolean isTopCard = isCardTopCard(card, origin);
-        GameMove gameMove = new GameMove(origin, null);
-
-        if (isTopCard && placeCardAlgorithm(card, true)) {
-            removeCardIfTop(origin, gameMove);
-
-            gameMove.set_destination(findCardOrigin(card));
-            gameMove.addCard(card);
-            GameMoveManager.getInstance().addGameMove(gameMove);
-            return true;
-        } else if (!isTopCard && placeCardAlgorithm(card, false)) {
-            removeCardIfNotTop(origin, card, gameMove);
-
-            addAttachedCardsToGameMove(card, gameMove);
-            GameMoveManager.getInstance().addGameMove(gameMove);
-            return true;
+        int move = _engine.findMoveForCard(card.getCode());
+        if (move == Move.NONE) {
+            return false;
         }
-        return false;
+        applyMove(move);
+        return true;
     }
 
     /**
      * Places a card on a foundation or tableau by dragging it.
-     * If the card is the top card of the origin, it is removed from the origin.
-     * If the card is not the top card of the origin, all cards on top of the card are removed from the origin.
-     * The card is then placed on the foundation or tableau.
+     * The card and all cards on top of it are placed on the target if the move is legal.
      *
      * @param card        The card to be placed
      * @param targetIndex The index of the foundation or tableau
@@ -186,292 +266,134 @@ public final class SolitaireController implements ICardPressedListener, ICardRel
      * @return True if the card was placed successfully, false otherwise
      */
     public boolean placeCardOnDrag(Card card, int targetIndex, String targetType) {
-        ICardHolder origin = findCardOrigin(card);
-        boolean isTopCard = isCardTopCard(card, origin);
-        GameMove gameMove = new GameMove(origin, null);
-
-        if ((isTopCard && targetType.equals(FOUNDATION) && placeCardOnFoundation(card, targetIndex, true)) ||
-                (isTopCard && targetType.equals(TABLEAU) && placeCardOnTableau(card, targetIndex))) {
-            removeCardIfTop(origin, gameMove);
-
-            gameMove.set_destination(findCardOrigin(card));
-            gameMove.addCard(card);
-            GameMoveManager.getInstance().addGameMove(gameMove);
-            return true;
-        } else if ((!isTopCard && targetType.equals(FOUNDATION) && placeCardOnFoundation(card, targetIndex, false)) ||
-                (!isTopCard && targetType.equals(TABLEAU) && placeCardOnTableau(card, targetIndex))) {
-            removeCardIfNotTop(origin, card, gameMove);
-
-            addAttachedCardsToGameMove(card, gameMove);
-            GameMoveManager.getInstance().addGameMove(gameMove);
-            return true;
-        }
-        return false;
-    }
-
-    /**
-     * Removes the top most card from the given origin.
-     * If the origin is a tableau the next card is set visible.
-     * Increases Score by 5, if the card was not visible before.
-     * Increases Score by 5, if the origin is a discardPile
-     *
-     * @param origin The card to be removed
-     */
-    private void removeCardIfTop(ICardHolder origin, GameMove gameMove) {
-        origin.pickUpCard();
-        if (origin instanceof Tableau) {
-            Card topCard = origin.peek();
-            if (topCard != null) {
-                if (topCard.isVisible()) {
-                    gameMove.setTableauCardWasVisible(true);
-                } else {
-                    ScoreManager.getInstance().increaseScore(5);
-                }
-                topCard.setVisibility(true);
-            }
-        }
-        if (origin instanceof DiscardPile) {
-            ScoreManager.getInstance().increaseScore(5);
-        }
-        if (origin instanceof Foundation) {
-            ScoreManager.getInstance().decreaseScore(5);
-        }
-    }
-
-    /**
-     * Removes the given card and every card on top of it from the given origin.
-     * Increases Score by 5, if the card was not visible before.
-     *
-     * @param origin The card to be removed
-     * @param card   The card to be removed
-     * @throws RuntimeException if the origin is a Deck or Foundation
-     */
-    private void removeCardIfNotTop(ICardHolder origin, Card card, GameMove gameMove) {
-        if (!(origin instanceof Tableau tableau)) {
-            throw new RuntimeException("Clicked a Card on the Discard Pile or Foundation that is not the top Card");
-        }
-        Stack<Card> cardsOnTop = new Stack<>();
-
-        for (int i = tableau.getTableauSize(); i > 0; i--) {
-            // remove all cards on top of the clicked card including the clicked card
-            cardsOnTop.push(tableau.pickUpCard());
-            if (cardsOnTop.peek().equals(card)) {
-                break;
-            }
-        }
-        // set the next card visible
-        Card topCard = tableau.peek();
-        if (topCard != null) {
-            if (topCard.isVisible()) {
-                gameMove.setTableauCardWasVisible(true);
-            } else {
-                ScoreManager.getInstance().increaseScore(5);
-            }
-            topCard.setVisibility(true);
-        }
-
-        // remove the clicked card since it already has been placed
-        cardsOnTop.pop();
-
-        // place all cards on top of the clicked card to the tableau excluding the clicked card
-        ICardHolder newOrigin = findCardOrigin(card);
-        if (!(newOrigin instanceof Tableau)) {
-            throw new RuntimeException("Card has been moved to a Foundation or Deck/discardPile even though " +
-                    "it was not the top card or the Card was not found.");
-        }
-        while (!cardsOnTop.isEmpty()) {
-            newOrigin.placeCard(cardsOnTop.pop());
+        int target = targetType.equals(FOUNDATION) ? Move.foundation(targetIndex) : Move.tableau(targetIndex);
+        int move = _engine.moveOf(card.getCode(), target);
+        if (move == Move.NONE || !_engine.isLegal(move)) {
+            return false;
         }
+        applyMove(move);
+        return true;
     }
 
     /**
-     * Places a card on a foundation.
-     * Increases Score by 10, if card is placed on a Foundation
+     * Draws one or, depending on the rules, more cards from the deck and places them on the discardPile
      *
-     * @param card The card to be placed
-     * @param i    The index of the foundation
-     * @return True if the card was placed successfully, false otherwise
+     * @return The top card of the discardPile if the deck is not empty, null otherwise
      */
-    private boolean placeCardOnFoundation(Card card, int i, boolean isTopCard) {
-        if (_foundationsArray[i].isValidMove(card, isTopCard)) {
-            _foundationsArray[i].placeCard(card);
-            ScoreManager.getInstance().increaseScore(10);
-            return true;
+    public Card drawCardFromDeck() {
+        if (_engine.getDeck().isEmpty()) {
+            return null;
         }
-        return false;
+        applyMove(_engine.drawMove());
+        return _engine.getDiscardPile().peek();
     }
 
     /**
-     * Places a card on a tableau.
-     *
-     * @param card The card to be placed
-     * @param i    The index of the tableau
-     * @return True if the card was placed successfully, false otherwise
+     * Puts all the cards from the discardPile back into the deck and sets their visibility to false
+     * Decreases Score by 100 with standard scoring, does nothing while the deck has cards
+     * or once the rules allow no more re-deals
      */
-    private boolean placeCardOnTableau(Card card, int i) {
-        if (_tableausArray[i].isValidMove(card)) {
-            _tableausArray[i].placeCard(card);
-            return true;
+    public void reDealCards() {
+        if (!_engine.canReDeal()) {
+            return;
         }
-        return false;
-    }
-
-    /**
-     * Checks if the card is the top card of the origin.
-     *
-     * @param card   The card to be checked
-     * @param origin The origin of the card
-     * @return True if the card is the top card of the origin, false otherwise
-     */
-    private boolean isCardTopCard(Card card, ICardHolder origin) {
-        return origin.peek().equals(card);
+        applyMove(Move.reDeal(_engine.getDiscardPile().size()));
     }
 
     /**
-     * Tries to place a card on a foundation and if not successful, tries to place it on a tableau
-     * Does not remove the card from the origin
-     * Increases Score by 10, if card is placed on a Foundation
+     * Checks if the game is finished.
+     * The game is finished if all foundations are filled with a King.
      *
-     * @param card      The card to be placed
-     * @param isTopCard True if the card is the top card of the origin, false otherwise
-     * @return True if the card was placed successfully, false otherwise
+     * @return True if the game is finished, false otherwise
      */
-    private boolean placeCardAlgorithm(Card card, boolean isTopCard) {
-        for (Foundation foundation : _foundationsArray) {
-            if (foundation.isValidMove(card, isTopCard)) {
-                foundation.placeCard(card);
-                ScoreManager.getInstance().increaseScore(10);
-                return true;
-            }
-        }
-
-        for (Tableau tableau : _tableausArray) {
-            if (tableau.isValidMove(card)) {
-                tableau.placeCard(card);
-                return true;
-            }
-        }
-        return false;
+    public boolean isGameFinished() {
+        return _engine.isWon();
     }
 
     /**
-     * Finds the origin of the card by checking the Deck, Tableaus and Foundations.
+     * Steps back one move
+     * Decreases Score by 10
      *
-     * @param card The card to find the origin of
-     * @return The origin of the card
+     * @see KlondikeEngine#undo()
      */
-    private ICardHolder findCardOrigin(Card card) {
-        if (_discardPile.peek() != null && _discardPile.peek().equals(card)) {
-            return _discardPile;
-        }
-
-        // Tableau
-        for (Tableau tableau : _tableausArray) {
-            for (Card tableauCard : tableau.get_tableau()) {
-                if (tableauCard.equals(card)) {
-                    return tableau;
+    public void stepBack() {
+        int moves = _engine.getGameMoveManager().lastEntrySize();
+        if (_engine.undo() && _replayWriter != null) {
+            try {
+                // replays step back move by move, also through a batch
+                for (int i = 0; i < moves; i++) {
+                    _replayWriter.writeUndo();
                 }
+            } catch (IOException e) {
+                throw new RuntimeException("Could not write the replay", e);
             }
         }
-
-        // Foundation
-        for (Foundation foundation : _foundationsArray) {
-            if (foundation.peek() != null && foundation.peek().equals(card)) {
-                return foundation;
-            }
-        }
-        throw new RuntimeException("Card not found in any CardHolder/ does not have an origin.");
     }
 
     /**
-     * The card drawn from the deck if the deck is not empty, null otherwise
-     * Also creates a new GameMove object and adds it to the GameMoveManager
+     * Finishes the game once all tableau cards are face-up, as one move that is stepped back as a whole
      *
-     * @return The card drawn from the deck
+     * @return The number of moves played
+     * @see KlondikeEngine#autoComplete()
      */
-    public Card drawCardFromDeck() {
-        GameMoveManager.getInstance().addGameMove(new GameMove(_deck, _discardPile));
-
-        return _deck.pickUpCard();
+    public int autoComplete() {
+        return recordBatch(_engine.autoComplete());
     }
 
     /**
-     * Calls the placeCardOnDiscardPile method in the Deck class
+     * Moves all safe cards to the foundations, as one move that is stepped back as a whole
      *
-     * @see DiscardPile#placeCard(Card)
+     * @return The number of moves played
+     * @see KlondikeEngine#sendSafeCardsUp()
      */
-    public void placeCardOnDiscardPile(Card card) {
-        _discardPile.placeCard(card);
+    public int sendSafeCardsUp() {
+        return recordBatch(_engine.sendSafeCardsUp());
     }
 
     /**
-     * Puts all the cards from the discardPile back into the deck and sets their visibility to false
-     * Decreases Score by 100
-     */
-    public void reDealCards() {
-        GameMoveManager.getInstance().addGameMove(new GameMove(_discardPile, _deck));
-        while (!_discardPile.isEmpty()) {
-            _discardPile.peek().setVisibility(false);
-            _deck.placeCard(_discardPile.pickUpCard());
-        }
-        ScoreManager.getInstance().decreaseScore(100);
-    }
-
-    /**
-     * Checks if the game is finished.
-     * The game is finished if all foundations are filled with a King.
-     * Increases Score by 100 if the Game is Won
-     *
-     * @return True if the game is finished, false otherwise
+     * Writes the last moves of the journal, which the engine applied as a batch, to the replay
      */
-    public boolean isGameFinished() {
-        for (Foundation foundation : _foundationsArray) {
-            if (foundation.isEmpty() || foundation.peek().getRank() != 13) {
-                return false;
+    private int recordBatch(int moves) {
+        if (_replayWriter != null) {
+            GameMoveManager gameMoves = _engine.getGameMoveManager();
+            try {
+                for (int i = gameMoves.size() - moves; i < gameMoves.size(); i++) {
+                    _replayWriter.writeMove(gameMoves.moveAt(i));
+                }
+            } catch (IOException e) {
+                throw new RuntimeException("Could not write the replay", e);
             }
         }
-        ScoreManager.getInstance().increaseScore(100);
-        return true;
+        return moves;
     }
 
+    //Getter methods----------------------------------------------
+
     /**
-     * Adds all Cards above the clicked/dragged to the GameMove moved Cards list
+     * Getter method for the render scheduler
      *
-     * @param card     The card to be moved
-     * @param gameMove The game move object containing move details
-     */
-    private void addAttachedCardsToGameMove(Card card, GameMove gameMove) {
-        Tableau destination = (Tableau) findCardOrigin(card);
-        gameMove.set_destination(destination);
-        assert destination != null;
-        for (int i = destination.get_tableau().size() - 1; i >= 0; i--) {
-            gameMove.addCard(destination.get_tableau().get(i));
-            if (destination.get_tableau().get(i).equals(card)) {
-                break;
-            }
-        }
+     * @return The scheduler that renders the view, null before {@link #initialize()}
+     */
+    public RenderScheduler get_renderScheduler() {
+        return _renderScheduler;
     }
 
     /**
-     * Calls the StepBack method in the GameMoveManager
-     * Decreases Score by 10
+     * Getter method for the engine
      *
-     * @see GameMoveManager#stepBack()
+     * @return The engine that applies the rules
      */
-    public void stepBack() {
-        GameMoveManager.getInstance().stepBack();
-        ScoreManager.getInstance().decreaseScore(10);
+    public KlondikeEngine get_engine() {
+        return _engine;
     }
 
-    //Getter methods----------------------------------------------
-
     /**
      * Getter method for the deck
      *
      * @return The deck
      */
     public Deck get_deck() {
-        return _deck;
+        return _engine.getDeck();
     }
 
     /**
@@ -480,7 +402,7 @@ public final class SolitaireController implements ICardPressedListener, ICardRel
      * @return The discardPile
      */
     public DiscardPile get_discardPile() {
-        return _discardPile;
+        return _engine.getDiscardPile();
     }
 
     /**
@@ -489,7 +411,7 @@ public final class SolitaireController implements ICardPressedListener, ICardRel
      * @return The foundationsArray
      */
     public Foundation[] get_foundationsArray() {
-        return _foundationsArray;
+        return _engine.getFoundations();
     }
 
     /**
@@ -498,11 +420,39 @@ public final class SolitaireController implements ICardPressedListener, ICardRel
      * @return The tableausArray
      */
     public Tableau[] get_tableausArray() {
-        return _tableausArray;
+        return _engine.getTableaus();
+    }
+
+    @Override
+    public void onCardClicked(Card card, String source) {
+        handleClick(card, source);
+        updateView();
+    }
+
+    @Override
+    public boolean onCardDropped(Card card, int targetIndex, String targetType) {
+        boolean cardPlaced = placeCardOnDrag(card, targetIndex, targetType);
+        updateView();
+        return cardPlaced;
+    }
+
+    @Override
+    public void onRedraw() {
+        reDealCards();
+        updateView();
     }
 
     @Override
     public void onCardPressed(MouseEvent e, JLabel cardLabel, String source, Container parentContainer) {
+        // the labels may still sit where the last drag left them, so the pending render is done first
+        // and the press continues from the container the render placed the label in
+        if (_renderScheduler.isDirty()) {
+            _renderScheduler.flush();
+            parentContainer = cardLabel.getParent();
+            if (parentContainer == null) {
+                return;
+            }
+        }
         handleMousePressed(e, cardLabel, source, parentContainer);
     }
 
@@ -556,13 +506,15 @@ public final class SolitaireController implements ICardPressedListener, ICardRel
 
     @Override
     public void onCardReleased(Card card, String source, Container parentContainer) {
-        handleMouseReleased(card, source, parentContainer);
+        if (_draggedLabel != null) {
+            handleMouseReleased(card, source, parentContainer);
+        }
     }
 
     /**
      * Handles the mouse released event for a card label
      * If the card has not been dragged, we handle the click event
-     * If the card has been dragged, we find the drop target and place the card
+     * If the card has been dragged, we look up the pile under the center of the card and place the card
      * After the card has been placed, we reset the drag layer components
      * and rerender the game state
      *
@@ -572,25 +524,22 @@ public final class SolitaireController implements ICardPressedListener, ICardRel
      */
     private void handleMouseReleased(Card card, String source, Container parentContainer) {
         _mainPane.remove(_draggedLabel);
-        boolean cardPlaced = false;
 
         if (!_hasBeenDragged) {
             handleClick(card, source);
         } else {
             _hasBeenDragged = false;
-            Container dropTarget = findDropTarget(_mainPane, _draggedLabel.getLocation());
-
-            if (dropTarget != null) {
-                System.out.println(_draggedLabel.getIcon() + " dropped on " + dropTarget);
-                cardPlaced = handleDrop(card, dropTarget);
-            }
+            int dropTarget = _view.getGamePanel().getPileGeometry().targetAt(
+                    _draggedLabel.getX() + _draggedLabel.getWidth() / 2, _draggedLabel.getY() + _draggedLabel.getHeight() / 2);
 
-            if (!cardPlaced) {
-                System.out.println("Card could not be placed");
+            if (dropTarget != PileGeometry.NONE) {
+                placeCardOnDrag(card, PileGeometry.indexOf(dropTarget), PileGeometry.typeOf(dropTarget));
             }
         }
 
         resetDragLayerComponents(parentContainer);
+        _view.getGamePanel().invalidatePile(parentContainer);
+        _draggedLabel = null;
         updateView();
     }
 
@@ -602,48 +551,11 @@ public final class SolitaireController implements ICardPressedListener, ICardRel
      * @param source The source of the card
      */
     private void handleClick(Card card, String source) {
-        System.out.println("Card clicked: " + card.getSuit() + " " + card.getRank());
-
         if (source.equals(DECK)) {
-            placeCardOnDiscardPile(drawCardFromDeck());
+            drawCardFromDeck();
         } else {
-            if (!placeCardOnClick(card)) {
-                System.out.println("Card could not be placed");
-            }
-        }
-    }
-
-    /**
-     * When a Card has been dragged, this method handles the dropping of the card based on the drop target
-     * <p>
-     * If the drop target is a JPanel, we iterate through the foundation panels to find the correct target
-     * and place the card on the foundation
-     * <p>
-     * If the drop target is a JLayeredPane, we iterate through the tableau panels to find the correct target
-     * and place the card on the tableau
-     *
-     * @param card       The card that is being dropped
-     * @param dropTarget The container that the card is being dropped on
-     * @return True if the card was placed, false otherwise
-     */
-    private boolean handleDrop(Card card, Container dropTarget) {
-        boolean cardPlaced = false;
-        if (dropTarget instanceof JPanel) {
-            for (int targetIndex = 0; targetIndex < _view.getGamePanel().getFoundationPanel().getFoundationPanel().getComponentCount(); targetIndex++) {
-                if (_view.getGamePanel().getFoundationPanel().getFoundationPanel().getComponent(targetIndex) == dropTarget) {
-                    cardPlaced = placeCardOnDrag(card, targetIndex, FOUNDATION);
-                    break;
-                }
-            }
-        } else if (dropTarget instanceof JLayeredPane) {
-            for (int targetIndex = 0; targetIndex < _view.getGamePanel().getTableauPanel().getTableauPanel().getComponentCount(); targetIndex++) {
-                if (_view.getGamePanel().getTableauPanel().getTableauPanel().getComponent(targetIndex) == dropTarget) {
-                    cardPlaced = placeCardOnDrag(card, targetIndex, TABLEAU);
-                    break;
-                }
-            }
+            placeCardOnClick(card);
         }
-        return cardPlaced;
     }
 
     /**
@@ -663,7 +575,9 @@ public final class SolitaireController implements ICardPressedListener, ICardRel
 
     @Override
     public void onCardDragged(MouseEvent e, String source) {
-        handleMouseDragged(e, source);
+        if (_draggedLabel != null) {
+            handleMouseDragged(e, source);
+        }
     }
 
     /**
@@ -697,24 +611,6 @@ public final class SolitaireController implements ICardPressedListener, ICardRel
         }
     }
 
-    /**
-     * Recursively finds the drop target for a card label based on its position
-     *
-     * @param parent The parent container to search in
-     * @param point  The point to search for
-     * @return The drop target container
-     */
-    private Container findDropTarget(Container parent, Point point) {
-        for (Component component : parent.getComponents()) {
-            if (component instanceof Container && component.getBounds().contains(point) && !(component instanceof JLabel)) {
-                Point convertedPoint = SwingUtilities.convertPoint(parent, point, component);
-                Container innerContainer = findDropTarget((Container) component, convertedPoint);
-                return Objects.requireNonNullElseGet(innerContainer, () -> (Container) component);
-            }
-        }
-        return null;
-    }
-
     /**
      * Returns the highest layer of a JLayeredPane
      * Used to determine the layer of the topmost card in a tableau to later iterate downwards to the dragged card
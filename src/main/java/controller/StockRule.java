@@ -0,0 +1,30 @@
+package controller;
+
+/**
+ * How the deck and the discard pile are played: how many cards a draw turns over and how often
+ * the discard pile may be re-dealt.
+ * Created once per game from the {@link Rules}, with one implementation per kind of rule,
+ * so generating and checking moves does not test the rules on every call.
+ */
+interface StockRule {
+    /**
+     * @param deckSize The number of cards in the deck, at least one
+     * @return The move that draws from the deck
+     */
+    int drawMove(int deckSize);
+
+    /**
+     * @param reDeals The number of re-deals played so far
+     * @return True if the discard pile may be re-dealt once more
+     */
+    boolean mayReDeal(int reDeals);
+
+    /**
+     * Returns the part of the position hash that depends on the re-deals played.
+     * Without a limit every number of re-deals plays the same, so positions must only differ by their cards.
+     *
+     * @param reDeals The number of re-deals played so far
+     * @return The key to mix into the hash of the cards
+     */
+    long hashKey(int reDeals);
+}
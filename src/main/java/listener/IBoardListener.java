@@ -0,0 +1,14 @@
+package listener;
+
+import model.Card;
+
+/**
+ * Receives the actions of the player on a board that handles the mouse itself, see {@link view.BoardCanvas}
+ */
+public interface IBoardListener {
+    void onCardClicked(Card card, String source);
+
+    boolean onCardDropped(Card card, int targetIndex, String targetType);
+
+    void onRedraw();
+}
@@ -0,0 +1,136 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * An immutable copy of all piles of a board, packed into one byte array.
+ * Taking a snapshot copies at most 52 cards and the pile sizes, and since nothing can change it afterwards,
+ * it can be handed to other threads, e.g. solvers, statistics or persistence, without locking.
+ * <p>
+ * The cards lie pile after pile, bottom card first; a second small array holds where each pile starts.
+ * Piles are numbered by their position in the array of card holders the snapshot was taken from.
+ */
+public final class BoardSnapshot {
+    private final byte[] _cards;
+    private final byte[] _starts;
+    private final long _hash;
+    private final int _reDeals;
+
+    private BoardSnapshot(byte[] cards, byte[] starts, long hash, int reDeals) {
+        _cards = cards;
+        _starts = starts;
+        _hash = hash;
+        _reDeals = reDeals;
+    }
+
+    /**
+     * Copies the cards of the given piles
+     *
+     * @param piles   The card holders of the board
+     * @param hash    The Zobrist hash of the board, see {@link ZobristHash}
+     * @param reDeals The number of times the discard pile was re-dealt, which limits the rest of the game
+     * @return The snapshot
+     */
+    public static BoardSnapshot of(ICardHolder[] piles, long hash, int reDeals) {
+        byte[] starts = new byte[piles.length + 1];
+        int size = 0;
+        for (int pile = 0; pile < piles.length; pile++) {
+            starts[pile] = (byte) size;
+            size += piles[pile].size();
+        }
+        starts[piles.length] = (byte) size;
+
+        byte[] cards = new byte[size];
+        int index = 0;
+        for (ICardHolder pile : piles) {
+            for (int position = 0; position < pile.size(); position++) {
+                cards[index++] = pile.cardCodeAt(position);
+            }
+        }
+        return new BoardSnapshot(cards, starts, hash, reDeals);
+    }
+
+    /**
+     * Replaces the cards of the given piles with the cards of the snapshot
+     *
+     * @param piles The card holders to restore, as many as the snapshot was taken from
+     * @throws IllegalArgumentException if the number of piles differs
+     */
+    public void restore(ICardHolder[] piles) {
+        if (piles.length != pileCount()) {
+            throw new IllegalArgumentException("Snapshot has " + pileCount() + " piles, not " + piles.length);
+        }
+        for (int pile = 0; pile < piles.length; pile++) {
+            piles[pile].clear();
+            for (int i = _starts[pile]; i < _starts[pile + 1]; i++) {
+                piles[pile].placeCardCode(_cards[i]);
+            }
+        }
+    }
+
+    /**
+     * @return The number of piles
+     */
+    public int pileCount() {
+        return _starts.length - 1;
+    }
+
+    /**
+     * @param pile The number of the pile
+     * @return The number of cards in the pile
+     */
+    public int size(int pile) {
+        return _starts[pile + 1] - _starts[pile];
+    }
+
+    /**
+     * @param pile     The number of the pile
+     * @param position The position of the card, 0 being the bottom card
+     * @return The packed card
+     */
+    public byte cardAt(int pile, int position) {
+        if (position < 0 || position >= size(pile)) {
+            throw new IndexOutOfBoundsException("Position " + position + " in a pile of " + size(pile));
+        }
+        return _cards[_starts[pile] + position];
+    }
+
+    /**
+     * @param pile The number of the pile
+     * @return The packed top card or {@link PackedCard#NONE} if the pile is empty
+     */
+    public byte peek(int pile) {
+        return size(pile) == 0 ? PackedCard.NONE : _cards[_starts[pile + 1] - 1];
+    }
+
+    /**
+     * @return The Zobrist hash of the board when the snapshot was taken
+     */
+    public long getHash() {
+        return _hash;
+    }
+
+    /**
+     * @return The number of times the discard pile was re-dealt before the snapshot was taken
+     */
+    public int getReDeals() {
+        return _reDeals;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BoardSnapshot other)) {
+            return false;
+        }
+        return _reDeals == other._reDeals && Arrays.equals(_cards, other._cards)
+                && Arrays.equals(_starts, other._starts);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * Arrays.hashCode(_cards) + Arrays.hashCode(_starts)) + _reDeals;
+    }
+}
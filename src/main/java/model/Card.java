@@ -1,10 +1,9 @@
 package model;
 
-import java.util.Objects;
-
 /**
  * Represents a playing card with a suit, rank, and visibility status.
- * It also contains an image path for graphical representation.
+ * The model stores cards as packed bytes (see {@link PackedCard}), a Card is a thin view
+ * of such a byte that is handed to the Swing layer.
  */
 public class Card {
     /**
@@ -14,21 +13,29 @@ public class Card {
         CLUB, SPADE, HEART, DIAMOND
     }
 
-    private final Suit _suit; // The suit of the card.
-    private final int _rank; // The rank of the card. 0 for Backside, 1 for Ace, 2-10 for Numbers, 11 Joker, 12 Queen, 13 King.
-    private boolean _isVisible; // Visibility status of the card.
+    public static final String IMAGE_DIRECTORY = "src/main/resources/";
+    public static final String CARD_BACK_PATH = IMAGE_DIRECTORY + "back/card_back.png";
+
+    // Suit, rank (0 for Backside, 1 for Ace, 2-10 for Numbers, 11 Jack, 12 Queen, 13 King) and visibility of the card.
+    private byte _code;
 
     /**
-     * Constructs a Card instance with specified suit and rank.
-     * Initializes the image path based on the suit and rank.
+     * Constructs a face-down Card instance with specified suit and rank.
      *
      * @param suit The suit of the card.
      * @param rank The rank of the card.
      */
     public Card(Suit suit, int rank) {
-        _suit = suit;
-        _rank = rank;
-        _isVisible = false;
+        _code = PackedCard.of(suit, rank);
+    }
+
+    /**
+     * Constructs a Card view of a packed card.
+     *
+     * @param code The packed card.
+     */
+    public Card(byte code) {
+        _code = code;
     }
 
     /**
@@ -38,7 +45,7 @@ public class Card {
      * @return true if the cards have opposite colors, false otherwise.
      */
     public boolean isOppositeColor(Card otherCard) {
-        return (isRed() && otherCard.isBlack()) || (isBlack() && otherCard.isRed());
+        return PackedCard.isOppositeColor(_code, otherCard._code);
     }
 
     /**
@@ -47,7 +54,7 @@ public class Card {
      * @return true if the suit is heart or diamond, false otherwise.
      */
     public boolean isRed() {
-        return getSuit() == Suit.HEART || getSuit() == Suit.DIAMOND;
+        return PackedCard.isRed(_code);
     }
 
     /**
@@ -56,7 +63,7 @@ public class Card {
      * @return true if the suit is spade or club, false otherwise.
      */
     public boolean isBlack() {
-        return getSuit() == Suit.SPADE || getSuit() == Suit.CLUB;
+        return PackedCard.isBlack(_code);
     }
 
     /**
@@ -65,7 +72,7 @@ public class Card {
      * @return The rank of the card.
      */
     public int getRank() {
-        return _rank;
+        return PackedCard.rank(_code);
     }
 
     /**
@@ -74,7 +81,7 @@ public class Card {
      * @return The suit of the card.
      */
     public Suit getSuit() {
-        return _suit;
+        return PackedCard.suit(_code);
     }
 
     /**
@@ -83,7 +90,7 @@ public class Card {
      * @return true if the card is visible, false otherwise.
      */
     public boolean isVisible() {
-        return _isVisible;
+        return PackedCard.isFaceUp(_code);
     }
 
     /**
@@ -92,7 +99,31 @@ public class Card {
      * @param isVisible The visibility status to set.
      */
     public void setVisibility(boolean isVisible) {
-        _isVisible = isVisible;
+        _code = PackedCard.withVisibility(_code, isVisible);
+    }
+
+    /**
+     * Gets the packed representation of the card, including its visibility.
+     *
+     * @return The packed card.
+     */
+    public byte getCode() {
+        return _code;
+    }
+
+    /**
+     * Gets the path of the image of the card front.
+     * Ranks outside 1 to 13 have no front and use the card back.
+     *
+     * @return The path of the image.
+     */
+    public String getImagePath() {
+        int rank = getRank();
+        if (rank < 1 || rank > 13) {
+            return CARD_BACK_PATH;
+        }
+        String suit = getSuit().name().toLowerCase();
+        return IMAGE_DIRECTORY + suit + "/" + rank + "_" + suit + ".png";
     }
 
     /**
@@ -104,7 +135,7 @@ public class Card {
     @Override
     public boolean equals(Object otherCard) {
         if (otherCard instanceof Card card) {
-            return _rank == card.getRank() && _suit == card.getSuit();
+            return PackedCard.isSameCard(_code, card._code);
         }
         return false;
     }
@@ -116,6 +147,6 @@ public class Card {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(_suit, _rank);
+        return PackedCard.identity(_code);
     }
-}
\ No newline at end of file
+}
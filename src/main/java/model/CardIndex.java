@@ -0,0 +1,61 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * Knows for each of the 52 cards the pile it lies in and its position in that pile.
+ * The card holders update it on every change, so finding a card is a single array lookup
+ * instead of a walk over all piles.
+ */
+public final class CardIndex {
+    /**
+     * Pile and position of a card that lies in none of the piles
+     */
+    public static final int NOWHERE = -1;
+
+    private final byte[] _piles;
+    private final byte[] _positions;
+
+    /**
+     * Creates an index in which no card lies anywhere
+     */
+    public CardIndex() {
+        _piles = new byte[PackedCard.IDENTITY_COUNT];
+        _positions = new byte[PackedCard.IDENTITY_COUNT];
+        Arrays.fill(_piles, (byte) NOWHERE);
+        Arrays.fill(_positions, (byte) NOWHERE);
+    }
+
+    /**
+     * @param card The packed card, its visibility does not matter
+     * @return The pile of the card or {@link #NOWHERE}
+     */
+    public int pileOf(byte card) {
+        return _piles[PackedCard.identity(card)];
+    }
+
+    /**
+     * @param card The packed card, its visibility does not matter
+     * @return The position of the card in its pile, 0 being the bottom card, or {@link #NOWHERE}
+     */
+    public int positionOf(byte card) {
+        return _positions[PackedCard.identity(card)];
+    }
+
+    void put(byte card, int pile, int position) {
+        int identity = PackedCard.identity(card);
+        _piles[identity] = (byte) pile;
+        _positions[identity] = (byte) position;
+    }
+
+    /**
+     * Forgets the location of a card, unless the card has already been put somewhere else
+     */
+    void remove(byte card, int pile, int position) {
+        int identity = PackedCard.identity(card);
+        if (_piles[identity] == pile && _positions[identity] == position) {
+            _piles[identity] = NOWHERE;
+            _positions[identity] = NOWHERE;
+        }
+    }
+}
@@ -1,7 +1,8 @@
 package model;
 
-import java.util.Collections;
+import java.util.SplittableRandom;
 import java.util.Stack;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * The Deck class represents a deck of cards and the discardPile
@@ -11,7 +12,8 @@ import java.util.Stack;
  * The discardPile is used to store the cards that are drawn from the deck and can be played
  */
 public class Deck implements ICardHolder {
-    private final Stack<Card> _deck;
+    private static final byte[] SORTED_CARDS = sortedCards();
+    private final PackedCardStack _deck;
 
     /**
      * Constructor for the Deck class
@@ -19,13 +21,68 @@ public class Deck implements ICardHolder {
      * Initializes the discardPile
      */
     public Deck() {
-        _deck = new Stack<>();
+        this(ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Constructor for a reproducible deck
+     * Initializes the deck with all 52 cards and shuffles them based on the seed
+     *
+     * @param seed The seed of the shuffle, the same seed always gives the same deck
+     */
+    public Deck(long seed) {
+        _deck = new PackedCardStack();
+        shuffle(seed);
+    }
+
+    /**
+     * Puts all 52 cards back into the deck and shuffles them based on the seed
+     *
+     * @param seed The seed of the shuffle, the same seed always gives the same deck
+     */
+    public void shuffle(long seed) {
+        _deck.clear();
+        shuffle(_deck.array(), seed);
+        _deck.setSize(PackedCard.CARD_COUNT);
+    }
+
+    /**
+     * Writes all 52 face-down cards, shuffled based on the seed, into the first 52 elements of the array.
+     * Uses a {@link SplittableRandom}, which needs no synchronization, so decks can be shuffled
+     * on many threads at once.
+     * Each random long provides two 32 bit numbers that are mapped to the swap position by multiplying
+     * instead of dividing; the resulting bias is below 52 / 2^32 and does not matter for a card game.
+     *
+     * @param cards The array to write to
+     * @param seed  The seed of the shuffle
+     */
+    public static void shuffle(byte[] cards, long seed) {
+        System.arraycopy(SORTED_CARDS, 0, cards, 0, PackedCard.CARD_COUNT);
+
+        SplittableRandom random = new SplittableRandom(seed);
+        long bits = 0;
+        for (int i = PackedCard.CARD_COUNT - 1; i > 0; i--) {
+            if ((i & 1) == 1) {
+                bits = random.nextLong();
+            } else {
+                bits >>>= 32;
+            }
+            int j = (int) (((bits & 0xFFFFFFFFL) * (i + 1)) >>> 32);
+            byte card = cards[i];
+            cards[i] = cards[j];
+            cards[j] = card;
+        }
+    }
+
+    private static byte[] sortedCards() {
+        byte[] cards = new byte[PackedCard.CARD_COUNT];
+        int index = 0;
         for (Card.Suit suit : Card.Suit.values()) {
             for (int rank = 1; rank <= 13; rank++) {
-                _deck.push(new Card(suit, rank));
+                cards[index++] = PackedCard.of(suit, rank);
             }
         }
-        Collections.shuffle(_deck);
+        return cards;
     }
 
     /**
@@ -35,8 +92,8 @@ public class Deck implements ICardHolder {
      */
     @Override
     public Card pickUpCard() {
-        if (!_deck.empty()) {
-            return _deck.pop();
+        if (!_deck.isEmpty()) {
+            return new Card(_deck.pop());
         }
         return null;
     }
@@ -49,7 +106,7 @@ public class Deck implements ICardHolder {
     @Override
     public void placeCard(Card card) {
         card.setVisibility(false);
-        _deck.push(card);
+        _deck.push(card.getCode());
     }
 
     /**
@@ -59,10 +116,10 @@ public class Deck implements ICardHolder {
      */
     @Override
     public Card peek() {
-        if (_deck.empty()) {
+        if (_deck.isEmpty()) {
             return null;
         }
-        return _deck.peek();
+        return new Card(_deck.peek());
     }
 
     /**
@@ -72,16 +129,69 @@ public class Deck implements ICardHolder {
      */
     @Override
     public boolean isEmpty() {
-        return _deck.empty();
+        return _deck.isEmpty();
+    }
+
+    /**
+     * Places the given packed card face-down on the deck
+     *
+     * @param card The packed card to be placed
+     */
+    @Override
+    public void placeCardCode(byte card) {
+        _deck.push(PackedCard.withVisibility(card, false));
+    }
+
+    /**
+     * Draws a packed card from the deck
+     *
+     * @return The packed card if the deck is not empty, {@link PackedCard#NONE} otherwise
+     */
+    @Override
+    public byte pickUpCardCode() {
+        if (_deck.isEmpty()) {
+            return PackedCard.NONE;
+        }
+        return _deck.pop();
+    }
+
+    @Override
+    public byte peekCardCode() {
+        return _deck.peek();
+    }
+
+    @Override
+    public byte cardCodeAt(int index) {
+        return _deck.get(index);
+    }
+
+    @Override
+    public int size() {
+        return _deck.size();
+    }
+
+    @Override
+    public void clear() {
+        _deck.clear();
+    }
+
+    @Override
+    public void attachHash(ZobristHash hash, int pile) {
+        _deck.attachHash(hash, pile);
+    }
+
+    @Override
+    public void attachIndex(CardIndex index, int pile) {
+        _deck.attachIndex(index, pile);
     }
 
     /**
-     * Returns the number of cards in the deck
+     * Returns the cards of the deck, bottom card first
      * Used for testing purposes
      *
-     * @return The number of cards in the deck
+     * @return A snapshot of the cards in the deck
      */
     public Stack<Card> get_deck() {
-        return _deck;
+        return _deck.toCardStack();
     }
 }
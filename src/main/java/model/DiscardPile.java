@@ -3,10 +3,10 @@ package model;
 import java.util.Stack;
 
 public class DiscardPile implements ICardHolder {
-    private final Stack<Card> _discardPile;
+    private final PackedCardStack _discardPile;
 
     public DiscardPile() {
-        _discardPile = new Stack<>();
+        _discardPile = new PackedCardStack();
     }
 
     /**
@@ -17,7 +17,7 @@ public class DiscardPile implements ICardHolder {
     @Override
     public void placeCard(Card card) {
         card.setVisibility(true);
-        _discardPile.push(card);
+        _discardPile.push(card.getCode());
     }
 
     /**
@@ -30,10 +30,7 @@ public class DiscardPile implements ICardHolder {
      */
     @Override
     public Card pickUpCard() {
-        if (_discardPile.empty()) {
-            throw new RuntimeException("Discard pile is empty");
-        }
-        return _discardPile.pop();
+        return new Card(pickUpCardCode());
     }
 
     /**
@@ -43,10 +40,10 @@ public class DiscardPile implements ICardHolder {
      */
     @Override
     public Card peek() {
-        if (_discardPile.empty()) {
+        if (_discardPile.isEmpty()) {
             return null;
         }
-        return _discardPile.peek();
+        return new Card(_discardPile.peek());
     }
 
     /**
@@ -56,17 +53,71 @@ public class DiscardPile implements ICardHolder {
      */
     @Override
     public boolean isEmpty() {
-        return _discardPile.empty();
+        return _discardPile.isEmpty();
+    }
+
+    /**
+     * Places the given packed card face-up on the discardPile
+     *
+     * @param card The packed card to be placed
+     */
+    @Override
+    public void placeCardCode(byte card) {
+        _discardPile.push(PackedCard.withVisibility(card, true));
+    }
+
+    /**
+     * Pops a packed card from the discardPile.
+     *
+     * @return The packed card drawn from the discardPile
+     * @throws RuntimeException if the discardPile is empty
+     */
+    @Override
+    public byte pickUpCardCode() {
+        if (_discardPile.isEmpty()) {
+            throw new RuntimeException("Discard pile is empty");
+        }
+        return _discardPile.pop();
+    }
+
+    @Override
+    public byte peekCardCode() {
+        return _discardPile.peek();
+    }
+
+    @Override
+    public byte cardCodeAt(int index) {
+        return _discardPile.get(index);
+    }
+
+    @Override
+    public int size() {
+        return _discardPile.size();
+    }
+
+    @Override
+    public void clear() {
+        _discardPile.clear();
+    }
+
+    @Override
+    public void attachHash(ZobristHash hash, int pile) {
+        _discardPile.attachHash(hash, pile);
+    }
+
+    @Override
+    public void attachIndex(CardIndex index, int pile) {
+        _discardPile.attachIndex(index, pile);
     }
 
     /**
-     * Returns the number of cards in the discardPile
+     * Returns the cards of the discardPile, bottom card first
      * Used for testing purposes
      *
-     * @return The number of cards in the discardPile
+     * @return A snapshot of the cards in the discardPile
      */
     public Stack<Card> get_discardPile() {
-        return _discardPile;
+        return _discardPile.toCardStack();
     }
 
 }
@@ -1,19 +1,17 @@
 package model;
 
-import java.util.Stack;
-
 /**
  * Represents a foundation in a game of solitaire. A foundation is a stack of cards, where each card
  * must be of the same suit and one value higher than the previous card.
  */
 public class Foundation implements ICardHolder {
-    private final Stack<Card> _foundation;
+    private final PackedCardStack _foundation;
 
     /**
      * Creates a new foundation with an empty stack of cards
      */
     public Foundation() {
-        _foundation = new Stack<>();
+        _foundation = new PackedCardStack();
     }
 
     /**
@@ -23,7 +21,7 @@ public class Foundation implements ICardHolder {
      */
     @Override
     public void placeCard(Card card) {
-        _foundation.push(card);
+        _foundation.push(card.getCode());
     }
 
 
@@ -34,10 +32,7 @@ public class Foundation implements ICardHolder {
      */
     @Override
     public Card pickUpCard() {
-        if (_foundation.isEmpty()) {
-            throw new RuntimeException("Tried to pick up a card from an empty foundation.");
-        }
-        return _foundation.pop();
+        return new Card(pickUpCardCode());
     }
 
     /**
@@ -51,15 +46,19 @@ public class Foundation implements ICardHolder {
      * @return True if the card can be placed on the foundation, false otherwise
      */
     public boolean isValidMove(Card card, boolean isTopCard) {
-        if (!isTopCard) {
-            return false;
-        }
-        if (_foundation.isEmpty()) {
-            return card.getRank() == 1;
-        } else {
-            Card topCard = _foundation.peek();
-            return topCard.getSuit() == card.getSuit() && topCard.getRank() == card.getRank() - 1;
-        }
+        return isValidMove(card.getCode(), isTopCard);
+    }
+
+    /**
+     * Checks if a packed card can be placed on the foundation
+     *
+     * @param card      The packed card to be placed
+     * @param isTopCard Has to be true to be a valid move.
+     * @return True if the card can be placed on the foundation, false otherwise
+     * @see #isValidMove(Card, boolean)
+     */
+    public boolean isValidMove(byte card, boolean isTopCard) {
+        return isTopCard && PackedCard.canPlaceOnFoundation(card, _foundation.peek());
     }
 
     /**
@@ -72,7 +71,7 @@ public class Foundation implements ICardHolder {
         if (_foundation.isEmpty()) {
             return null;
         }
-        return _foundation.peek();
+        return new Card(_foundation.peek());
     }
 
     /**
@@ -84,4 +83,52 @@ public class Foundation implements ICardHolder {
     public boolean isEmpty() {
         return _foundation.isEmpty();
     }
+
+    @Override
+    public void placeCardCode(byte card) {
+        _foundation.push(card);
+    }
+
+    /**
+     * Removes the top packed card from the foundation
+     *
+     * @throws RuntimeException if the foundation is empty
+     */
+    @Override
+    public byte pickUpCardCode() {
+        if (_foundation.isEmpty()) {
+            throw new RuntimeException("Tried to pick up a card from an empty foundation.");
+        }
+        return _foundation.pop();
+    }
+
+    @Override
+    public byte peekCardCode() {
+        return _foundation.peek();
+    }
+
+    @Override
+    public byte cardCodeAt(int index) {
+        return _foundation.get(index);
+    }
+
+    @Override
+    public int size() {
+        return _foundation.size();
+    }
+
+    @Override
+    public void clear() {
+        _foundation.clear();
+    }
+
+    @Override
+    public void attachHash(ZobristHash hash, int pile) {
+        _foundation.attachHash(hash, pile);
+    }
+
+    @Override
+    public void attachIndex(CardIndex index, int pile) {
+        _foundation.attachIndex(index, pile);
+    }
 }
@@ -3,6 +3,8 @@ package model;
 /**
  * Interface for classes that can hold cards
  * Used as a custom type instead of using Object
+ * The Card methods are views for the Swing layer, the packed methods work on the
+ * underlying byte representation and do not allocate (see {@link PackedCard})
  */
 public interface ICardHolder {
     void placeCard(Card card);
@@ -12,4 +14,42 @@ public interface ICardHolder {
     boolean isEmpty();
 
     Card peek();
+
+    void placeCardCode(byte card);
+
+    byte pickUpCardCode();
+
+    /**
+     * @return The packed top card or {@link PackedCard#NONE} if the holder is empty
+     */
+    byte peekCardCode();
+
+    /**
+     * @param index The position of the card, 0 being the bottom card
+     * @return The packed card at the given position
+     */
+    byte cardCodeAt(int index);
+
+    int size();
+
+    /**
+     * Removes all cards
+     */
+    void clear();
+
+    /**
+     * Adds the cards to the hash and applies every following change to it
+     *
+     * @param hash The hash of the game
+     * @param pile The number of this holder within the hash
+     */
+    void attachHash(ZobristHash hash, int pile);
+
+    /**
+     * Puts the cards into the index and applies every following change to it
+     *
+     * @param index The card index of the game
+     * @param pile  The number of this holder within the index
+     */
+    void attachIndex(CardIndex index, int pile);
 }
@@ -0,0 +1,148 @@
+package model;
+
+/**
+ * Static helpers for the packed card representation used by the model.
+ * A card is stored in a single byte: bits 0-3 hold the rank (1 for Ace up to 13 for King),
+ * bits 4-5 hold the ordinal of its {@link Card.Suit} and bit 6 is the face-up flag.
+ * Bits 0-5 together identify the physical card and can be used as an index into 64 entry tables.
+ */
+public final class PackedCard {
+    /**
+     * Value returned for "no card", e.g. when peeking an empty pile.
+     */
+    public static final byte NONE = 0;
+    /**
+     * Number of distinct card identities, used to size lookup tables indexed by {@link #identity(byte)}.
+     */
+    public static final int IDENTITY_COUNT = 64;
+    /**
+     * Number of cards in a game, which is also the most cards any pile can hold.
+     */
+    public static final int CARD_COUNT = 52;
+
+    private static final int RANK_MASK = 0x0F;
+    private static final int SUIT_SHIFT = 4;
+    private static final int SUIT_MASK = 0x30;
+    // HEART and DIAMOND have the ordinals 2 and 3, so the upper suit bit is the color
+    private static final int RED_BIT = 0x20;
+    private static final int FACE_UP = 0x40;
+    private static final int IDENTITY_MASK = 0x3F;
+    private static final Card.Suit[] SUITS = Card.Suit.values();
+
+    private PackedCard() {
+    }
+
+    /**
+     * Packs a face-down card.
+     *
+     * @param suit The suit of the card
+     * @param rank The rank of the card
+     * @return The packed card
+     */
+    public static byte of(Card.Suit suit, int rank) {
+        return of(suit.ordinal(), rank);
+    }
+
+    /**
+     * Packs a face-down card.
+     *
+     * @param suit The ordinal of the suit of the card
+     * @param rank The rank of the card
+     * @return The packed card
+     */
+    public static byte of(int suit, int rank) {
+        return (byte) ((suit << SUIT_SHIFT) | (rank & RANK_MASK));
+    }
+
+    public static int rank(byte card) {
+        return card & RANK_MASK;
+    }
+
+    public static int suitOrdinal(byte card) {
+        return (card & SUIT_MASK) >> SUIT_SHIFT;
+    }
+
+    public static Card.Suit suit(byte card) {
+        return SUITS[suitOrdinal(card)];
+    }
+
+    /**
+     * Returns the identity of the card, which is the same for the face-up and face-down version of a card.
+     *
+     * @param card The packed card
+     * @return A value between 0 and {@link #IDENTITY_COUNT} - 1
+     */
+    public static int identity(byte card) {
+        return card & IDENTITY_MASK;
+    }
+
+    /**
+     * Checks if two packed cards represent the same physical card, ignoring their visibility.
+     */
+    public static boolean isSameCard(byte card, byte otherCard) {
+        return ((card ^ otherCard) & IDENTITY_MASK) == 0;
+    }
+
+    public static boolean isFaceUp(byte card) {
+        return (card & FACE_UP) != 0;
+    }
+
+    public static byte withVisibility(byte card, boolean isVisible) {
+        return isVisible ? (byte) (card | FACE_UP) : (byte) (card & ~FACE_UP);
+    }
+
+    public static boolean isRed(byte card) {
+        return (card & RED_BIT) != 0;
+    }
+
+    public static boolean isBlack(byte card) {
+        return (card & RED_BIT) == 0;
+    }
+
+    public static boolean isOppositeColor(byte card, byte otherCard) {
+        return ((card ^ otherCard) & RED_BIT) != 0;
+    }
+
+    public static boolean isSameSuit(byte card, byte otherCard) {
+        return ((card ^ otherCard) & SUIT_MASK) == 0;
+    }
+
+    /**
+     * Checks if the rank of a card is exactly one lower than the rank of another card.
+     *
+     * @param card      The card that should be lower
+     * @param otherCard The card that should be higher
+     * @return true if card is one rank below otherCard
+     */
+    public static boolean isOneRankBelow(byte card, byte otherCard) {
+        return (card & RANK_MASK) + 1 == (otherCard & RANK_MASK);
+    }
+
+    /**
+     * Checks if a card may be placed on a tableau with the given top card.
+     *
+     * @param card    The card to be placed
+     * @param topCard The top card of the tableau or {@link #NONE} if it is empty
+     * @return true for a King on an empty tableau or a card of the opposite color and one rank lower
+     */
+    public static boolean canPlaceOnTableau(byte card, byte topCard) {
+        if (topCard == NONE) {
+            return rank(card) == 13;
+        }
+        return isOppositeColor(card, topCard) && isOneRankBelow(card, topCard);
+    }
+
+    /**
+     * Checks if a card may be placed on a foundation with the given top card.
+     *
+     * @param card    The card to be placed
+     * @param topCard The top card of the foundation or {@link #NONE} if it is empty
+     * @return true for an Ace on an empty foundation or a card of the same suit and one rank higher
+     */
+    public static boolean canPlaceOnFoundation(byte card, byte topCard) {
+        if (topCard == NONE) {
+            return rank(card) == 1;
+        }
+        return isSameSuit(card, topCard) && isOneRankBelow(topCard, card);
+    }
+}
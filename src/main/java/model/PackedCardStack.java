@@ -0,0 +1,158 @@
+package model;
+
+import java.util.Stack;
+
+/**
+ * A fixed size stack of packed cards backed by a byte array.
+ * Used by the card holders so that moving cards around does not allocate.
+ * If a {@link ZobristHash} or a {@link CardIndex} is attached, every change of the content is applied to it.
+ *
+ * @see PackedCard
+ */
+final class PackedCardStack {
+    private final byte[] _cards;
+    private int _size;
+    private ZobristHash _hash;
+    private CardIndex _index;
+    private int _pile;
+
+    PackedCardStack() {
+        _cards = new byte[PackedCard.CARD_COUNT];
+        _size = 0;
+    }
+
+    /**
+     * Adds the current content to the hash and keeps it up to date from now on
+     *
+     * @param hash The hash to update
+     * @param pile The number of this pile within the hash
+     */
+    void attachHash(ZobristHash hash, int pile) {
+        _hash = hash;
+        _pile = pile;
+        for (int i = 0; i < _size; i++) {
+            hash.toggle(pile, i, _cards[i]);
+        }
+    }
+
+    /**
+     * Puts the current content into the index and keeps it up to date from now on
+     *
+     * @param index The index to update
+     * @param pile  The number of this pile within the index
+     */
+    void attachIndex(CardIndex index, int pile) {
+        _index = index;
+        _pile = pile;
+        for (int i = 0; i < _size; i++) {
+            index.put(_cards[i], pile, i);
+        }
+    }
+
+    void push(byte card) {
+        if (_hash != null) {
+            _hash.toggle(_pile, _size, card);
+        }
+        if (_index != null) {
+            _index.put(card, _pile, _size);
+        }
+        _cards[_size++] = card;
+    }
+
+    byte pop() {
+        byte card = _cards[--_size];
+        if (_hash != null) {
+            _hash.toggle(_pile, _size, card);
+        }
+        if (_index != null) {
+            _index.remove(card, _pile, _size);
+        }
+        return card;
+    }
+
+    /**
+     * Returns the top card without removing it
+     *
+     * @return The top card or {@link PackedCard#NONE} if the stack is empty
+     */
+    byte peek() {
+        if (_size == 0) {
+            return PackedCard.NONE;
+        }
+        return _cards[_size - 1];
+    }
+
+    byte get(int index) {
+        return _cards[index];
+    }
+
+    void set(int index, byte card) {
+        if (_hash != null) {
+            _hash.toggle(_pile, index, _cards[index]);
+            _hash.toggle(_pile, index, card);
+        }
+        if (_index != null) {
+            _index.remove(_cards[index], _pile, index);
+            _index.put(card, _pile, index);
+        }
+        _cards[index] = card;
+    }
+
+    int size() {
+        return _size;
+    }
+
+    boolean isEmpty() {
+        return _size == 0;
+    }
+
+    void clear() {
+        setSize(0);
+    }
+
+    /**
+     * Gives direct access to the backing array, e.g. to shuffle it in place.
+     * Only the first {@link #size()} elements belong to the stack, elements above
+     * may be written freely and become part of the stack with {@link #setSize(int)}.
+     */
+    byte[] array() {
+        return _cards;
+    }
+
+    /**
+     * Sets the number of cards, cards above the new size are removed and
+     * cards between the old and new size are added
+     *
+     * @param size The new number of cards
+     */
+    void setSize(int size) {
+        if (_hash != null) {
+            for (int i = Math.min(size, _size); i < Math.max(size, _size); i++) {
+                _hash.toggle(_pile, i, _cards[i]);
+            }
+        }
+        if (_index != null) {
+            for (int i = size; i < _size; i++) {
+                _index.remove(_cards[i], _pile, i);
+            }
+            for (int i = _size; i < size; i++) {
+                _index.put(_cards[i], _pile, i);
+            }
+        }
+        _size = size;
+    }
+
+    /**
+     * Creates a stack of Card views of the current content, bottom card first.
+     * Changes to the returned stack do not affect this stack.
+     *
+     * @return The cards as a stack of Card objects
+     */
+    Stack<Card> toCardStack() {
+        Stack<Card> cards = new Stack<>();
+        for (int i = 0; i < _size; i++) {
+            cards.push(new Card(_cards[i]));
+        }
+        return cards;
+    }
+}
@@ -7,7 +7,14 @@ import java.util.Stack;
  * must be of the opposite color and one value lower than the previous card.
  */
 public class Tableau implements ICardHolder {
-    private final Stack<Card> _tableau;
+    private final PackedCardStack _tableau;
+
+    /**
+     * Creates a new empty tableau
+     */
+    public Tableau() {
+        _tableau = new PackedCardStack();
+    }
 
     /**
      * Creates a new tableau and initializes it with a given stack of cards
@@ -15,9 +22,9 @@ public class Tableau implements ICardHolder {
      * @param tableau The stack of cards to initialize the tableau with
      */
     public Tableau(Stack<Card> tableau) {
-        _tableau = new Stack<>();
+        _tableau = new PackedCardStack();
         while (!tableau.isEmpty()) {
-            _tableau.push(tableau.pop());
+            _tableau.push(tableau.pop().getCode());
         }
     }
 
@@ -28,7 +35,7 @@ public class Tableau implements ICardHolder {
      */
     @Override
     public void placeCard(Card card) {
-        _tableau.push(card);
+        _tableau.push(card.getCode());
     }
 
     /**
@@ -40,10 +47,7 @@ public class Tableau implements ICardHolder {
      */
     @Override
     public Card pickUpCard() {
-        if (_tableau.isEmpty()) {
-            throw new RuntimeException("Tried to pick up a card from an empty tableau.");
-        }
-        return _tableau.pop();
+        return new Card(pickUpCardCode());
     }
 
     /**
@@ -53,12 +57,18 @@ public class Tableau implements ICardHolder {
      * @return True if the card can be placed on the tableau, false otherwise
      */
     public boolean isValidMove(Card card) {
-        if (_tableau.isEmpty()) {
-            return card.getRank() == 13;
-        } else {
-            Card topCard = _tableau.peek();
-            return topCard.isOppositeColor(card) && topCard.getRank() == card.getRank() + 1;
-        }
+        return isValidMove(card.getCode());
+    }
+
+    /**
+     * Checks if a packed card can be placed on the tableau
+     *
+     * @param card The packed card to be placed
+     * @return True if the card can be placed on the tableau, false otherwise
+     * @see #isValidMove(Card)
+     */
+    public boolean isValidMove(byte card) {
+        return PackedCard.canPlaceOnTableau(card, _tableau.peek());
     }
 
     @Override
@@ -66,7 +76,7 @@ public class Tableau implements ICardHolder {
         if (_tableau.isEmpty()) {
             return null;
         }
-        return _tableau.peek();
+        return new Card(_tableau.peek());
     }
 
     /**
@@ -79,6 +89,67 @@ public class Tableau implements ICardHolder {
         return _tableau.isEmpty();
     }
 
+    @Override
+    public void placeCardCode(byte card) {
+        _tableau.push(card);
+    }
+
+    /**
+     * Removes the top packed card from the tableau
+     *
+     * @return The packed card that was removed
+     * @throws RuntimeException if the tableau is empty
+     */
+    @Override
+    public byte pickUpCardCode() {
+        if (_tableau.isEmpty()) {
+            throw new RuntimeException("Tried to pick up a card from an empty tableau.");
+        }
+        return _tableau.pop();
+    }
+
+    @Override
+    public byte peekCardCode() {
+        return _tableau.peek();
+    }
+
+    @Override
+    public byte cardCodeAt(int index) {
+        return _tableau.get(index);
+    }
+
+    @Override
+    public int size() {
+        return _tableau.size();
+    }
+
+    @Override
+    public void clear() {
+        _tableau.clear();
+    }
+
+    @Override
+    public void attachHash(ZobristHash hash, int pile) {
+        _tableau.attachHash(hash, pile);
+    }
+
+    @Override
+    public void attachIndex(CardIndex index, int pile) {
+        _tableau.attachIndex(index, pile);
+    }
+
+    /**
+     * Sets the visibility of the top card, if there is one
+     *
+     * @param isVisible The visibility status to set
+     */
+    public void setTopCardVisibility(boolean isVisible) {
+        if (!_tableau.isEmpty()) {
+            int top = _tableau.size() - 1;
+            _tableau.set(top, PackedCard.withVisibility(_tableau.get(top), isVisible));
+        }
+    }
+
     /**
      * Returns the size of the tableau
      *
@@ -91,9 +162,9 @@ public class Tableau implements ICardHolder {
     /**
      * Returns the tableau
      *
-     * @return The tableau represented as a stack of cards
+     * @return A snapshot of the tableau represented as a stack of cards, bottom card first
      */
     public Stack<Card> get_tableau() {
-        return _tableau;
+        return _tableau.toCardStack();
     }
 }
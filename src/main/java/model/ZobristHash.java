@@ -0,0 +1,54 @@
+package model;
+
+/**
+ * A 64 bit Zobrist hash over the cards of a game.
+ * Every combination of pile, position in the pile and packed card (including its visibility)
+ * has a pseudo-random key, and the hash is the XOR of the keys of all cards that lie in the piles.
+ * The card holders update it on every change, so keeping it up to date costs O(1) per card.
+ * <p>
+ * The keys are computed with the SplitMix64 finalizer instead of being read from a table,
+ * which keeps them out of the caches of the threads that share them.
+ */
+public final class ZobristHash {
+    private long _value;
+
+    /**
+     * Creates a hash of an empty game
+     */
+    public ZobristHash() {
+        _value = 0;
+    }
+
+    /**
+     * @return The current value of the hash
+     */
+    public long getValue() {
+        return _value;
+    }
+
+    /**
+     * Adds or removes a card, XOR is its own inverse
+     *
+     * @param pile     The pile of the card
+     * @param position The position of the card in the pile
+     * @param card     The packed card
+     */
+    void toggle(int pile, int position, byte card) {
+        _value ^= key(pile, position, card);
+    }
+
+    /**
+     * Computes the key of a card at a position
+     *
+     * @param pile     The pile of the card, between 0 and 15
+     * @param position The position of the card in the pile, between 0 and 63
+     * @param card     The packed card
+     * @return The key
+     */
+    public static long key(int pile, int position, byte card) {
+        long z = (((long) pile << 14 | (long) position << 7 | (card & 0x7F)) + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
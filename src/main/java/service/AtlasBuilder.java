@@ -0,0 +1,77 @@
+package service;
+
+import model.Card;
+import model.PackedCard;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Packs the single card images from src/main/resources into the sprite atlas read by {@link SpriteAtlas}.
+ * The cards of a suit form a row, ordered by rank, the card back and the redraw image follow in an extra column.
+ * Run it again after changing a card image:
+ * <pre>java -cp target/classes service.AtlasBuilder [outputDirectory]</pre>
+ */
+public final class AtlasBuilder {
+    public static final String DEFAULT_OUTPUT_DIRECTORY = Card.IMAGE_DIRECTORY + "atlas";
+    private static final String REDRAW_IMAGE_PATH = Card.IMAGE_DIRECTORY + "redraw/refresh.png";
+
+    private AtlasBuilder() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        File directory = new File(args.length > 0 ? args[0] : DEFAULT_OUTPUT_DIRECTORY);
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Could not create " + directory);
+        }
+        Card.Suit[] suits = Card.Suit.values();
+        BufferedImage[][] cards = new BufferedImage[suits.length][13];
+        int cellWidth = 0;
+        int cellHeight = 0;
+        for (int suit = 0; suit < suits.length; suit++) {
+            for (int rank = 1; rank <= 13; rank++) {
+                BufferedImage image = read(new Card(PackedCard.of(suits[suit], rank)).getImagePath());
+                cards[suit][rank - 1] = image;
+                cellWidth = Math.max(cellWidth, image.getWidth());
+                cellHeight = Math.max(cellHeight, image.getHeight());
+            }
+        }
+        BufferedImage back = read(Card.CARD_BACK_PATH);
+        BufferedImage redraw = read(REDRAW_IMAGE_PATH);
+        cellWidth = Math.max(cellWidth, Math.max(back.getWidth(), redraw.getWidth()));
+        cellHeight = Math.max(cellHeight, Math.max(back.getHeight(), redraw.getHeight()));
+
+        BufferedImage atlas = new BufferedImage(cellWidth * 14, cellHeight * suits.length, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = atlas.createGraphics();
+        try (PrintWriter index = new PrintWriter(new File(directory, "cards.index"), StandardCharsets.UTF_8)) {
+            for (int suit = 0; suit < suits.length; suit++) {
+                for (int rank = 1; rank <= 13; rank++) {
+                    draw(graphics, index, SpriteAtlas.nameOf(suits[suit], rank), cards[suit][rank - 1],
+                            (rank - 1) * cellWidth, suit * cellHeight);
+                }
+            }
+            draw(graphics, index, SpriteAtlas.BACK, back, 13 * cellWidth, 0);
+            draw(graphics, index, SpriteAtlas.REDRAW, redraw, 13 * cellWidth, cellHeight);
+        }
+        graphics.dispose();
+        ImageIO.write(atlas, "png", new File(directory, "cards.png"));
+    }
+
+    private static BufferedImage read(String path) throws IOException {
+        BufferedImage image = ImageIO.read(new File(path));
+        if (image == null) {
+            throw new IOException("Not an image: " + path);
+        }
+        return image;
+    }
+
+    private static void draw(Graphics2D graphics, PrintWriter index, String name, BufferedImage image, int x, int y) {
+        graphics.drawImage(image, x, y, null);
+        index.println(name + " " + x + " " + y + " " + image.getWidth() + " " + image.getHeight());
+    }
+}
@@ -1,23 +1,125 @@
 package service;
 
+import model.Card;
+import model.PackedCard;
+
 import javax.swing.*;
-import java.io.File;
+import java.awt.*;
+import java.awt.image.BufferedImage;
 
 public class ImageLoader {
+    /**
+     * Loads the sprite atlas with all card images, the card back and the redraw image,
+     * if that has not happened yet.
+     * Called at startup, so the first frame does not wait for the disk.
+     */
+    public static void preload() {
+        Icons.touch();
+    }
+
+    /**
+     * Returns the shared icon of a card, which must not be changed.
+     * Face-down cards get the card back.
+     *
+     * @param card The packed card
+     * @return The icon of the card
+     */
+    public static ImageIcon cardIcon(byte card) {
+        if (!PackedCard.isFaceUp(card)) {
+            return Icons.CARD_BACK;
+        }
+        return Icons.CARDS[PackedCard.identity(card)];
+    }
 
     /**
-     * Loads an image based on the file path
+     * @return The shared icon of the card back, which must not be changed
+     */
+    public static ImageIcon cardBackIcon() {
+        return Icons.CARD_BACK;
+    }
+
+    /**
+     * @return The shared icon of the redraw button, which must not be changed
+     */
+    public static ImageIcon redrawIcon() {
+        return Icons.REDRAW;
+    }
+
+    /**
+     * Returns the shared image of a card for painting it directly, which must not be changed.
+     * Face-down cards get the card back.
+     * The images are copied out of the atlas into premultiplied RGB images on first use,
+     * which Java2D draws fastest, also without hardware acceleration.
      *
-     * @param filePath The file path of the image
-     * @return The ImageIcon of the image
-     */
-    public static ImageIcon loadCardImage(String filePath) {
-        File file = new File(filePath);
-        if (file.exists()) {
-            return new ImageIcon(filePath);
-        } else {
-            System.err.println("Card image not found: " + filePath);
-            return null;
+     * @param card The packed card
+     * @return The image of the card
+     */
+    public static BufferedImage cardImage(byte card) {
+        if (!PackedCard.isFaceUp(card)) {
+            return Images.CARD_BACK;
+        }
+        return Images.CARDS[PackedCard.identity(card)];
+    }
+
+    /**
+     * @return The shared image of the redraw button, which must not be changed
+     */
+    public static BufferedImage redrawImage() {
+        return Images.REDRAW;
+    }
+
+    /**
+     * Holds the images for painting, indexed by card identity.
+     * Kept apart from {@link Icons}, so the label based board does not pay for the copies.
+     */
+    private static final class Images {
+        static final BufferedImage[] CARDS = cardImages();
+        static final BufferedImage CARD_BACK = copy(Icons.ATLAS.image(SpriteAtlas.BACK));
+        static final BufferedImage REDRAW = copy(Icons.ATLAS.image(SpriteAtlas.REDRAW));
+
+        private static BufferedImage[] cardImages() {
+            BufferedImage[] images = new BufferedImage[PackedCard.IDENTITY_COUNT];
+            for (Card.Suit suit : Card.Suit.values()) {
+                for (int rank = 1; rank <= 13; rank++) {
+                    byte card = PackedCard.of(suit, rank);
+                    images[PackedCard.identity(card)] = copy(Icons.ATLAS.cardImage(card));
+                }
+            }
+            return images;
+        }
+
+        private static BufferedImage copy(BufferedImage image) {
+            BufferedImage copy = new BufferedImage(image.getWidth(), image.getHeight(),
+                    BufferedImage.TYPE_INT_ARGB_PRE);
+            Graphics2D graphics = copy.createGraphics();
+            graphics.drawImage(image, 0, 0, null);
+            graphics.dispose();
+            return copy;
+        }
+    }
+
+    /**
+     * Holds the icons, indexed by card identity, all drawn from one {@link SpriteAtlas}.
+     * The JVM loads the class once on first use, which makes the cache thread safe without locking.
+     */
+    private static final class Icons {
+        static final SpriteAtlas ATLAS = SpriteAtlas.load();
+        static final ImageIcon[] CARDS = cardIcons();
+        static final ImageIcon CARD_BACK = new ImageIcon(ATLAS.image(SpriteAtlas.BACK));
+        static final ImageIcon REDRAW = new ImageIcon(ATLAS.image(SpriteAtlas.REDRAW));
+
+        static void touch() {
+        }
+
+        private static ImageIcon[] cardIcons() {
+            ImageIcon[] icons = new ImageIcon[PackedCard.IDENTITY_COUNT];
+            for (Card.Suit suit : Card.Suit.values()) {
+                for (int rank = 1; rank <= 13; rank++) {
+                    byte card = PackedCard.of(suit, rank);
+                    icons[PackedCard.identity(card)] = new ImageIcon(ATLAS.cardImage(card));
+                }
+            }
+            return icons;
         }
     }
 }
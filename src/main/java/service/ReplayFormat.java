@@ -0,0 +1,20 @@
+package service;
+
+/**
+ * Constants of the binary replay format shared by {@link ReplayWriter} and {@link ReplayReader}.
+ * <p>
+ * A replay file starts with the bytes 'K', 'R', 'P' and the format version, followed by any number of games.
+ * A game is its seed as 8 big-endian bytes, followed by its moves and an end marker.
+ * Moves are packed ints (see {@link controller.Move}) written as unsigned LEB128 varints,
+ * which takes 2 bytes for almost every move.
+ * The values 0 and 1 are never valid moves, 0 marks the end of a game and 1 a step back.
+ */
+final class ReplayFormat {
+    static final byte[] MAGIC = {'K', 'R', 'P'};
+    static final int VERSION = 1;
+    static final int END_OF_GAME = 0;
+    static final int UNDO = 1;
+
+    private ReplayFormat() {
+    }
+}
@@ -0,0 +1,148 @@
+package service;
+
+import controller.KlondikeEngine;
+import controller.Move;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Reads the games of a replay stream one after another.
+ * The moves of the current game are kept in an int array, so the game can be replayed
+ * on a {@link KlondikeEngine} up to any move.
+ *
+ * @see ReplayFormat
+ * @see ReplayWriter
+ */
+public final class ReplayReader implements AutoCloseable {
+    /**
+     * Returned by {@link #moveAt(int)} for a step back
+     */
+    public static final int UNDO = ReplayFormat.UNDO;
+
+    private final DataInputStream _in;
+    private int[] _moves;
+    private int _size;
+    private long _seed;
+
+    /**
+     * Creates a reader and reads the header of the format
+     *
+     * @param in The stream to read from, it is buffered by the reader
+     * @throws IOException if the stream is not a replay of a known version
+     */
+    public ReplayReader(InputStream in) throws IOException {
+        _in = new DataInputStream(new BufferedInputStream(in));
+        for (byte expected : ReplayFormat.MAGIC) {
+            if (_in.readByte() != expected) {
+                throw new IOException("Not a replay stream");
+            }
+        }
+        int version = _in.readUnsignedByte();
+        if (version != ReplayFormat.VERSION) {
+            throw new IOException("Unknown replay version " + version);
+        }
+        _moves = new int[256];
+        _size = 0;
+    }
+
+    /**
+     * Reads the next game
+     *
+     * @return True if a game was read, false at the end of the stream
+     * @throws IOException if the stream ends inside a game
+     */
+    public boolean nextGame() throws IOException {
+        int first = _in.read();
+        if (first < 0) {
+            return false;
+        }
+        long seed = first;
+        for (int i = 1; i < Long.BYTES; i++) {
+            seed = seed << 8 | _in.readUnsignedByte();
+        }
+        _seed = seed;
+        _size = 0;
+        int move;
+        while ((move = readVarint()) != ReplayFormat.END_OF_GAME) {
+            if (_size == _moves.length) {
+                _moves = Arrays.copyOf(_moves, _size * 2);
+            }
+            _moves[_size++] = move;
+        }
+        return true;
+    }
+
+    /**
+     * @return The seed of the current game
+     */
+    public long getSeed() {
+        return _seed;
+    }
+
+    /**
+     * @return The number of moves and step backs of the current game
+     */
+    public int size() {
+        return _size;
+    }
+
+    /**
+     * @param index The number of the move, 0 being the first move
+     * @return The packed move or {@link #UNDO}
+     */
+    public int moveAt(int index) {
+        return _moves[index];
+    }
+
+    /**
+     * Deals the current game and plays all of its moves
+     *
+     * @param engine The engine to play on
+     * @see #seek(KlondikeEngine, int)
+     */
+    public void replay(KlondikeEngine engine) {
+        seek(engine, _size);
+    }
+
+    /**
+     * Deals the current game and plays its first moves.
+     *
+     * @param engine   The engine to play on
+     * @param position The number of moves to play
+     * @throws RuntimeException if a move is not legal, which means the rules changed since the game was played
+     */
+    public void seek(KlondikeEngine engine, int position) {
+        engine.deal(_seed);
+        for (int i = 0; i < position; i++) {
+            int move = _moves[i];
+            if (move == UNDO) {
+                engine.undo();
+            } else if (engine.isLegal(move)) {
+                engine.apply(move);
+            } else {
+                throw new RuntimeException("Illegal move " + Move.toString(move) + " at " + i + " in game " + _seed);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        _in.close();
+    }
+
+    private int readVarint() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = _in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in replay");
+    }
+}
@@ -0,0 +1,104 @@
+package service;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes games to a replay stream while they are played, one move at a time.
+ * Games are appended one after another, so a single stream can archive any number of games.
+ *
+ * @see ReplayFormat
+ * @see ReplayReader
+ */
+public final class ReplayWriter implements AutoCloseable {
+    private final DataOutputStream _out;
+    private boolean _isInGame;
+
+    /**
+     * Creates a writer and writes the header of the format
+     *
+     * @param out The stream to write to, it is buffered by the writer
+     * @throws IOException if the header can not be written
+     */
+    public ReplayWriter(OutputStream out) throws IOException {
+        _out = new DataOutputStream(new BufferedOutputStream(out));
+        _out.write(ReplayFormat.MAGIC);
+        _out.writeByte(ReplayFormat.VERSION);
+        _isInGame = false;
+    }
+
+    /**
+     * Starts a new game, ending the current game if there is one
+     *
+     * @param seed The seed the game was dealt with
+     * @throws IOException if the stream can not be written
+     */
+    public void beginGame(long seed) throws IOException {
+        endGame();
+        _out.writeLong(seed);
+        _isInGame = true;
+    }
+
+    /**
+     * Appends a move to the current game
+     *
+     * @param move The packed move
+     * @throws IOException if the stream can not be written
+     */
+    public void writeMove(int move) throws IOException {
+        if (!_isInGame) {
+            throw new IllegalStateException("No game has been started");
+        }
+        if (move == ReplayFormat.END_OF_GAME || move == ReplayFormat.UNDO) {
+            throw new IllegalArgumentException("Not a valid move: " + move);
+        }
+        writeVarint(move);
+    }
+
+    /**
+     * Appends a step back to the current game
+     *
+     * @throws IOException if the stream can not be written
+     */
+    public void writeUndo() throws IOException {
+        if (!_isInGame) {
+            throw new IllegalStateException("No game has been started");
+        }
+        writeVarint(ReplayFormat.UNDO);
+    }
+
+    /**
+     * Ends the current game, if there is one
+     *
+     * @throws IOException if the stream can not be written
+     */
+    public void endGame() throws IOException {
+        if (_isInGame) {
+            writeVarint(ReplayFormat.END_OF_GAME);
+            _isInGame = false;
+        }
+    }
+
+    public void flush() throws IOException {
+        _out.flush();
+    }
+
+    /**
+     * Ends the current game and closes the stream
+     */
+    @Override
+    public void close() throws IOException {
+        endGame();
+        _out.close();
+    }
+
+    private void writeVarint(int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            _out.writeByte(value & 0x7F | 0x80);
+            value >>>= 7;
+        }
+        _out.writeByte(value);
+    }
+}
@@ -0,0 +1,107 @@
+package service;
+
+import model.Card;
+import model.PackedCard;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * All card images packed into one image, loaded from the classpath.
+ * The atlas image and its index are created by {@link AtlasBuilder}.
+ * The index has one line per image: its name, x, y, width and height within the atlas.
+ * Cards are named suit_rank, e.g. "spade_1", the other images "back" and "redraw".
+ * <p>
+ * The images handed out are sub-images that share the pixels of the atlas.
+ */
+public final class SpriteAtlas {
+    public static final String IMAGE_RESOURCE = "/atlas/cards.png";
+    public static final String INDEX_RESOURCE = "/atlas/cards.index";
+    public static final String BACK = "back";
+    public static final String REDRAW = "redraw";
+
+    private final Map<String, BufferedImage> _images;
+    private final BufferedImage[] _cards;
+
+    private SpriteAtlas(BufferedImage atlas, Map<String, int[]> index) {
+        _images = new HashMap<>();
+        for (Map.Entry<String, int[]> entry : index.entrySet()) {
+            int[] bounds = entry.getValue();
+            _images.put(entry.getKey(), atlas.getSubimage(bounds[0], bounds[1], bounds[2], bounds[3]));
+        }
+        _cards = new BufferedImage[PackedCard.IDENTITY_COUNT];
+        for (Card.Suit suit : Card.Suit.values()) {
+            for (int rank = 1; rank <= 13; rank++) {
+                _cards[PackedCard.identity(PackedCard.of(suit, rank))] = _images.get(nameOf(suit, rank));
+            }
+        }
+    }
+
+    /**
+     * Loads the atlas image and its index from the classpath
+     *
+     * @return The atlas
+     * @throws RuntimeException if the atlas is missing or broken
+     */
+    public static SpriteAtlas load() {
+        try (InputStream image = SpriteAtlas.class.getResourceAsStream(IMAGE_RESOURCE);
+             InputStream index = SpriteAtlas.class.getResourceAsStream(INDEX_RESOURCE)) {
+            if (image == null || index == null) {
+                throw new RuntimeException("Sprite atlas not found on the classpath: " + IMAGE_RESOURCE);
+            }
+            return new SpriteAtlas(ImageIO.read(image), readIndex(index));
+        } catch (IOException e) {
+            throw new RuntimeException("Could not load the sprite atlas", e);
+        }
+    }
+
+    /**
+     * @param suit The suit of the card
+     * @param rank The rank of the card
+     * @return The name of the card image within the atlas
+     */
+    public static String nameOf(Card.Suit suit, int rank) {
+        return suit.name().toLowerCase() + "_" + rank;
+    }
+
+    /**
+     * @param card The packed card, its visibility does not matter
+     * @return The front of the card
+     */
+    public BufferedImage cardImage(byte card) {
+        return _cards[PackedCard.identity(card)];
+    }
+
+    /**
+     * @param name The name of the image
+     * @return The image or null if the atlas has no image of that name
+     */
+    public BufferedImage image(String name) {
+        return _images.get(name);
+    }
+
+    private static Map<String, int[]> readIndex(InputStream in) throws IOException {
+        Map<String, int[]> index = new HashMap<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            String[] parts = line.trim().split("\\s+");
+            if (parts.length != 5) {
+                throw new IOException("Malformed sprite atlas index line: " + line);
+            }
+            index.put(parts[0], new int[]{Integer.parseInt(parts[1]), Integer.parseInt(parts[2]),
+                    Integer.parseInt(parts[3]), Integer.parseInt(parts[4])});
+        }
+        return index;
+    }
+}
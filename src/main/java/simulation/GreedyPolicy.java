@@ -0,0 +1,82 @@
+package simulation;
+
+import controller.KlondikeEngine;
+import controller.Move;
+import model.ICardHolder;
+import model.PackedCard;
+
+/**
+ * Plays the first move of the most useful kind, the way a casual player does:
+ * moves to a foundation, then tableau moves that turn over a card, then cards from the discard pile
+ * to a tableau, then drawing.
+ * Other moves are never played, which keeps the policy from going in circles.
+ * It gives up once it would re-deal without having played anything but draws since the last re-deal.
+ */
+public final class GreedyPolicy implements PlayPolicy {
+    private static final int NO_PRIORITY = Integer.MAX_VALUE;
+
+    private boolean _hasProgressed;
+
+    @Override
+    public void newGame(long seed) {
+        _hasProgressed = true;
+    }
+
+    @Override
+    public int chooseMove(KlondikeEngine engine, int[] moves, int count) {
+        int best = Move.NONE;
+        int bestPriority = NO_PRIORITY;
+        for (int i = 0; i < count; i++) {
+            int priority = priorityOf(engine, moves[i]);
+            if (priority < bestPriority) {
+                best = moves[i];
+                bestPriority = priority;
+            }
+        }
+        if (best == Move.NONE) {
+            return Move.NONE;
+        }
+        int from = Move.from(best);
+        if (from == Move.DISCARD_PILE && Move.to(best) == Move.DECK) {
+            if (!_hasProgressed) {
+                return Move.NONE;
+            }
+            _hasProgressed = false;
+        } else if (from != Move.DECK) {
+            _hasProgressed = true;
+        }
+        return best;
+    }
+
+    /**
+     * @return The priority of a move, lower is better, or {@link #NO_PRIORITY} if it is never played
+     */
+    private static int priorityOf(KlondikeEngine engine, int move) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        if (Move.isFoundation(to)) {
+            return 0;
+        }
+        if (Move.isTableau(from) && Move.isTableau(to)) {
+            return turnsOver(engine.getPile(from), Move.count(move)) ? 1 : NO_PRIORITY;
+        }
+        if (from == Move.DISCARD_PILE && Move.isTableau(to)) {
+            return 2;
+        }
+        if (from == Move.DECK) {
+            return 3;
+        }
+        if (from == Move.DISCARD_PILE) {
+            return 4;
+        }
+        return NO_PRIORITY;
+    }
+
+    /**
+     * @return True if moving the given number of cards uncovers a face-down card
+     */
+    private static boolean turnsOver(ICardHolder tableau, int count) {
+        int below = tableau.size() - count - 1;
+        return below >= 0 && !PackedCard.isFaceUp(tableau.cardCodeAt(below));
+    }
+}
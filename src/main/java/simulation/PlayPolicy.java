@@ -0,0 +1,29 @@
+package simulation;
+
+import controller.KlondikeEngine;
+import controller.Move;
+
+/**
+ * Decides which move to play in a game simulated by the {@link WinRateEstimator}.
+ * Every worker thread has its own policy, so implementations may keep state without locking.
+ */
+public interface PlayPolicy {
+    /**
+     * Called after a new deal, before the first move of the game
+     *
+     * @param seed The seed of the deal
+     */
+    default void newGame(long seed) {
+    }
+
+    /**
+     * Chooses the next move, which must be one of the legal moves.
+     * The engine must not be changed.
+     *
+     * @param engine The engine of the game
+     * @param moves  The legal moves of the position
+     * @param count  The number of legal moves, at least one
+     * @return The move to play or {@link Move#NONE} to give up the game
+     */
+    int chooseMove(KlondikeEngine engine, int[] moves, int count);
+}
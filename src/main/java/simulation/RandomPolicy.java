@@ -0,0 +1,23 @@
+package simulation;
+
+import controller.KlondikeEngine;
+
+import java.util.SplittableRandom;
+
+/**
+ * Plays a random legal move, as a baseline for the other policies.
+ * The random numbers are seeded with the seed of the deal, so a game plays the same on every run.
+ */
+public final class RandomPolicy implements PlayPolicy {
+    private SplittableRandom _random = new SplittableRandom();
+
+    @Override
+    public void newGame(long seed) {
+        _random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public int chooseMove(KlondikeEngine engine, int[] moves, int count) {
+        return moves[_random.nextInt(count)];
+    }
+}
@@ -0,0 +1,36 @@
+package simulation;
+
+import controller.KlondikeEngine;
+import controller.Move;
+import solver.KlondikeSolver;
+
+/**
+ * Plays the move a time-boxed search of the {@link KlondikeSolver} suggests, like the hint button does.
+ * Each move searches from a snapshot of the position, so the limits bound the time per move, not per game.
+ */
+public final class SolverPolicy implements PlayPolicy {
+    public static final long DEFAULT_MAX_NODES = 20_000;
+    public static final long DEFAULT_TIME_LIMIT_MILLIS = 200;
+
+    private final KlondikeSolver _solver;
+
+    public SolverPolicy() {
+        this(DEFAULT_MAX_NODES, DEFAULT_TIME_LIMIT_MILLIS);
+    }
+
+    /**
+     * @param maxNodes        The number of positions after which a search for a move stops
+     * @param timeLimitMillis The time after which a search for a move stops
+     */
+    public SolverPolicy(long maxNodes, long timeLimitMillis) {
+        _solver = new KlondikeSolver(maxNodes, timeLimitMillis, KlondikeSolver.DEFAULT_MAX_DEPTH);
+    }
+
+    @Override
+    public int chooseMove(KlondikeEngine engine, int[] moves, int count) {
+        int played = engine.getGameMoveManager().size();
+        int lastMove = played > 0 ? engine.getGameMoveManager().moveAt(played - 1) : Move.NONE;
+        _solver.setRules(engine.getRules());
+        return _solver.findHint(engine.snapshot(), lastMove);
+    }
+}
@@ -0,0 +1,203 @@
+package simulation;
+
+import controller.KlondikeEngine;
+import controller.Move;
+import controller.Rules;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Estimates the win rate of a {@link PlayPolicy} by playing seeded deals on the headless {@link KlondikeEngine}.
+ * One worker per processor takes chunks of seeds from a shared counter, so memory stays the same
+ * for any number of deals and fast workers take over the work of slow ones.
+ * Every worker adds a chunk to its own {@link WinRateStats} and merges them into the total,
+ * which is handed to a listener as the run goes on.
+ * The total only depends on the seeds, not on the number of workers or the order they finish in.
+ */
+public final class WinRateEstimator {
+    public static final int DEFAULT_MAX_MOVES = 1000;
+    public static final int DEFAULT_CHUNK_SIZE = 256;
+    public static final long DEFAULT_REPORT_INTERVAL_MILLIS = 1000;
+
+    private final int _parallelism;
+    private final Supplier<PlayPolicy> _policies;
+    private final int _maxMoves;
+    private final Rules _rules;
+
+    /**
+     * Creates an estimator with one worker per available processor
+     *
+     * @param policies Creates the policy of each worker
+     */
+    public WinRateEstimator(Supplier<PlayPolicy> policies) {
+        this(Runtime.getRuntime().availableProcessors(), policies, DEFAULT_MAX_MOVES);
+    }
+
+    /**
+     * Creates an estimator that plays by the standard rules
+     *
+     * @param parallelism The number of worker threads
+     * @param policies    Creates the policy of each worker
+     * @param maxMoves    The number of moves after which a game counts as lost
+     */
+    public WinRateEstimator(int parallelism, Supplier<PlayPolicy> policies, int maxMoves) {
+        this(parallelism, policies, maxMoves, Rules.STANDARD);
+    }
+
+    /**
+     * @param parallelism The number of worker threads
+     * @param policies    Creates the policy of each worker
+     * @param maxMoves    The number of moves after which a game counts as lost
+     * @param rules       The rules of every deal
+     */
+    public WinRateEstimator(int parallelism, Supplier<PlayPolicy> policies, int maxMoves, Rules rules) {
+        _parallelism = parallelism;
+        _policies = policies;
+        _maxMoves = maxMoves;
+        _rules = rules;
+    }
+
+    /**
+     * Plays the deals of the seeds firstSeed to firstSeed + count - 1
+     *
+     * @param firstSeed      The first seed
+     * @param count          The number of deals
+     * @param listener       Receives a copy of the total so far, at most once per report interval,
+     *                       called by one worker at a time; may be null
+     * @param intervalMillis The time between two reports
+     * @return The statistics of all deals
+     */
+    public WinRateStats estimate(long firstSeed, long count, Consumer<WinRateStats> listener, long intervalMillis) {
+        WinRateStats total = new WinRateStats();
+        AtomicLong nextChunk = new AtomicLong();
+        long chunkCount = (count + DEFAULT_CHUNK_SIZE - 1) / DEFAULT_CHUNK_SIZE;
+        long[] lastReport = {System.nanoTime()};
+        long intervalNanos = intervalMillis * 1_000_000;
+
+        List<Callable<Void>> workers = new ArrayList<>();
+        for (int i = 0; i < _parallelism; i++) {
+            workers.add(() -> {
+                KlondikeEngine engine = new KlondikeEngine(null, _rules);
+                PlayPolicy policy = _policies.get();
+                int[] moves = new int[KlondikeEngine.MAX_MOVES];
+                for (long chunk = nextChunk.getAndIncrement(); chunk < chunkCount; chunk = nextChunk.getAndIncrement()) {
+                    WinRateStats stats = new WinRateStats();
+                    long end = Math.min(count, (chunk + 1) * DEFAULT_CHUNK_SIZE);
+                    for (long deal = chunk * DEFAULT_CHUNK_SIZE; deal < end; deal++) {
+                        play(engine, policy, moves, firstSeed + deal, stats);
+                    }
+                    synchronized (total) {
+                        total.merge(stats);
+                        long now = System.nanoTime();
+                        if (listener != null && now - lastReport[0] >= intervalNanos) {
+                            lastReport[0] = now;
+                            listener.accept(total.copy());
+                        }
+                    }
+                }
+                return null;
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(_parallelism);
+        try {
+            for (Future<Void> future : executor.invokeAll(workers)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Estimation was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("A simulated game failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return total;
+    }
+
+    /**
+     * Plays one deal until it is won, the policy gives up, there is no move left or the move limit is reached.
+     * Once all cards are face-up the game is finished by auto-complete.
+     */
+    private void play(KlondikeEngine engine, PlayPolicy policy, int[] moves, long seed, WinRateStats stats) {
+        engine.deal(seed);
+        policy.newGame(seed);
+        int played = 0;
+        while (!engine.isWon() && played < _maxMoves) {
+            if (engine.canAutoComplete()) {
+                played += engine.autoComplete();
+                break;
+            }
+            int count = engine.legalMoves(moves);
+            if (count == 0) {
+                break;
+            }
+            int move = policy.chooseMove(engine, moves, count);
+            if (move == Move.NONE) {
+                break;
+            }
+            engine.apply(move);
+            played++;
+        }
+        stats.add(engine.isWon(), played, engine.getScore());
+    }
+
+    /**
+     * Creates the policies of the given name
+     *
+     * @param name greedy, random or solver
+     * @return The supplier of new policies
+     * @throws IllegalArgumentException if there is no policy of that name
+     */
+    public static Supplier<PlayPolicy> policy(String name) {
+        return switch (name) {
+            case "greedy" -> GreedyPolicy::new;
+            case "random" -> RandomPolicy::new;
+            case "solver" -> SolverPolicy::new;
+            default -> throw new IllegalArgumentException("Unknown policy: " + name);
+        };
+    }
+
+    /**
+     * Plays a range of seeds with a policy and prints the statistics so far once per second,
+     * followed by the final statistics and the score histogram.
+     * Arguments: policy firstSeed count [maxMoves] [parallelism] [rules], see {@link Rules#parse(String)}
+     */
+    public static void main(String[] args) {
+        if (args.length < 3) {
+            System.err.println("Usage: WinRateEstimator greedy|random|solver firstSeed count [maxMoves] [parallelism]"
+                    + " [rules]");
+            System.exit(1);
+        }
+        Supplier<PlayPolicy> policies = policy(args[0]);
+        long firstSeed = Long.parseLong(args[1]);
+        long count = Long.parseLong(args[2]);
+        int maxMoves = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_MAX_MOVES;
+        int parallelism = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+        Rules rules = args.length > 5 ? Rules.parse(args[5]) : Rules.STANDARD;
+
+        WinRateEstimator estimator = new WinRateEstimator(parallelism, policies, maxMoves, rules);
+        long start = System.nanoTime();
+        WinRateStats stats = estimator.estimate(firstSeed, count, System.out::println, DEFAULT_REPORT_INTERVAL_MILLIS);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.println(rules + " " + stats);
+        long[] histogram = stats.getScoreHistogram();
+        for (int bucket = 0; bucket < histogram.length; bucket++) {
+            if (histogram[bucket] > 0) {
+                System.out.printf("%6d..%-6d %d%n", WinRateStats.bucketStart(bucket),
+                        WinRateStats.bucketStart(bucket + 1) - 1, histogram[bucket]);
+            }
+        }
+        System.out.printf("%d deals in %.2f s (%.1f deals/s)%n", count, seconds, count / seconds);
+    }
+}
@@ -0,0 +1,170 @@
+package simulation;
+
+import java.util.Arrays;
+
+/**
+ * Aggregates the outcome of simulated games in constant memory: counts and sums for the means,
+ * sums of squares for the confidence intervals and a histogram of the final scores.
+ * Not thread safe; workers keep their own statistics and {@link #merge(WinRateStats)} them.
+ */
+public final class WinRateStats {
+    public static final int SCORE_BUCKET_WIDTH = 50;
+    public static final int MIN_SCORE = -1000;
+    public static final int MAX_SCORE = 1000;
+    // z-score of a two-sided 95 % confidence interval
+    private static final double Z_95 = 1.96;
+
+    private long _games;
+    private long _wins;
+    private long _moveSum;
+    private long _moveSquareSum;
+    private long _scoreSum;
+    private long _scoreSquareSum;
+    private final long[] _scoreHistogram;
+
+    public WinRateStats() {
+        _scoreHistogram = new long[(MAX_SCORE - MIN_SCORE) / SCORE_BUCKET_WIDTH];
+    }
+
+    /**
+     * Adds the outcome of one game
+     *
+     * @param won   True if the game was won
+     * @param moves The number of moves played
+     * @param score The final score
+     */
+    public void add(boolean won, int moves, int score) {
+        _games++;
+        if (won) {
+            _wins++;
+        }
+        _moveSum += moves;
+        _moveSquareSum += (long) moves * moves;
+        _scoreSum += score;
+        _scoreSquareSum += (long) score * score;
+        _scoreHistogram[bucketOf(score)]++;
+    }
+
+    /**
+     * Adds all games of other statistics to these
+     */
+    public void merge(WinRateStats other) {
+        _games += other._games;
+        _wins += other._wins;
+        _moveSum += other._moveSum;
+        _moveSquareSum += other._moveSquareSum;
+        _scoreSum += other._scoreSum;
+        _scoreSquareSum += other._scoreSquareSum;
+        for (int i = 0; i < _scoreHistogram.length; i++) {
+            _scoreHistogram[i] += other._scoreHistogram[i];
+        }
+    }
+
+    /**
+     * @return An independent copy of these statistics
+     */
+    public WinRateStats copy() {
+        WinRateStats copy = new WinRateStats();
+        copy.merge(this);
+        return copy;
+    }
+
+    public long getGames() {
+        return _games;
+    }
+
+    public long getWins() {
+        return _wins;
+    }
+
+    /**
+     * @return The share of won games, 0 if no game was played
+     */
+    public double winRate() {
+        return _games == 0 ? 0 : (double) _wins / _games;
+    }
+
+    /**
+     * Computes the 95 % Wilson score interval of the win rate,
+     * which stays within 0 and 1 and is also usable for rare wins.
+     *
+     * @return The lower and upper bound
+     */
+    public double[] winRateInterval() {
+        if (_games == 0) {
+            return new double[]{0, 1};
+        }
+        double n = _games;
+        double p = winRate();
+        double zz = Z_95 * Z_95;
+        double center = (p + zz / (2 * n)) / (1 + zz / n);
+        double margin = Z_95 / (1 + zz / n) * Math.sqrt(p * (1 - p) / n + zz / (4 * n * n));
+        return new double[]{Math.max(0, center - margin), Math.min(1, center + margin)};
+    }
+
+    public double meanMoves() {
+        return mean(_moveSum);
+    }
+
+    /**
+     * @return Half the width of the 95 % confidence interval of the mean number of moves
+     */
+    public double meanMovesMargin() {
+        return margin(_moveSum, _moveSquareSum);
+    }
+
+    public double meanScore() {
+        return mean(_scoreSum);
+    }
+
+    /**
+     * @return Half the width of the 95 % confidence interval of the mean score
+     */
+    public double meanScoreMargin() {
+        return margin(_scoreSum, _scoreSquareSum);
+    }
+
+    /**
+     * Returns the number of games per score bucket.
+     * Bucket i holds the scores from {@link #MIN_SCORE} + i * {@link #SCORE_BUCKET_WIDTH} on,
+     * scores outside of the range are counted in the first or last bucket.
+     *
+     * @return A copy of the histogram
+     */
+    public long[] getScoreHistogram() {
+        return Arrays.copyOf(_scoreHistogram, _scoreHistogram.length);
+    }
+
+    /**
+     * @return The lowest score of a bucket of the histogram
+     */
+    public static int bucketStart(int bucket) {
+        return MIN_SCORE + bucket * SCORE_BUCKET_WIDTH;
+    }
+
+    private int bucketOf(int score) {
+        int bucket = Math.floorDiv(score - MIN_SCORE, SCORE_BUCKET_WIDTH);
+        return Math.clamp(bucket, 0, _scoreHistogram.length - 1);
+    }
+
+    private double mean(long sum) {
+        return _games == 0 ? 0 : (double) sum / _games;
+    }
+
+    private double margin(long sum, long squareSum) {
+        if (_games < 2) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double mean = mean(sum);
+        double variance = Math.max(0, ((double) squareSum - _games * mean * mean) / (_games - 1));
+        return Z_95 * Math.sqrt(variance / _games);
+    }
+
+    @Override
+    public String toString() {
+        double[] interval = winRateInterval();
+        return String.format("%d games, win rate %.2f %% [%.2f %%, %.2f %%], moves %.1f +/- %.1f, score %.1f +/- %.1f",
+                _games, winRate() * 100, interval[0] * 100, interval[1] * 100,
+                meanMoves(), meanMovesMargin(), meanScore(), meanScoreMargin());
+    }
+}
@@ -0,0 +1,182 @@
+package solver;
+
+import controller.Rules;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Solves a range of seeded deals in parallel.
+ * The range is split recursively on a work-stealing {@link ForkJoinPool}, so threads that finish
+ * easy deals take over the remaining deals of busy threads.
+ * Every worker thread reuses its own {@link KlondikeSolver}.
+ * The solvers either have a transposition table each, which keeps the result of every deal
+ * independent of the other deals, or share one table, which lets deals profit from positions
+ * other deals have already searched.
+ */
+public final class BatchSolver {
+    public static final int DEFAULT_SHARED_TABLE_MEGABYTES = 256;
+
+    private final ForkJoinPool _pool;
+    private final ThreadLocal<KlondikeSolver> _solvers;
+    private final TranspositionTable _table;
+    private volatile Rules _rules = Rules.STANDARD;
+
+    /**
+     * Creates a batch solver with one worker per available processor
+     *
+     * @param maxNodes        The number of positions after which a deal is given up
+     * @param timeLimitMillis The time after which a deal is given up
+     * @param maxDepth        The number of moves after which a line of play is given up
+     */
+    public BatchSolver(long maxNodes, long timeLimitMillis, int maxDepth) {
+        this(Runtime.getRuntime().availableProcessors(), maxNodes, timeLimitMillis, maxDepth);
+    }
+
+    /**
+     * Creates a batch solver whose workers have a transposition table each
+     *
+     * @param parallelism     The number of worker threads
+     * @param maxNodes        The number of positions after which a deal is given up
+     * @param timeLimitMillis The time after which a deal is given up
+     * @param maxDepth        The number of moves after which a line of play is given up
+     */
+    public BatchSolver(int parallelism, long maxNodes, long timeLimitMillis, int maxDepth) {
+        _pool = new ForkJoinPool(parallelism);
+        _solvers = ThreadLocal.withInitial(() -> new KlondikeSolver(maxNodes, timeLimitMillis, maxDepth));
+        _table = null;
+    }
+
+    /**
+     * Creates a batch solver whose workers share one transposition table
+     *
+     * @param parallelism     The number of worker threads
+     * @param maxNodes        The number of positions after which a deal is given up
+     * @param timeLimitMillis The time after which a deal is given up
+     * @param maxDepth        The number of moves after which a line of play is given up
+     * @param tableMegabytes  The memory of the shared table
+     */
+    public BatchSolver(int parallelism, long maxNodes, long timeLimitMillis, int maxDepth, int tableMegabytes) {
+        _pool = new ForkJoinPool(parallelism);
+        _table = new TranspositionTable(tableMegabytes);
+        _solvers = ThreadLocal.withInitial(() -> new KlondikeSolver(maxNodes, timeLimitMillis, maxDepth, _table));
+    }
+
+    /**
+     * Sets the rules the following deals are solved by.
+     * A shared table is cleared if the rules change, since the position hash does not cover
+     * the draw count, so its entries would cut off positions that are searched by other rules.
+     * Must not be called while deals are being solved.
+     *
+     * @param rules The rules
+     */
+    public void setRules(Rules rules) {
+        if (_table != null && !rules.equals(_rules)) {
+            _table.clear();
+        }
+        _rules = rules;
+    }
+
+    /**
+     * Solves the deals of the seeds firstSeed to firstSeed + count - 1
+     *
+     * @param firstSeed The first seed
+     * @param count     The number of seeds
+     * @return The results, the result of seed firstSeed + i at index i
+     */
+    public SolveResult[] solve(long firstSeed, int count) {
+        SolveResult[] results = new SolveResult[count];
+        if (_table != null) {
+            _table.newSearch();
+        }
+        _pool.invoke(new SolveTask(firstSeed, results, 0, count));
+        return results;
+    }
+
+    /**
+     * @return The shared transposition table or null if every worker has its own table
+     */
+    public TranspositionTable getTable() {
+        return _table;
+    }
+
+    /**
+     * Stops the worker threads
+     */
+    public void shutdown() {
+        _pool.shutdown();
+    }
+
+    /**
+     * Solves a part of the seed range, splitting it in halves until a single seed is left.
+     */
+    private final class SolveTask extends RecursiveAction {
+        private final long _firstSeed;
+        private final SolveResult[] _results;
+        private final int _from;
+        private final int _to;
+
+        SolveTask(long firstSeed, SolveResult[] results, int from, int to) {
+            _firstSeed = firstSeed;
+            _results = results;
+            _from = from;
+            _to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (_to - _from == 1) {
+                KlondikeSolver solver = _solvers.get();
+                solver.setRules(_rules);
+                _results[_from] = solver.solve(_firstSeed + _from);
+                return;
+            }
+            int middle = (_from + _to) >>> 1;
+            invokeAll(new SolveTask(_firstSeed, _results, _from, middle),
+                    new SolveTask(_firstSeed, _results, middle, _to));
+        }
+    }
+
+    /**
+     * Solves a range of seeds and prints one line per seed: seed, status and visited nodes,
+     * followed by a summary and the statistics of the shared transposition table.
+     * Arguments: firstSeed count [maxNodes] [timeLimitMillis] [maxDepth] [tableMegabytes] [rules]
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: BatchSolver firstSeed count [maxNodes] [timeLimitMillis] [maxDepth] [tableMegabytes]"
+                    + " [rules]");
+            System.exit(1);
+        }
+        long firstSeed = Long.parseLong(args[0]);
+        int count = Integer.parseInt(args[1]);
+        long maxNodes = args.length > 2 ? Long.parseLong(args[2]) : KlondikeSolver.DEFAULT_MAX_NODES;
+        long timeLimit = args.length > 3 ? Long.parseLong(args[3]) : KlondikeSolver.DEFAULT_TIME_LIMIT_MILLIS;
+        int maxDepth = args.length > 4 ? Integer.parseInt(args[4]) : KlondikeSolver.DEFAULT_MAX_DEPTH;
+        int tableMegabytes = args.length > 5 ? Integer.parseInt(args[5]) : DEFAULT_SHARED_TABLE_MEGABYTES;
+        Rules rules = args.length > 6 ? Rules.parse(args[6]) : Rules.STANDARD;
+
+        BatchSolver batchSolver = new BatchSolver(Runtime.getRuntime().availableProcessors(),
+                maxNodes, timeLimit, maxDepth, tableMegabytes);
+        batchSolver.setRules(rules);
+        long start = System.nanoTime();
+        SolveResult[] results = batchSolver.solve(firstSeed, count);
+        long elapsed = System.nanoTime() - start;
+        batchSolver.shutdown();
+
+        int[] statusCounts = new int[SolveResult.Status.values().length];
+        long nodes = 0;
+        for (SolveResult result : results) {
+            System.out.println(result);
+            statusCounts[result.getStatus().ordinal()]++;
+            nodes += result.getNodes();
+        }
+        for (SolveResult.Status status : SolveResult.Status.values()) {
+            System.out.println(status + ": " + statusCounts[status.ordinal()]);
+        }
+        double seconds = elapsed / 1e9;
+        System.out.printf("%d deals, %d nodes in %.2f s (%.1f deals/s, %.0f nodes/s)%n",
+                count, nodes, seconds, count / seconds, nodes / seconds);
+        System.out.println("Transposition table: " + batchSolver.getTable());
+    }
+}
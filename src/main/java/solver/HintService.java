@@ -0,0 +1,98 @@
+package solver;
+
+import controller.Move;
+import controller.Rules;
+import model.BoardSnapshot;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Searches hints in the background, one virtual thread per search.
+ * Every search runs on its own {@link KlondikeSolver}, set up from an immutable {@link BoardSnapshot},
+ * so it never touches the engine of the game. The searches share one {@link TranspositionTable},
+ * as a position that could not be won stays that way.
+ * <p>
+ * Only the latest search matters: starting a search or calling {@link #cancel()} interrupts the previous one.
+ */
+public final class HintService implements AutoCloseable {
+    public static final long DEFAULT_TIME_LIMIT_MILLIS = 50;
+    public static final int DEFAULT_TABLE_MEGABYTES = 4;
+
+    private final long _timeLimitMillis;
+    private final TranspositionTable _table;
+    private final ExecutorService _executor;
+    private Future<?> _search;
+    private CompletableFuture<Integer> _hint;
+    private Rules _rules = Rules.STANDARD;
+
+    /**
+     * Creates a service whose searches stop after the default time limit
+     */
+    public HintService() {
+        this(DEFAULT_TIME_LIMIT_MILLIS);
+    }
+
+    /**
+     * @param timeLimitMillis The time after which a search returns the best move found so far
+     */
+    public HintService(long timeLimitMillis) {
+        _timeLimitMillis = timeLimitMillis;
+        _table = new TranspositionTable(DEFAULT_TABLE_MEGABYTES);
+        _executor = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    /**
+     * Sets the rules the following searches play by, which must be the rules of the game
+     *
+     * @param rules The rules
+     */
+    public synchronized void setRules(Rules rules) {
+        _rules = rules;
+    }
+
+    /**
+     * Starts searching a hint for a position and cancels the previous search
+     *
+     * @param snapshot The position
+     * @param lastMove The move that led to the position or {@link Move#NONE}
+     * @return The best move, or {@link Move#NONE} if there is none, once the search is done.
+     * The future is cancelled if the search is cancelled.
+     */
+    public synchronized CompletableFuture<Integer> findHint(BoardSnapshot snapshot, int lastMove) {
+        cancel();
+        CompletableFuture<Integer> hint = new CompletableFuture<>();
+        _hint = hint;
+        Rules rules = _rules;
+        _search = _executor.submit(() -> {
+            KlondikeSolver solver = new KlondikeSolver(Long.MAX_VALUE, _timeLimitMillis,
+                    KlondikeSolver.DEFAULT_MAX_DEPTH, _table);
+            solver.setRules(rules);
+            int move = solver.findHint(snapshot, lastMove);
+            if (!Thread.currentThread().isInterrupted()) {
+                hint.complete(move);
+            }
+        });
+        return hint;
+    }
+
+    /**
+     * Cancels the current search, if there is one
+     */
+    public synchronized void cancel() {
+        if (_search != null) {
+            _search.cancel(true);
+            _hint.cancel(false);
+            _search = null;
+            _hint = null;
+        }
+    }
+
+    @Override
+    public void close() {
+        cancel();
+        _executor.shutdownNow();
+    }
+}
@@ -0,0 +1,329 @@
+package solver;
+
+import controller.KlondikeEngine;
+import controller.Move;
+import controller.Rules;
+import model.BoardSnapshot;
+import model.ICardHolder;
+import model.PackedCard;
+import model.Tableau;
+
+/**
+ * Depth-first search over the moves of a {@link KlondikeEngine}.
+ * Moves are applied and undone on a single engine, so the search does not copy positions.
+ * Positions that were searched without a win are remembered in a {@link TranspositionTable},
+ * so positions reached again over another order of moves are not searched twice.
+ * A solver is not thread safe, every thread needs its own solver, but solvers can share a table.
+ */
+public final class KlondikeSolver {
+    public static final long DEFAULT_MAX_NODES = 1_000_000;
+    public static final long DEFAULT_TIME_LIMIT_MILLIS = 10_000;
+    public static final int DEFAULT_MAX_DEPTH = 400;
+    public static final int DEFAULT_TABLE_MEGABYTES = 8;
+
+    // move priorities, moves from PROGRESS upwards count as progress
+    private static final int TO_FOUNDATION = 6;
+    private static final int TURNS_OVER = 5;
+    private static final int FROM_DISCARD_PILE = 4;
+    private static final int EMPTIES_TABLEAU = 3;
+    private static final int PROGRESS = EMPTIES_TABLEAU;
+    private static final int DRAW = 2;
+    private static final int RE_DEAL = 1;
+    private static final int FROM_FOUNDATION = 0;
+    private static final int SHIFTS_RUN = -1;
+
+    // positions are searched differently depending on whether a re-deal is allowed
+    private static final long PROGRESSED_KEY = 0x9E3779B97F4A7C15L;
+
+    private final KlondikeEngine _engine;
+    private final TranspositionTable _table;
+    private final boolean _isTableShared;
+    private final long _maxNodes;
+    private final long _timeLimitNanos;
+    private final int _maxDepth;
+    private final int[][] _moves;
+    private final int[][] _priorities;
+    private long _nodes;
+    private long _deadline;
+    private boolean _isAborted;
+    private boolean _isCutOff;
+
+    /**
+     * Creates a solver with the default limits
+     */
+    public KlondikeSolver() {
+        this(DEFAULT_MAX_NODES, DEFAULT_TIME_LIMIT_MILLIS, DEFAULT_MAX_DEPTH);
+    }
+
+    /**
+     * Creates a solver with the given limits and its own transposition table,
+     * which is cleared before every deal, so the result of a deal does not depend on earlier deals
+     *
+     * @param maxNodes        The number of positions after which a deal is given up
+     * @param timeLimitMillis The time after which a deal is given up
+     * @param maxDepth        The number of moves after which a line of play is given up
+     */
+    public KlondikeSolver(long maxNodes, long timeLimitMillis, int maxDepth) {
+        this(maxNodes, timeLimitMillis, maxDepth, new TranspositionTable(DEFAULT_TABLE_MEGABYTES), false);
+    }
+
+    /**
+     * Creates a solver with the given limits that shares a transposition table with other solvers.
+     * The table is never cleared by the solver.
+     *
+     * @param maxNodes        The number of positions after which a deal is given up
+     * @param timeLimitMillis The time after which a deal is given up
+     * @param maxDepth        The number of moves after which a line of play is given up
+     * @param table           The shared table
+     */
+    public KlondikeSolver(long maxNodes, long timeLimitMillis, int maxDepth, TranspositionTable table) {
+        this(maxNodes, timeLimitMillis, maxDepth, table, true);
+    }
+
+    private KlondikeSolver(long maxNodes, long timeLimitMillis, int maxDepth, TranspositionTable table,
+                           boolean isTableShared) {
+        _engine = new KlondikeEngine();
+        _table = table;
+        _isTableShared = isTableShared;
+        _maxNodes = maxNodes;
+        _timeLimitNanos = timeLimitMillis * 1_000_000;
+        _maxDepth = maxDepth;
+        _moves = new int[maxDepth][];
+        _priorities = new int[maxDepth][];
+    }
+
+    /**
+     * Solves the deal belonging to a seed
+     *
+     * @param seed The seed of the deal
+     * @return WINNABLE if a winning line was found, UNWINNABLE if every line was searched
+     * and TIMEOUT if the search had to stop early
+     * @see KlondikeEngine#deal(long)
+     */
+    public SolveResult solve(long seed) {
+        _engine.deal(seed);
+        if (!_isTableShared) {
+            _table.clear();
+        }
+        _nodes = 0;
+        _isAborted = false;
+        _isCutOff = false;
+        _deadline = System.nanoTime() + _timeLimitNanos;
+
+        SolveResult.Status status;
+        if (search(0, Move.NONE, true)) {
+            status = SolveResult.Status.WINNABLE;
+        } else if (_isAborted || _isCutOff) {
+            status = SolveResult.Status.TIMEOUT;
+        } else {
+            status = SolveResult.Status.UNWINNABLE;
+        }
+        return new SolveResult(seed, status, _nodes);
+    }
+
+    /**
+     * Finds the best move of a position: the first move of a winning line if one is found within the limits,
+     * otherwise the most promising move.
+     * The search also stops early if the thread is interrupted.
+     *
+     * @param snapshot The position, see {@link KlondikeEngine#snapshot()}
+     * @param lastMove The move that led to the position, which is not suggested back, or {@link Move#NONE}
+     * @return The best move or {@link Move#NONE} if there is no move
+     */
+    public int findHint(BoardSnapshot snapshot, int lastMove) {
+        _engine.load(snapshot);
+        if (!_isTableShared) {
+            _table.clear();
+        }
+        _nodes = 0;
+        _isAborted = false;
+        _isCutOff = false;
+        _deadline = System.nanoTime() + _timeLimitNanos;
+
+        if (_moves[0] == null) {
+            _moves[0] = new int[KlondikeEngine.MAX_MOVES];
+            _priorities[0] = new int[KlondikeEngine.MAX_MOVES];
+        }
+        int[] moves = _moves[0];
+        int count = orderMoves(moves, _priorities[0], _engine.legalMoves(moves), lastMove, true);
+        if (count == 0) {
+            return Move.NONE;
+        }
+        for (int i = 0; i < count && !_isAborted; i++) {
+            int move = moves[i];
+            _engine.apply(move);
+            boolean isWon = search(1, move, Move.to(move) != Move.DECK);
+            _engine.undo();
+            if (isWon) {
+                return move;
+            }
+        }
+        return moves[0];
+    }
+
+    /**
+     * Searches the current position of the engine.
+     * Every applied move is undone again before returning.
+     *
+     * @param depth          The number of moves applied since the deal
+     * @param lastMove       The move that led to this position
+     * @param hasProgressed  True if a card left the discard pile, reached a foundation or was turned over
+     *                       since the last re-deal
+     * @return True if the position can be won, false otherwise
+     */
+    private boolean search(int depth, int lastMove, boolean hasProgressed) {
+        _nodes++;
+        if (isTriviallyWon()) {
+            return true;
+        }
+        if (_nodes >= _maxNodes || ((_nodes & 0xFFF) == 0
+                && (System.nanoTime() > _deadline || Thread.currentThread().isInterrupted()))) {
+            _isAborted = true;
+            return false;
+        }
+        if (depth == _maxDepth) {
+            _isCutOff = true;
+            return false;
+        }
+
+        long key = hasProgressed ? _engine.getHash() ^ PROGRESSED_KEY : _engine.getHash();
+        int remainingDepth = _maxDepth - depth;
+        int storedDepth = _table.probe(key);
+        if (storedDepth >= remainingDepth) {
+            // a bounded entry was itself cut off, so this position is not decided either
+            _isCutOff |= storedDepth != TranspositionTable.UNBOUNDED;
+            return false;
+        }
+
+        if (_moves[depth] == null) {
+            _moves[depth] = new int[KlondikeEngine.MAX_MOVES];
+            _priorities[depth] = new int[KlondikeEngine.MAX_MOVES];
+        }
+        int[] moves = _moves[depth];
+        int[] priorities = _priorities[depth];
+        int count = orderMoves(moves, priorities, _engine.legalMoves(moves), lastMove, hasProgressed);
+
+        boolean wasCutOff = _isCutOff;
+        _isCutOff = false;
+        for (int i = 0; i < count; i++) {
+            int move = moves[i];
+            boolean isReDeal = Move.to(move) == Move.DECK;
+            boolean isProgress = priorities[i] >= PROGRESS;
+            _engine.apply(move);
+            boolean isWon = search(depth + 1, move, !isReDeal && (hasProgressed || isProgress));
+            _engine.undo();
+            if (isWon) {
+                return true;
+            }
+            if (_isAborted) {
+                return false;
+            }
+        }
+        int searchedDepth = Math.min(remainingDepth, TranspositionTable.UNBOUNDED - 1);
+        _table.store(key, _isCutOff ? searchedDepth : TranspositionTable.UNBOUNDED);
+        _isCutOff |= wasCutOff;
+        return false;
+    }
+
+    /**
+     * Sets the rules the following searches play by.
+     * Solvers that share a transposition table have to play by the same rules.
+     *
+     * @param rules The rules
+     */
+    public void setRules(Rules rules) {
+        _engine.setRules(rules);
+    }
+
+    /**
+     * @return The transposition table of this solver
+     */
+    public TranspositionTable getTable() {
+        return _table;
+    }
+
+    /**
+     * A position is won once the deck and discard pile are empty and every tableau card is face-up,
+     * since the remaining cards can then be moved to the foundations one after another.
+     */
+    private boolean isTriviallyWon() {
+        if (!_engine.getDeck().isEmpty() || !_engine.getDiscardPile().isEmpty()) {
+            return false;
+        }
+        for (Tableau tableau : _engine.getTableaus()) {
+            if (tableau.size() > 0 && !PackedCard.isFaceUp(tableau.cardCodeAt(0))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes moves that can not help and sorts the remaining moves, most promising first.
+     * Left out are only moves that lead back to a position that is already being searched:
+     * the move that would revert the last move and a re-deal without progress since the last re-deal,
+     * which deals the same deck again.
+     *
+     * @return The number of remaining moves
+     */
+    private int orderMoves(int[] moves, int[] priorities, int count, int lastMove, boolean hasProgressed) {
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            int move = moves[i];
+            int priority = priorityOf(move);
+            if (isReverse(move, lastMove) || (priority == RE_DEAL && !hasProgressed)) {
+                continue;
+            }
+            // insertion sort, the move lists are short
+            int j = kept++;
+            while (j > 0 && priorities[j - 1] < priority) {
+                moves[j] = moves[j - 1];
+                priorities[j] = priorities[j - 1];
+                j--;
+            }
+            moves[j] = move;
+            priorities[j] = priority;
+        }
+        return kept;
+    }
+
+    private static boolean isReverse(int move, int lastMove) {
+        return lastMove != Move.NONE
+                && Move.from(lastMove) < Move.DECK
+                && Move.from(move) == Move.to(lastMove)
+                && Move.to(move) == Move.from(lastMove)
+                && Move.count(move) == Move.count(lastMove);
+    }
+
+    /**
+     * Moves to the foundations come first, then moves that turn over a tableau card,
+     * then moves of the discard pile, moves that empty a tableau, drawing, re-dealing,
+     * moves that take a card back from a foundation and at last tableau moves that leave face-up cards behind.
+     * Those are still needed, e.g. to free a card for a foundation or for the top card of the discard pile.
+     */
+    private int priorityOf(int move) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        if (from == Move.DECK) {
+            return DRAW;
+        }
+        if (to == Move.DECK) {
+            return RE_DEAL;
+        }
+        if (Move.isFoundation(from)) {
+            return FROM_FOUNDATION;
+        }
+        if (Move.isFoundation(to)) {
+            return TO_FOUNDATION;
+        }
+        if (from == Move.DISCARD_PILE) {
+            return FROM_DISCARD_PILE;
+        }
+        ICardHolder origin = _engine.getPile(from);
+        int below = origin.size() - Move.count(move) - 1;
+        if (below < 0) {
+            return EMPTIES_TABLEAU;
+        }
+        return PackedCard.isFaceUp(origin.cardCodeAt(below)) ? SHIFTS_RUN : TURNS_OVER;
+    }
+}
@@ -0,0 +1,47 @@
+package solver;
+
+/**
+ * The result of solving a single deal.
+ */
+public final class SolveResult {
+    /**
+     * The outcome of a search.
+     * UNWINNABLE means that the search went through every line of play without finding a win;
+     * it only skips moves that lead back to a position it is already searching, see {@link KlondikeSolver}.
+     * TIMEOUT is used whenever the search stopped before it could decide the deal,
+     * either because it ran out of nodes or time or because it hit the depth limit.
+     */
+    public enum Status {
+        WINNABLE, UNWINNABLE, TIMEOUT
+    }
+
+    private final long _seed;
+    private final Status _status;
+    private final long _nodes;
+
+    public SolveResult(long seed, Status status, long nodes) {
+        _seed = seed;
+        _status = status;
+        _nodes = nodes;
+    }
+
+    public long getSeed() {
+        return _seed;
+    }
+
+    public Status getStatus() {
+        return _status;
+    }
+
+    /**
+     * @return The number of positions the search visited
+     */
+    public long getNodes() {
+        return _nodes;
+    }
+
+    @Override
+    public String toString() {
+        return _seed + " " + _status + " " + _nodes;
+    }
+}
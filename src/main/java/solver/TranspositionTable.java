@@ -0,0 +1,223 @@
+package solver;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A fixed size hash table of positions the solver has already searched without finding a win.
+ * Many solvers can share one table, positions are keyed by their Zobrist hash only,
+ * so a position reached in one deal is the same position in every other deal.
+ * <p>
+ * Every entry is a single long in a long[], which keeps the table free of objects and lets
+ * threads insert with a compare-and-set instead of a lock:
+ * bits 0-15 the age, bits 16-27 the depth and bits 32-63 the upper half of the key.
+ * The lower bits of the key select a bucket of {@value #BUCKET_SIZE} entries, which share a cache line.
+ * An entry is never 0, since the age of a search is never 0.
+ * <p>
+ * If a bucket is full, a new entry replaces the entry of an older search first
+ * and the entry with the smallest depth second.
+ * Two positions whose keys match in all bits used by the table are taken as the same position,
+ * which is rare enough to be ignored by the solver.
+ */
+public final class TranspositionTable {
+    /**
+     * The depth of a position that was searched without hitting the depth limit
+     */
+    public static final int UNBOUNDED = 0xFFF;
+
+    /**
+     * Returned by {@link #probe(long)} if the position is not in the table
+     */
+    public static final int MISS = -1;
+
+    private static final int BUCKET_SIZE = 4;
+    private static final int MAX_ENTRIES = 1 << 30;
+    private static final int MAX_AGE = 0xFFFF;
+    private static final VarHandle ENTRIES = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final long[] _entries;
+    private final int _bucketMask;
+    private final LongAdder _probes;
+    private final LongAdder _hits;
+    private final LongAdder _stores;
+    private final LongAdder _collisions;
+    private volatile int _age;
+
+    /**
+     * Creates a table that uses at most the given amount of memory.
+     * The number of entries is rounded down to a power of two.
+     *
+     * @param megabytes The memory the table may use
+     * @throws IllegalArgumentException if megabytes is smaller than 1
+     */
+    public TranspositionTable(int megabytes) {
+        if (megabytes < 1) {
+            throw new IllegalArgumentException("A transposition table needs at least 1 MB, got " + megabytes);
+        }
+        long entries = Math.min((long) megabytes * 1024 * 1024 / Long.BYTES, MAX_ENTRIES);
+        _entries = new long[(int) Long.highestOneBit(entries)];
+        _bucketMask = _entries.length - BUCKET_SIZE;
+        _probes = new LongAdder();
+        _hits = new LongAdder();
+        _stores = new LongAdder();
+        _collisions = new LongAdder();
+        _age = 1;
+    }
+
+    /**
+     * Looks up a position
+     *
+     * @param key The hash of the position
+     * @return The depth the position was stored with or {@link #MISS}
+     */
+    public int probe(long key) {
+        _probes.increment();
+        int bucket = (int) key & _bucketMask;
+        int check = (int) (key >>> 32);
+        for (int i = bucket; i < bucket + BUCKET_SIZE; i++) {
+            long entry = (long) ENTRIES.getOpaque(_entries, i);
+            if (entry != 0 && checkOf(entry) == check) {
+                _hits.increment();
+                return depthOf(entry);
+            }
+        }
+        return MISS;
+    }
+
+    /**
+     * Stores a position that was searched without finding a win.
+     * If the position is already stored, the larger depth is kept.
+     * Gives up silently if another thread changes the chosen entry at the same time.
+     *
+     * @param key   The hash of the position
+     * @param depth The number of moves that were searched from the position, or {@link #UNBOUNDED}
+     */
+    public void store(long key, int depth) {
+        int bucket = (int) key & _bucketMask;
+        int check = (int) (key >>> 32);
+        int age = _age;
+        int victim = bucket;
+        long victimEntry = 0;
+        int victimWorth = Integer.MAX_VALUE;
+        for (int i = bucket; i < bucket + BUCKET_SIZE; i++) {
+            long entry = (long) ENTRIES.getOpaque(_entries, i);
+            if (entry == 0) {
+                victim = i;
+                victimEntry = 0;
+                break;
+            }
+            if (checkOf(entry) == check) {
+                if (depthOf(entry) >= depth && ageOf(entry) == age) {
+                    return;
+                }
+                victim = i;
+                victimEntry = entry;
+                depth = Math.max(depth, depthOf(entry));
+                break;
+            }
+            // entries of the current search are worth more than any entry of an older search
+            int worth = (ageOf(entry) == age ? UNBOUNDED + 1 : 0) + depthOf(entry);
+            if (worth < victimWorth) {
+                victim = i;
+                victimEntry = entry;
+                victimWorth = worth;
+            }
+        }
+
+        long entry = (long) check << 32 | (long) Math.min(depth, UNBOUNDED) << 16 | age;
+        if (ENTRIES.compareAndSet(_entries, victim, victimEntry, entry)) {
+            _stores.increment();
+            if (victimEntry != 0 && checkOf(victimEntry) != check) {
+                _collisions.increment();
+            }
+        }
+    }
+
+    /**
+     * Starts a new search, entries of earlier searches stay valid but are replaced first
+     */
+    public synchronized void newSearch() {
+        _age = _age == MAX_AGE ? 1 : _age + 1;
+    }
+
+    /**
+     * Removes all entries and resets the statistics.
+     * Must not be called while other threads use the table.
+     */
+    public void clear() {
+        Arrays.fill(_entries, 0);
+        _probes.reset();
+        _hits.reset();
+        _stores.reset();
+        _collisions.reset();
+    }
+
+    /**
+     * @return The number of entries the table can hold
+     */
+    public int capacity() {
+        return _entries.length;
+    }
+
+    public long getProbes() {
+        return _probes.sum();
+    }
+
+    public long getHits() {
+        return _hits.sum();
+    }
+
+    /**
+     * @return The share of probes that found their position, 0 if there were no probes
+     */
+    public double getHitRate() {
+        long probes = getProbes();
+        return probes == 0 ? 0 : (double) getHits() / probes;
+    }
+
+    public long getStores() {
+        return _stores.sum();
+    }
+
+    /**
+     * @return The number of stores that replaced the entry of another position
+     */
+    public long getCollisions() {
+        return _collisions.sum();
+    }
+
+    /**
+     * Counts the used entries, which walks the whole table
+     *
+     * @return The share of used entries
+     */
+    public double getOccupancy() {
+        int used = 0;
+        for (int i = 0; i < _entries.length; i++) {
+            if ((long) ENTRIES.getOpaque(_entries, i) != 0) {
+                used++;
+            }
+        }
+        return (double) used / _entries.length;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d probes, %.1f%% hits, %d stores, %d collisions, %.1f%% of %d entries used",
+                getProbes(), getHitRate() * 100, getStores(), getCollisions(), getOccupancy() * 100, capacity());
+    }
+
+    private static int checkOf(long entry) {
+        return (int) (entry >>> 32);
+    }
+
+    private static int depthOf(long entry) {
+        return (int) (entry >>> 16) & UNBOUNDED;
+    }
+
+    private static int ageOf(long entry) {
+        return (int) entry & MAX_AGE;
+    }
+}
@@ -0,0 +1,470 @@
+package view;
+
+import listener.IBoardListener;
+import model.Card;
+import model.Deck;
+import model.DiscardPile;
+import model.Foundation;
+import model.ICardHolder;
+import model.PackedCard;
+import model.Tableau;
+import service.ImageLoader;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+import static view.DeckPanel.DECK;
+import static view.DiscardPilePanel.DISCARD_PILE;
+import static view.FoundationPanel.FOUNDATION;
+import static view.TableauPanel.TABLEAU;
+
+/**
+ * Paints the whole board in one component instead of nesting panels and card labels.
+ * Selected with {@code -Dsolitaire.renderer=canvas}, see {@link SolitaireView#isCanvasRenderer()}.
+ * <p>
+ * Every render places the visible cards into flat arrays in painting order, bottom to top,
+ * and only repaints the rectangles of cards that appeared, disappeared, moved or turned over.
+ * Hit-testing walks the same arrays from the top, so the mouse is handled without a component tree.
+ * A drag only moves an offset, the dragged cards are painted last at that offset
+ * and only the area they left and the area they entered are repainted.
+ */
+public class BoardCanvas extends JComponent {
+    public static final int CARD_WIDTH = 100;
+    public static final int CARD_HEIGHT = 144;
+    private static final int FAN_OFFSET = 30;
+    private static final int MARGIN = 20;
+    private static final int COLUMN_COUNT = 7;
+    private static final Color FELT = new Color(0, 128, 0);
+    private static final Color HINT = Color.YELLOW;
+    private static final int HINT_WIDTH = 3;
+
+    // slots in the order of the piles of the engine: tableaus, foundations, deck and discard pile
+    private static final int TABLEAU_COUNT = 7;
+    private static final int FOUNDATION_COUNT = 4;
+    private static final int DECK_SLOT = TABLEAU_COUNT + FOUNDATION_COUNT;
+    private static final int DISCARD_SLOT = DECK_SLOT + 1;
+    private static final int SLOT_COUNT = DISCARD_SLOT + 1;
+    private static final int NO_SLOT = PileGeometry.NONE;
+
+    private final int[] _slotX;
+    private final int[] _slotY;
+    private final PileGeometry _pileGeometry;
+    private int _layoutWidth;
+    private int _layoutHeight;
+
+    // the visible cards in painting order
+    private final byte[] _order;
+    private final int[] _slotEnd;
+    private int _count;
+
+    // location of each card by identity, for this and the previous render
+    private final byte[] _codeOf;
+    private final int[] _slotOf;
+    private final int[] _xOf;
+    private final int[] _yOf;
+    private final byte[] _previousCodeOf;
+    private final int[] _previousXOf;
+    private final int[] _previousYOf;
+    private boolean _deckEmpty;
+    private byte _hintCard;
+    private final Rectangle _dirty;
+
+    private BufferedImage _background;
+    private Deck _deck;
+    private DiscardPile _discardPile;
+    private Foundation[] _foundations;
+    private Tableau[] _tableaus;
+    private IBoardListener _boardListener;
+
+    // the dragged cards are _order[_dragStart] up to, not including, _order[_dragEnd]
+    private int _dragStart;
+    private int _dragEnd;
+    private int _pressX;
+    private int _pressY;
+    private int _dragX;
+    private int _dragY;
+    private boolean _hasBeenDragged;
+
+    public BoardCanvas() {
+        _slotX = new int[SLOT_COUNT];
+        _slotY = new int[SLOT_COUNT];
+        _pileGeometry = new PileGeometry(PileGeometry.DEFAULT_SNAP_TOLERANCE);
+        _layoutWidth = -1;
+        _order = new byte[PackedCard.CARD_COUNT];
+        _slotEnd = new int[SLOT_COUNT];
+        _codeOf = new byte[PackedCard.IDENTITY_COUNT];
+        _slotOf = new int[PackedCard.IDENTITY_COUNT];
+        _xOf = new int[PackedCard.IDENTITY_COUNT];
+        _yOf = new int[PackedCard.IDENTITY_COUNT];
+        _previousCodeOf = new byte[PackedCard.IDENTITY_COUNT];
+        _previousXOf = new int[PackedCard.IDENTITY_COUNT];
+        _previousYOf = new int[PackedCard.IDENTITY_COUNT];
+        _dirty = new Rectangle();
+        _dragStart = -1;
+        _dragEnd = -1;
+
+        setOpaque(true);
+        setPreferredSize(new Dimension(SolitaireView.SCREEN_WIDTH, SolitaireView.SCREEN_HEIGHT));
+        MouseHandler mouseHandler = new MouseHandler();
+        addMouseListener(mouseHandler);
+        addMouseMotionListener(mouseHandler);
+        addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                _background = null;
+                if (_deck != null) {
+                    render(_deck, _discardPile, _foundations, _tableaus);
+                }
+                repaint();
+            }
+        });
+    }
+
+    public void setBoardListener(IBoardListener boardListener) {
+        _boardListener = boardListener;
+    }
+
+    /**
+     * Places the cards of the current state of the game and repaints what changed since the last call
+     */
+    public void render(Deck deck, DiscardPile discardPile, Foundation[] foundations, Tableau[] tableaus) {
+        _deck = deck;
+        _discardPile = discardPile;
+        _foundations = foundations;
+        _tableaus = tableaus;
+        layoutSlots();
+        System.arraycopy(_codeOf, 0, _previousCodeOf, 0, _codeOf.length);
+        System.arraycopy(_xOf, 0, _previousXOf, 0, _xOf.length);
+        System.arraycopy(_yOf, 0, _previousYOf, 0, _yOf.length);
+        Arrays.fill(_codeOf, PackedCard.NONE);
+        _count = 0;
+        _dirty.setBounds(0, 0, 0, 0);
+
+        for (int i = 0; i < tableaus.length; i++) {
+            for (int position = 0; position < tableaus[i].size(); position++) {
+                place(tableaus[i].cardCodeAt(position), i, _slotX[i], _slotY[i] + position * FAN_OFFSET);
+            }
+            _slotEnd[i] = _count;
+        }
+        for (int i = 0; i < foundations.length; i++) {
+            placeTop(foundations[i], TABLEAU_COUNT + i);
+        }
+        placeTop(deck, DECK_SLOT);
+        placeTop(discardPile, DISCARD_SLOT);
+
+        if (deck.isEmpty() != _deckEmpty) {
+            _deckEmpty = deck.isEmpty();
+            addDirty(_slotX[DECK_SLOT], _slotY[DECK_SLOT], CARD_WIDTH, CARD_HEIGHT);
+        }
+        for (int identity = 0; identity < PackedCard.IDENTITY_COUNT; identity++) {
+            byte code = _codeOf[identity];
+            byte previous = _previousCodeOf[identity];
+            if (code == previous
+                    && (code == PackedCard.NONE
+                    || (_xOf[identity] == _previousXOf[identity] && _yOf[identity] == _previousYOf[identity]))) {
+                continue;
+            }
+            if (previous != PackedCard.NONE) {
+                addDirty(_previousXOf[identity], _previousYOf[identity], CARD_WIDTH, CARD_HEIGHT);
+            }
+            if (code != PackedCard.NONE) {
+                addDirty(_xOf[identity], _yOf[identity], CARD_WIDTH, CARD_HEIGHT);
+            }
+        }
+        if (!_dirty.isEmpty()) {
+            repaint(_dirty);
+        }
+    }
+
+    /**
+     * Highlights the card a hint suggests to move, as long as it is visible
+     *
+     * @param card The packed card, {@link PackedCard#NONE} to remove the highlight
+     */
+    public void showHint(byte card) {
+        repaintHint();
+        _hintCard = card;
+        repaintHint();
+    }
+
+    private void repaintHint() {
+        if (_hintCard != PackedCard.NONE) {
+            int identity = PackedCard.identity(_hintCard);
+            repaint(_xOf[identity] - HINT_WIDTH, _yOf[identity] - HINT_WIDTH,
+                    CARD_WIDTH + 2 * HINT_WIDTH, CARD_HEIGHT + 2 * HINT_WIDTH);
+        }
+    }
+
+    /**
+     * @return The area repainted by the last render, empty if nothing changed
+     */
+    Rectangle getDirtyRegion() {
+        return new Rectangle(_dirty);
+    }
+
+    /**
+     * Finds the topmost card at a point
+     *
+     * @return The index of the card in painting order or -1 if there is no card
+     */
+    int indexAt(int x, int y) {
+        for (int i = _count - 1; i >= 0; i--) {
+            int identity = PackedCard.identity(_order[i]);
+            if (x >= _xOf[identity] && x < _xOf[identity] + CARD_WIDTH
+                    && y >= _yOf[identity] && y < _yOf[identity] + CARD_HEIGHT) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return The packed card at the given index in painting order
+     */
+    byte cardAt(int index) {
+        return _order[index];
+    }
+
+    /**
+     * Finds the tableau or foundation a card dropped at a point lands on.
+     * A tableau takes its whole column below the top row, a foundation its slot, both with the snap tolerance.
+     *
+     * @return The slot or -1 if the point is not over a tableau or foundation
+     */
+    int dropSlotAt(int x, int y) {
+        return _pileGeometry.targetAt(x, y);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+        if (_background == null) {
+            layoutSlots();
+            _background = createBackground();
+        }
+        g.drawImage(_background, clip.x, clip.y, clip.x + clip.width, clip.y + clip.height,
+                clip.x, clip.y, clip.x + clip.width, clip.y + clip.height, null);
+
+        if (_deckEmpty) {
+            g.drawImage(ImageLoader.redrawImage(), _slotX[DECK_SLOT], _slotY[DECK_SLOT], null);
+        }
+        for (int i = 0; i < _count; i++) {
+            if (i < _dragStart || i >= _dragEnd) {
+                paintCard(g, clip, _order[i], 0, 0);
+            }
+        }
+        for (int i = Math.max(_dragStart, 0); i < _dragEnd; i++) {
+            paintCard(g, clip, _order[i], _dragX, _dragY);
+        }
+        if (_hintCard != PackedCard.NONE && _codeOf[PackedCard.identity(_hintCard)] != PackedCard.NONE) {
+            int identity = PackedCard.identity(_hintCard);
+            Graphics2D graphics = (Graphics2D) g;
+            Stroke stroke = graphics.getStroke();
+            graphics.setColor(HINT);
+            graphics.setStroke(new BasicStroke(HINT_WIDTH));
+            graphics.drawRoundRect(_xOf[identity], _yOf[identity], CARD_WIDTH, CARD_HEIGHT, 8, 8);
+            graphics.setStroke(stroke);
+        }
+    }
+
+    private void paintCard(Graphics g, Rectangle clip, byte card, int offsetX, int offsetY) {
+        int identity = PackedCard.identity(card);
+        int x = _xOf[identity] + offsetX;
+        int y = _yOf[identity] + offsetY;
+        if (x < clip.x + clip.width && x + CARD_WIDTH > clip.x && y < clip.y + clip.height && y + CARD_HEIGHT > clip.y) {
+            g.drawImage(ImageLoader.cardImage(card), x, y, null);
+        }
+    }
+
+    /**
+     * Computes the position of every pile from the current width, if the size changed since the last call.
+     * Foundations take the first four columns of the top row, the discard pile and the deck the last two.
+     */
+    private void layoutSlots() {
+        if (getWidth() == _layoutWidth && getHeight() == _layoutHeight) {
+            return;
+        }
+        _layoutWidth = getWidth();
+        _layoutHeight = getHeight();
+        int columnWidth = Math.max(getWidth() / COLUMN_COUNT, CARD_WIDTH);
+        int inset = (columnWidth - CARD_WIDTH) / 2;
+        int tableauY = MARGIN * 3 + CARD_HEIGHT;
+        for (int i = 0; i < TABLEAU_COUNT; i++) {
+            _slotX[i] = i * columnWidth + inset;
+            _slotY[i] = tableauY;
+        }
+        for (int i = 0; i < FOUNDATION_COUNT; i++) {
+            _slotX[TABLEAU_COUNT + i] = i * columnWidth + inset;
+            _slotY[TABLEAU_COUNT + i] = MARGIN;
+        }
+        _slotX[DISCARD_SLOT] = 5 * columnWidth + inset;
+        _slotY[DISCARD_SLOT] = MARGIN;
+        _slotX[DECK_SLOT] = 6 * columnWidth + inset;
+        _slotY[DECK_SLOT] = MARGIN;
+
+        Rectangle[] tableauBounds = new Rectangle[TABLEAU_COUNT];
+        for (int i = 0; i < TABLEAU_COUNT; i++) {
+            tableauBounds[i] = new Rectangle(i * columnWidth, tableauY - MARGIN, columnWidth,
+                    Math.max(getHeight() - tableauY + MARGIN, CARD_HEIGHT));
+        }
+        Rectangle[] foundationBounds = new Rectangle[FOUNDATION_COUNT];
+        for (int i = 0; i < FOUNDATION_COUNT; i++) {
+            foundationBounds[i] = new Rectangle(_slotX[TABLEAU_COUNT + i], MARGIN, CARD_WIDTH, CARD_HEIGHT);
+        }
+        _pileGeometry.rebuild(getWidth(), getHeight(), tableauBounds, foundationBounds);
+    }
+
+    private BufferedImage createBackground() {
+        BufferedImage background = new BufferedImage(Math.max(getWidth(), 1), Math.max(getHeight(), 1),
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = background.createGraphics();
+        graphics.setColor(FELT);
+        graphics.fillRect(0, 0, background.getWidth(), background.getHeight());
+        graphics.setColor(Color.BLACK);
+        graphics.setStroke(new BasicStroke(3));
+        for (int slot = 0; slot < SLOT_COUNT; slot++) {
+            graphics.drawRoundRect(_slotX[slot], _slotY[slot], CARD_WIDTH, CARD_HEIGHT, 8, 8);
+        }
+        graphics.dispose();
+        return background;
+    }
+
+    private void placeTop(ICardHolder pile, int slot) {
+        if (!pile.isEmpty()) {
+            place(pile.peekCardCode(), slot, _slotX[slot], _slotY[slot]);
+        }
+        _slotEnd[slot] = _count;
+    }
+
+    private void place(byte card, int slot, int x, int y) {
+        int identity = PackedCard.identity(card);
+        _order[_count++] = card;
+        _codeOf[identity] = card;
+        _slotOf[identity] = slot;
+        _xOf[identity] = x;
+        _yOf[identity] = y;
+    }
+
+    /**
+     * Adds an area to the dirty region, with a pixel to spare, as some card images are a pixel wider
+     */
+    private void addDirty(int x, int y, int width, int height) {
+        if (_dirty.isEmpty()) {
+            _dirty.setBounds(x - 1, y - 1, width + 2, height + 2);
+        } else {
+            _dirty.add(new Rectangle(x - 1, y - 1, width + 2, height + 2));
+        }
+    }
+
+    /**
+     * Repaints the area of the dragged cards at the current drag offset
+     */
+    private void repaintDragged() {
+        int first = PackedCard.identity(_order[_dragStart]);
+        int last = PackedCard.identity(_order[_dragEnd - 1]);
+        repaint(_xOf[first] + _dragX, _yOf[first] + _dragY,
+                CARD_WIDTH, _yOf[last] - _yOf[first] + CARD_HEIGHT);
+    }
+
+    private static String sourceOf(int slot) {
+        if (slot < TABLEAU_COUNT) {
+            return TABLEAU;
+        }
+        if (slot < DECK_SLOT) {
+            return FOUNDATION;
+        }
+        return slot == DECK_SLOT ? DECK : DISCARD_PILE;
+    }
+
+    /**
+     * Turns the mouse events of the canvas into clicks, drags and drops
+     */
+    private final class MouseHandler extends MouseAdapter {
+        private int _pressedIndex = -1;
+        private boolean _redrawPressed;
+
+        @Override
+        public void mousePressed(MouseEvent e) {
+            _pressX = e.getX();
+            _pressY = e.getY();
+            _hasBeenDragged = false;
+            _pressedIndex = indexAt(e.getX(), e.getY());
+            _redrawPressed = _pressedIndex < 0 && _deckEmpty
+                    && new Rectangle(_slotX[DECK_SLOT], _slotY[DECK_SLOT], CARD_WIDTH, CARD_HEIGHT).contains(e.getPoint());
+            if (_pressedIndex < 0) {
+                return;
+            }
+            byte card = _order[_pressedIndex];
+            int slot = _slotOf[PackedCard.identity(card)];
+            if (!PackedCard.isFaceUp(card) && slot != DECK_SLOT) {
+                _pressedIndex = -1;
+                return;
+            }
+            if (slot != DECK_SLOT) {
+                _dragStart = _pressedIndex;
+                _dragEnd = slot < TABLEAU_COUNT ? _slotEnd[slot] : _pressedIndex + 1;
+                _dragX = 0;
+                _dragY = 0;
+            }
+        }
+
+        @Override
+        public void mouseDragged(MouseEvent e) {
+            if (_dragStart < 0) {
+                return;
+            }
+            _hasBeenDragged = true;
+            repaintDragged();
+            _dragX = e.getX() - _pressX;
+            _dragY = e.getY() - _pressY;
+            repaintDragged();
+        }
+
+        @Override
+        public void mouseReleased(MouseEvent e) {
+            int pressedIndex = _pressedIndex;
+            _pressedIndex = -1;
+            if (_redrawPressed) {
+                _redrawPressed = false;
+                if (_boardListener != null) {
+                    _boardListener.onRedraw();
+                }
+                return;
+            }
+            if (pressedIndex < 0) {
+                return;
+            }
+            byte card = _order[pressedIndex];
+            int slot = _slotOf[PackedCard.identity(card)];
+            int dropSlot = NO_SLOT;
+            if (_dragStart >= 0) {
+                repaintDragged();
+                int identity = PackedCard.identity(card);
+                dropSlot = dropSlotAt(_xOf[identity] + _dragX + CARD_WIDTH / 2, _yOf[identity] + _dragY + CARD_HEIGHT / 2);
+                _dragStart = -1;
+                _dragEnd = -1;
+                repaint(_xOf[identity], _yOf[identity], CARD_WIDTH, getHeight() - _yOf[identity]);
+            }
+            if (_boardListener == null) {
+                return;
+            }
+            if (!_hasBeenDragged) {
+                _boardListener.onCardClicked(new Card(card), sourceOf(slot));
+            } else if (dropSlot != NO_SLOT && dropSlot != slot) {
+                boolean toTableau = dropSlot < TABLEAU_COUNT;
+                _boardListener.onCardDropped(new Card(card), toTableau ? dropSlot : dropSlot - TABLEAU_COUNT,
+                        toTableau ? TABLEAU : FOUNDATION);
+            }
+            _hasBeenDragged = false;
+        }
+    }
+}
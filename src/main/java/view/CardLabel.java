@@ -1,115 +1,97 @@
 package view;
 
-import listener.ICardDraggedListener;
-import listener.ICardPressedListener;
-import listener.ICardReleasedListener;
-import model.Card;
+import model.PackedCard;
 import service.ImageLoader;
 
 import javax.swing.*;
 import java.awt.*;
-import java.awt.event.MouseAdapter;
-import java.awt.event.MouseEvent;
 
+/**
+ * The label of one of the 52 cards.
+ * Every card has exactly one label, owned by a {@link CardLabelPool},
+ * which is bound to the current state and pile of its card whenever the card is rendered.
+ */
 public class CardLabel {
     private final JLabel _cardLabel;
-    private ICardPressedListener _cardPressedListener;
-    private ICardReleasedListener _cardReleasedListener;
-    private ICardDraggedListener _cardDraggedListener;
-    public static final String CARD_BACK_PATH = "src/main/resources/back/card_back.png";
+    private byte _card;
+    private String _source;
+    private Container _parentContainer;
 
-    public CardLabel(Card card, String source, Container parentContainer) {
+    CardLabel(CardLabelPool.MouseHandler mouseHandler) {
         _cardLabel = new JLabel();
-        setCardLabelIcon(card);
-
-        if (card.isVisible() || source.equals(DeckPanel.DECK)) {
-            addMouseListener(card, source, parentContainer);
-        }
+        _cardLabel.putClientProperty(CardLabel.class, this);
+        _cardLabel.addMouseListener(mouseHandler);
+        _cardLabel.addMouseMotionListener(mouseHandler);
+        _card = PackedCard.NONE;
     }
 
     /**
-     * Returns the JLabel representing the card
+     * Returns the card label that owns the given component
      *
-     * @return The JLabel of the card
+     * @param component The component of a mouse event
+     * @return The card label or null if the component is no card label
      */
-    public JLabel getCardLabel() {
-        return _cardLabel;
+    static CardLabel of(Component component) {
+        if (component instanceof JLabel label) {
+            return (CardLabel) label.getClientProperty(CardLabel.class);
+        }
+        return null;
     }
 
     /**
-     * Sets the icon of a card label based on the visibility of the card
+     * Binds the label to the current state of its card.
+     * The icon is only replaced if the visibility of the card changed.
      *
-     * @param card      The card to get the icon from
+     * @param card            The packed card
+     * @param source          The source of the card
+     * @param parentContainer The container in which the card is placed
      */
-    private void setCardLabelIcon(Card card) {
-        if (card.isVisible()) {
-            String fileName = "src/main/resources/" + card.getSuit() + "/" + card.getRank() + "_" + card.getSuit() + ".png";
-            _cardLabel.setIcon(ImageLoader.loadCardImage(fileName));
-        } else {
-            _cardLabel.setIcon(ImageLoader.loadCardImage(CARD_BACK_PATH));
+    void bind(byte card, String source, Container parentContainer) {
+        if (card != _card) {
+            _cardLabel.setIcon(ImageLoader.cardIcon(card));
+            _card = card;
         }
+        _source = source;
+        _parentContainer = parentContainer;
     }
 
     /**
-     * Adds mouse listeners to a card label
+     * Checks if the label reacts to the mouse.
+     * Only face-up cards and the top card of the deck do.
      *
-     * @param card            The card that the label represents
-     * @param source          The source of the card
-     * @param parentContainer The container in which the card is placed
+     * @return True if the label reacts to the mouse, false otherwise
      */
-    private void addMouseListener(Card card, String source, Container parentContainer) {
-        _cardLabel.addMouseListener(new MouseAdapter() {
-            @Override
-            public void mousePressed(MouseEvent e) {
-                //handleMousePressed(e, _cardLabel, source, parentContainer);
-                if (_cardPressedListener != null) {
-                    _cardPressedListener.onCardPressed(e, _cardLabel, source, parentContainer);
-                }
-            }
-
-            @Override
-            public void mouseReleased(MouseEvent e) {
-                //handleMouseReleased(card, source, parentContainer);
-                if (_cardReleasedListener != null) {
-                    _cardReleasedListener.onCardReleased(card, source, parentContainer);
-                }
-            }
-        });
-
-        _cardLabel.addMouseMotionListener(new MouseAdapter() {
-            @Override
-            public void mouseDragged(MouseEvent e) {
-                //handleMouseDragged(e, source);
-                if (_cardDraggedListener != null) {
-                    _cardDraggedListener.onCardDragged(e, source);
-                }
-            }
-        });
+    boolean isInteractive() {
+        return PackedCard.isFaceUp(_card) || DeckPanel.DECK.equals(_source);
     }
 
-    public void setListeners(ICardPressedListener pressedListener,
-                             ICardReleasedListener releasedListener,
-                             ICardDraggedListener draggedListener) {
-        if (pressedListener != null) {
-            setCardPressedListener(pressedListener);
-        }
-        if (releasedListener != null) {
-            setCardReleasedListener(releasedListener);
-        }
-        if (draggedListener != null) {
-            setCardDraggedListener(draggedListener);
-        }
+    /**
+     * Returns the JLabel representing the card
+     *
+     * @return The JLabel of the card
+     */
+    public JLabel getCardLabel() {
+        return _cardLabel;
     }
 
-    public void setCardPressedListener(ICardPressedListener listener) {
-        _cardPressedListener = listener;
+    /**
+     * @return The packed card the label is bound to
+     */
+    public byte getCard() {
+        return _card;
     }
 
-    public void setCardReleasedListener(ICardReleasedListener listener) {
-        _cardReleasedListener = listener;
+    /**
+     * @return The source of the card the label is bound to
+     */
+    public String getSource() {
+        return _source;
     }
 
-    public void setCardDraggedListener(ICardDraggedListener listener) {
-        _cardDraggedListener = listener;
+    /**
+     * @return The container the label was placed in when it was bound
+     */
+    public Container getParentContainer() {
+        return _parentContainer;
     }
 }
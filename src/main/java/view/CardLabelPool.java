@@ -0,0 +1,114 @@
+package view;
+
+import listener.ICardDraggedListener;
+import listener.ICardPressedListener;
+import listener.ICardReleasedListener;
+import model.Card;
+import model.PackedCard;
+
+import javax.swing.*;
+import javax.swing.border.Border;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+
+/**
+ * Holds one {@link CardLabel} per card, indexed by card identity.
+ * The panels rebind these labels instead of creating new ones, so rendering allocates no components,
+ * listeners or icons.
+ * All labels share one mouse handler that forwards the events of interactive labels to the card listeners.
+ */
+public final class CardLabelPool {
+    private static final Border HINT_BORDER = BorderFactory.createLineBorder(Color.YELLOW, 3);
+
+    private final CardLabel[] _labels;
+    private final MouseHandler _mouseHandler;
+    private ICardPressedListener _cardPressedListener;
+    private ICardReleasedListener _cardReleasedListener;
+    private ICardDraggedListener _cardDraggedListener;
+    private CardLabel _highlighted;
+
+    CardLabelPool() {
+        _mouseHandler = new MouseHandler();
+        _labels = new CardLabel[PackedCard.IDENTITY_COUNT];
+        for (Card.Suit suit : Card.Suit.values()) {
+            for (int rank = 1; rank <= 13; rank++) {
+                _labels[PackedCard.identity(PackedCard.of(suit, rank))] = new CardLabel(_mouseHandler);
+            }
+        }
+    }
+
+    /**
+     * Binds the label of a card to the card's current state and pile
+     *
+     * @param card            The packed card
+     * @param source          The source of the card
+     * @param parentContainer The container the label is placed in
+     * @return The label of the card
+     */
+    CardLabel bind(byte card, String source, Container parentContainer) {
+        CardLabel cardLabel = _labels[PackedCard.identity(card)];
+        cardLabel.bind(card, source, parentContainer);
+        return cardLabel;
+    }
+
+    /**
+     * Draws a border around the label of a card and removes it from the previously highlighted label
+     *
+     * @param card The packed card, {@link PackedCard#NONE} to only remove the border
+     */
+    void highlight(byte card) {
+        if (_highlighted != null) {
+            _highlighted.getCardLabel().setBorder(null);
+            _highlighted = null;
+        }
+        if (card != PackedCard.NONE) {
+            _highlighted = _labels[PackedCard.identity(card)];
+            _highlighted.getCardLabel().setBorder(HINT_BORDER);
+        }
+    }
+
+    void setListeners(ICardPressedListener pressedListener,
+                      ICardReleasedListener releasedListener,
+                      ICardDraggedListener draggedListener) {
+        _cardPressedListener = pressedListener;
+        _cardReleasedListener = releasedListener;
+        _cardDraggedListener = draggedListener;
+    }
+
+    /**
+     * The mouse handler of all card labels
+     */
+    final class MouseHandler extends MouseAdapter {
+        @Override
+        public void mousePressed(MouseEvent e) {
+            CardLabel cardLabel = interactiveLabel(e);
+            if (cardLabel != null && _cardPressedListener != null) {
+                _cardPressedListener.onCardPressed(e, cardLabel.getCardLabel(), cardLabel.getSource(),
+                        cardLabel.getParentContainer());
+            }
+        }
+
+        @Override
+        public void mouseReleased(MouseEvent e) {
+            CardLabel cardLabel = interactiveLabel(e);
+            if (cardLabel != null && _cardReleasedListener != null) {
+                _cardReleasedListener.onCardReleased(new Card(cardLabel.getCard()), cardLabel.getSource(),
+                        cardLabel.getParentContainer());
+            }
+        }
+
+        @Override
+        public void mouseDragged(MouseEvent e) {
+            CardLabel cardLabel = interactiveLabel(e);
+            if (cardLabel != null && _cardDraggedListener != null) {
+                _cardDraggedListener.onCardDragged(e, cardLabel.getSource());
+            }
+        }
+
+        private CardLabel interactiveLabel(MouseEvent e) {
+            CardLabel cardLabel = CardLabel.of(e.getComponent());
+            return cardLabel != null && cardLabel.isInteractive() ? cardLabel : null;
+        }
+    }
+}
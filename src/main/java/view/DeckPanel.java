@@ -1,8 +1,5 @@
 package view;
 
-import listener.ICardDraggedListener;
-import listener.ICardPressedListener;
-import listener.ICardReleasedListener;
 import model.Deck;
 import service.ImageLoader;
 
@@ -20,14 +17,14 @@ import static view.SolitaireView.SCREEN_WIDTH;
 public class DeckPanel {
 
     private final JPanel _deckPanel;
+    private final PileSnapshot _rendered;
+    private final JLabel _redrawLabel;
     private ActionListener _redrawListener;
-    private ICardPressedListener _cardPressedListener;
-    private ICardReleasedListener _cardReleasedListener;
-    private ICardDraggedListener _cardDraggedListener;
+    private final CardLabelPool _cardLabels;
     public static final String DECK = "Deck";
-    public static final String REDRAW_IMAGE_PATH = "src/main/resources/redraw/refresh.png";
 
-    public DeckPanel() {
+    public DeckPanel(CardLabelPool cardLabels) {
+        _cardLabels = cardLabels;
         _deckPanel = new JPanel();
         _deckPanel.setPreferredSize(new Dimension(SCREEN_WIDTH / 8, (int) (SCREEN_HEIGHT * 0.25)));
         TitledBorder titledBorder = BorderFactory.createTitledBorder(DECK);
@@ -37,17 +34,34 @@ public class DeckPanel {
 
         _deckPanel.setBorder(titledBorder);
         _deckPanel.setBackground(new Color(0, 128, 0));
+        _rendered = new PileSnapshot();
+        _redrawLabel = createRedrawLabel();
     }
 
+    /**
+     * Renders the top card of the deck, or the redraw button, if the deck changed since the last call
+     */
     public void renderDeck(Deck deck) {
+        if (_rendered.firstChange(deck) == PileSnapshot.UNCHANGED) {
+            return;
+        }
+        _deckPanel.removeAll();
         if (deck.isEmpty()) {
-            JLabel redrawLabel = createRedrawLabel();
-            _deckPanel.add(redrawLabel);
+            _deckPanel.add(_redrawLabel);
         } else {
-            CardLabel cardLabel = new CardLabel(deck.peek(), DECK, _deckPanel);
-            cardLabel.setListeners(_cardPressedListener, _cardReleasedListener, _cardDraggedListener);
+            CardLabel cardLabel = _cardLabels.bind(deck.peekCardCode(), DECK, _deckPanel);
             _deckPanel.add(cardLabel.getCardLabel());
         }
+        _deckPanel.revalidate();
+        _deckPanel.repaint();
+        _rendered.update(deck);
+    }
+
+    /**
+     * Renders the deck again on the next call of {@link #renderDeck(Deck)}
+     */
+    public void invalidate() {
+        _rendered.invalidate();
     }
 
     /**
@@ -57,7 +71,7 @@ public class DeckPanel {
      */
     private JLabel createRedrawLabel() {
         JLabel redrawLabel = new JLabel();
-        redrawLabel.setIcon(ImageLoader.loadCardImage(REDRAW_IMAGE_PATH));
+        redrawLabel.setIcon(ImageLoader.redrawIcon());
         redrawLabel.addMouseListener(new MouseAdapter() {
             @Override
             public void mouseClicked(MouseEvent e) {
@@ -71,15 +85,6 @@ public class DeckPanel {
         _redrawListener = listener;
     }
 
-    public void setCardListeners(ICardPressedListener pressedListener,
-                                 ICardReleasedListener releasedListener,
-                                 ICardDraggedListener draggedListener) {
-
-        _cardPressedListener = pressedListener;
-        _cardReleasedListener = releasedListener;
-        _cardDraggedListener = draggedListener;
-    }
-
     /**
      * Gets the deck panel.
      *
@@ -1,8 +1,5 @@
 package view;
 
-import listener.ICardDraggedListener;
-import listener.ICardPressedListener;
-import listener.ICardReleasedListener;
 import model.DiscardPile;
 
 import javax.swing.*;
@@ -15,12 +12,12 @@ import static view.SolitaireView.SCREEN_WIDTH;
 
 public class DiscardPilePanel {
     private final JPanel _discardPilePanel;
-    private ICardPressedListener _cardPressedListener;
-    private ICardReleasedListener _cardReleasedListener;
-    private ICardDraggedListener _cardDraggedListener;
+    private final PileSnapshot _rendered;
+    private final CardLabelPool _cardLabels;
     public static final String DISCARD_PILE = "Discard Pile";
 
-    public DiscardPilePanel() {
+    public DiscardPilePanel(CardLabelPool cardLabels) {
+        _cardLabels = cardLabels;
         _discardPilePanel = new JPanel();
         _discardPilePanel.setPreferredSize(new Dimension(SCREEN_WIDTH / 8, (int) (SCREEN_HEIGHT * 0.25)));
         TitledBorder titledBorder = BorderFactory.createTitledBorder(DISCARD_PILE);
@@ -30,23 +27,31 @@ public class DiscardPilePanel {
 
         _discardPilePanel.setBorder(titledBorder);
         _discardPilePanel.setBackground(new Color(0, 128, 0));
+        _rendered = new PileSnapshot();
     }
 
+    /**
+     * Renders the top card of the discard pile if the pile changed since the last call
+     */
     public void renderDiscardPile(DiscardPile discardPile) {
+        if (_rendered.firstChange(discardPile) == PileSnapshot.UNCHANGED) {
+            return;
+        }
+        _discardPilePanel.removeAll();
         if (!discardPile.isEmpty()) {
-            CardLabel cardLabel = new CardLabel(discardPile.peek(), DISCARD_PILE, _discardPilePanel);
-            cardLabel.setListeners(_cardPressedListener, _cardReleasedListener, _cardDraggedListener);
+            CardLabel cardLabel = _cardLabels.bind(discardPile.peekCardCode(), DISCARD_PILE, _discardPilePanel);
             _discardPilePanel.add(cardLabel.getCardLabel());
         }
+        _discardPilePanel.revalidate();
+        _discardPilePanel.repaint();
+        _rendered.update(discardPile);
     }
 
-    public void setCardListeners(ICardPressedListener pressedListener,
-                                 ICardReleasedListener releasedListener,
-                                 ICardDraggedListener draggedListener) {
-
-        _cardPressedListener = pressedListener;
-        _cardReleasedListener = releasedListener;
-        _cardDraggedListener = draggedListener;
+    /**
+     * Renders the discard pile again on the next call of {@link #renderDiscardPile(DiscardPile)}
+     */
+    public void invalidate() {
+        _rendered.invalidate();
     }
 
     /**
@@ -1,8 +1,5 @@
 package view;
 
-import listener.ICardDraggedListener;
-import listener.ICardPressedListener;
-import listener.ICardReleasedListener;
 import model.Foundation;
 
 import javax.swing.*;
@@ -16,16 +13,18 @@ import static view.SolitaireView.SCREEN_WIDTH;
 public class FoundationPanel {
 
     private final JPanel _foundationPanel;
-    private ICardPressedListener _cardPressedListener;
-    private ICardReleasedListener _cardReleasedListener;
-    private ICardDraggedListener _cardDraggedListener;
+    private final PileSnapshot[] _rendered;
+    private final CardLabelPool _cardLabels;
     public static final String FOUNDATION = "Foundation";
 
-    public FoundationPanel() {
+    public FoundationPanel(CardLabelPool cardLabels) {
+        _cardLabels = cardLabels;
         _foundationPanel = new JPanel(new GridLayout(1, 4));
         _foundationPanel.setPreferredSize(new Dimension((int) (SCREEN_WIDTH * 2.0 / 4), (int) (SCREEN_HEIGHT * 0.25)));
+        _rendered = new PileSnapshot[4];
 
         for (int i = 0; i < 4; i++) {
+            _rendered[i] = new PileSnapshot();
             TitledBorder titledBorder = BorderFactory.createTitledBorder(FOUNDATION + " " + (i + 1));
             titledBorder.setTitleColor(Color.BLACK);
             Border lineBorder = BorderFactory.createLineBorder(Color.BLACK, 3);
@@ -39,27 +38,40 @@ public class FoundationPanel {
     }
 
     /**
-     * Renders the foundation piles based on the current state of the game
+     * Renders the foundation piles that changed since the last call
      */
     public void renderFoundation(Foundation[] foundations) {
         for (int i = 0; i < foundations.length; i++) {
             Foundation foundation = foundations[i];
+            if (_rendered[i].firstChange(foundation) == PileSnapshot.UNCHANGED) {
+                continue;
+            }
             JPanel panel = (JPanel) _foundationPanel.getComponent(i);
+            panel.removeAll();
             if (!foundation.isEmpty()) {
-                CardLabel cardLabel = new CardLabel(foundation.peek(), FOUNDATION, panel);
-                cardLabel.setListeners(_cardPressedListener, _cardReleasedListener, _cardDraggedListener);
+                CardLabel cardLabel = _cardLabels.bind(foundation.peekCardCode(), FOUNDATION, panel);
                 panel.add(cardLabel.getCardLabel());
             }
+            panel.revalidate();
+            panel.repaint();
+            _rendered[i].update(foundation);
         }
     }
 
-    public void setCardListeners(ICardPressedListener pressedListener,
-                                 ICardReleasedListener releasedListener,
-                                 ICardDraggedListener draggedListener) {
-
-        _cardPressedListener = pressedListener;
-        _cardReleasedListener = releasedListener;
-        _cardDraggedListener = draggedListener;
+    /**
+     * Renders the given foundation again on the next call of {@link #renderFoundation(Foundation[])}
+     *
+     * @param panel The panel of the foundation
+     * @return True if the panel belongs to this panel, false otherwise
+     */
+    public boolean invalidate(Container panel) {
+        for (int i = 0; i < _rendered.length; i++) {
+            if (_foundationPanel.getComponent(i) == panel) {
+                _rendered[i].invalidate();
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
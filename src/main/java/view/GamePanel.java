@@ -10,6 +10,8 @@ import model.Tableau;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
 
 import static view.SolitaireView.SCREEN_HEIGHT;
 import static view.SolitaireView.SCREEN_WIDTH;
@@ -24,6 +26,9 @@ public class GamePanel {
     private final DiscardPilePanel _discardPilePanel;
     private final DeckPanel _deckPanel;
     private final TableauPanel _tableauPanel;
+    private final CardLabelPool _cardLabels;
+    private final PileGeometry _pileGeometry;
+    private boolean _pileGeometryValid;
 
     /**
      * Creates a new game panel with the given solitaire game and screen dimensions
@@ -31,23 +36,78 @@ public class GamePanel {
     public GamePanel() {
         _mainPane = new JLayeredPane();
         _mainPane.setLayout(null);
+        _cardLabels = new CardLabelPool();
 
         JPanel topPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 80, 0));
         topPanel.setBounds(0, 0, SCREEN_WIDTH, (int) (SCREEN_HEIGHT * 0.25));
         topPanel.setBackground(new Color(0, 128, 0));
         _mainPane.add(topPanel, JLayeredPane.DEFAULT_LAYER);
 
-        _foundationPanel = new FoundationPanel();
+        _foundationPanel = new FoundationPanel(_cardLabels);
         topPanel.add(_foundationPanel.getFoundationPanel());
 
-        _discardPilePanel = new DiscardPilePanel();
+        _discardPilePanel = new DiscardPilePanel(_cardLabels);
         topPanel.add(_discardPilePanel.getDiscardPilePanel(), BorderLayout.EAST);
 
-        _deckPanel = new DeckPanel();
+        _deckPanel = new DeckPanel(_cardLabels);
         topPanel.add(_deckPanel.getDeckPanel(), BorderLayout.EAST);
 
-        _tableauPanel = new TableauPanel();
+        _tableauPanel = new TableauPanel(_cardLabels);
         _mainPane.add(_tableauPanel.getTableauPanel(), JLayeredPane.DEFAULT_LAYER);
+
+        _pileGeometry = new PileGeometry(PileGeometry.DEFAULT_SNAP_TOLERANCE);
+        invalidatePileGeometryOnLayout();
+    }
+
+    /**
+     * Marks the pile geometry as outdated whenever the board or one of the piles is resized or moved
+     */
+    private void invalidatePileGeometryOnLayout() {
+        ComponentAdapter invalidator = new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                _pileGeometryValid = false;
+            }
+
+            @Override
+            public void componentMoved(ComponentEvent e) {
+                _pileGeometryValid = false;
+            }
+        };
+        _mainPane.addComponentListener(invalidator);
+        for (Component tableau : _tableauPanel.getTableauPanel().getComponents()) {
+            tableau.addComponentListener(invalidator);
+        }
+        for (Component foundation : _foundationPanel.getFoundationPanel().getComponents()) {
+            foundation.addComponentListener(invalidator);
+        }
+    }
+
+    /**
+     * Returns the drop targets of the board in main pane coordinates.
+     * The geometry is only rebuilt if the board was laid out again since the last call.
+     *
+     * @return The pile geometry
+     */
+    public PileGeometry getPileGeometry() {
+        if (!_pileGeometryValid) {
+            _pileGeometry.rebuild(_mainPane.getWidth(), _mainPane.getHeight(),
+                    boundsOf(_tableauPanel.getTableauPanel()), boundsOf(_foundationPanel.getFoundationPanel()));
+            _pileGeometryValid = true;
+        }
+        return _pileGeometry;
+    }
+
+    /**
+     * @return The bounds of the children of a panel in main pane coordinates
+     */
+    private Rectangle[] boundsOf(JPanel panel) {
+        Rectangle[] bounds = new Rectangle[panel.getComponentCount()];
+        for (int i = 0; i < bounds.length; i++) {
+            Component component = panel.getComponent(i);
+            bounds[i] = SwingUtilities.convertRectangle(panel, component.getBounds(), _mainPane);
+        }
+        return bounds;
     }
 
     public JLayeredPane getMainPane() {
@@ -55,46 +115,50 @@ public class GamePanel {
     }
 
     /**
-     * Clears the entire game state and re-renders it based on the current state of the game
+     * Renders the game state based on the current state of the game.
+     * Each panel compares its piles with what it rendered last and only replaces the labels of changed cards,
+     * the pile components themselves are kept.
      */
     public void renderGameState(Deck deck, DiscardPile discardPile, Foundation[] foundations, Tableau[] tableaus) {
-        clearPanels();
-
         _foundationPanel.renderFoundation(foundations);
         _deckPanel.renderDeck(deck);
         _discardPilePanel.renderDiscardPile(discardPile);
         _tableauPanel.renderTableau(tableaus);
-
-        _mainPane.revalidate();
-        _mainPane.repaint();
     }
 
     /**
-     * Removes all Components from the foundation, tableau, deck and discard pile panels
+     * Renders the pile of the given container completely on the next call of
+     * {@link #renderGameState(Deck, DiscardPile, Foundation[], Tableau[])}.
+     * Needed after labels were taken out of the container, e.g. for a drag.
+     *
+     * @param pileContainer The container of a pile
      */
-    private void clearPanels() {
-        for (Component component : _tableauPanel.getTableauPanel().getComponents()) {
-            if (component instanceof JLayeredPane) {
-                ((JLayeredPane) component).removeAll();
-            }
-        }
-        for (Component component : _foundationPanel.getFoundationPanel().getComponents()) {
-            if (component instanceof JPanel) {
-                ((JPanel) component).removeAll();
-            }
+    public void invalidatePile(Container pileContainer) {
+        if (pileContainer == _deckPanel.getDeckPanel()) {
+            _deckPanel.invalidate();
+        } else if (pileContainer == _discardPilePanel.getDiscardPilePanel()) {
+            _discardPilePanel.invalidate();
+        } else if (!_tableauPanel.invalidate(pileContainer)) {
+            _foundationPanel.invalidate(pileContainer);
         }
-        _deckPanel.getDeckPanel().removeAll();
-        _discardPilePanel.getDiscardPilePanel().removeAll();
     }
 
+    /**
+     * Highlights the card a hint suggests to move
+     *
+     * @param card The packed card, {@link model.PackedCard#NONE} to remove the highlight
+     */
+    public void showHint(byte card) {
+        _cardLabels.highlight(card);
+    }
+
+    /**
+     * Registers the listeners that receive the mouse events of all card labels
+     */
     public void registerCardListeners(ICardPressedListener pressedListener,
                                       ICardReleasedListener releasedListener,
                                       ICardDraggedListener draggedListener) {
-
-        _deckPanel.setCardListeners(pressedListener, releasedListener, draggedListener);
-        _discardPilePanel.setCardListeners(pressedListener, releasedListener, draggedListener);
-        _foundationPanel.setCardListeners(pressedListener, releasedListener, draggedListener);
-        _tableauPanel.setCardListeners(pressedListener, releasedListener, draggedListener);
+        _cardLabels.setListeners(pressedListener, releasedListener, draggedListener);
     }
 
     /**
@@ -0,0 +1,127 @@
+package view;
+
+import java.awt.*;
+import java.util.Arrays;
+
+import static view.FoundationPanel.FOUNDATION;
+import static view.TableauPanel.TABLEAU;
+
+/**
+ * Maps a point of the board to the tableau or foundation a card dropped there lands on.
+ * The board is divided into square cells and every cell knows its drop target,
+ * so a lookup is one division and one array access, no matter how the board is built.
+ * <p>
+ * A point within the snap tolerance of a pile still drops onto it; where the tolerance areas of two piles meet
+ * the nearer pile wins.
+ * The cells are computed from the pile bounds by {@link #rebuild(int, int, Rectangle[], Rectangle[])},
+ * which only has to happen when the board is resized.
+ */
+public final class PileGeometry {
+    /**
+     * Returned by {@link #targetAt(int, int)} if there is no pile at the point
+     */
+    public static final int NONE = -1;
+    public static final int DEFAULT_SNAP_TOLERANCE = 20;
+    private static final int CELL_SIZE = 8;
+    private static final int TABLEAU_COUNT = 7;
+
+    private final int _snapTolerance;
+    private byte[] _cells;
+    private int _columns;
+    private int _rows;
+
+    /**
+     * Creates a geometry without piles, every point maps to {@link #NONE} until it is rebuilt
+     *
+     * @param snapTolerance The distance in pixels from which a point still drops onto a pile
+     */
+    public PileGeometry(int snapTolerance) {
+        _snapTolerance = snapTolerance;
+        _cells = new byte[0];
+    }
+
+    /**
+     * Computes the drop target of every cell of a board
+     *
+     * @param width            The width of the board
+     * @param height           The height of the board
+     * @param tableauBounds    The bounds of the tableaus in board coordinates
+     * @param foundationBounds The bounds of the foundations in board coordinates
+     */
+    public void rebuild(int width, int height, Rectangle[] tableauBounds, Rectangle[] foundationBounds) {
+        _columns = Math.max(width, 0) / CELL_SIZE + 1;
+        _rows = Math.max(height, 0) / CELL_SIZE + 1;
+        _cells = new byte[_columns * _rows];
+        Arrays.fill(_cells, (byte) NONE);
+
+        Rectangle[] targets = new Rectangle[tableauBounds.length + foundationBounds.length];
+        System.arraycopy(tableauBounds, 0, targets, 0, tableauBounds.length);
+        System.arraycopy(foundationBounds, 0, targets, tableauBounds.length, foundationBounds.length);
+
+        for (int row = 0; row < _rows; row++) {
+            int y = row * CELL_SIZE + CELL_SIZE / 2;
+            for (int column = 0; column < _columns; column++) {
+                int x = column * CELL_SIZE + CELL_SIZE / 2;
+                _cells[row * _columns + column] = (byte) nearestTarget(targets, x, y);
+            }
+        }
+    }
+
+    /**
+     * @param x The x coordinate on the board
+     * @param y The y coordinate on the board
+     * @return The drop target at the point or {@link #NONE}
+     */
+    public int targetAt(int x, int y) {
+        if (x < 0 || y < 0) {
+            return NONE;
+        }
+        int column = x / CELL_SIZE;
+        int row = y / CELL_SIZE;
+        if (column >= _columns || row >= _rows) {
+            return NONE;
+        }
+        return _cells[row * _columns + column];
+    }
+
+    /**
+     * @param target A drop target
+     * @return {@link TableauPanel#TABLEAU} or {@link FoundationPanel#FOUNDATION}
+     */
+    public static String typeOf(int target) {
+        return target < TABLEAU_COUNT ? TABLEAU : FOUNDATION;
+    }
+
+    /**
+     * @param target A drop target
+     * @return The index of the tableau or foundation
+     */
+    public static int indexOf(int target) {
+        return target < TABLEAU_COUNT ? target : target - TABLEAU_COUNT;
+    }
+
+    /**
+     * @return The target whose bounds are nearest to the point, within the snap tolerance, or {@link #NONE}
+     */
+    private int nearestTarget(Rectangle[] targets, int x, int y) {
+        int nearest = NONE;
+        long nearestDistance = (long) _snapTolerance * _snapTolerance;
+        for (int i = 0; i < targets.length; i++) {
+            Rectangle bounds = targets[i];
+            if (bounds == null || bounds.isEmpty()) {
+                continue;
+            }
+            long dx = Math.max(Math.max(bounds.x - x, x - (bounds.x + bounds.width - 1)), 0);
+            long dy = Math.max(Math.max(bounds.y - y, y - (bounds.y + bounds.height - 1)), 0);
+            long distance = dx * dx + dy * dy;
+            if (distance == 0) {
+                return i;
+            }
+            if (distance <= nearestDistance) {
+                nearest = i;
+                nearestDistance = distance;
+            }
+        }
+        return nearest;
+    }
+}
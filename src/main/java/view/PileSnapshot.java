@@ -0,0 +1,60 @@
+package view;
+
+import model.ICardHolder;
+import model.PackedCard;
+
+/**
+ * The packed cards of a pile as they were rendered last.
+ * Comparing it with the pile tells the panels which cards have to be rendered again.
+ */
+final class PileSnapshot {
+    /**
+     * Returned by {@link #firstChange(ICardHolder)} if the pile looks as rendered
+     */
+    static final int UNCHANGED = -1;
+
+    private final byte[] _cards;
+    private int _size;
+
+    PileSnapshot() {
+        _cards = new byte[PackedCard.CARD_COUNT];
+        _size = 0;
+    }
+
+    /**
+     * Finds the lowest position that has to be rendered again.
+     * Cards below it, including their visibility, look as rendered.
+     *
+     * @param pile The pile to compare with
+     * @return The lowest changed position, the size of the pile if cards were only removed,
+     * or {@link #UNCHANGED}
+     */
+    int firstChange(ICardHolder pile) {
+        int size = pile.size();
+        int common = Math.min(size, Math.max(_size, 0));
+        for (int i = 0; i < common; i++) {
+            if (_cards[i] != pile.cardCodeAt(i)) {
+                return i;
+            }
+        }
+        return size == _size ? UNCHANGED : common;
+    }
+
+    /**
+     * Remembers the current cards of the pile as rendered
+     */
+    void update(ICardHolder pile) {
+        _size = pile.size();
+        for (int i = 0; i < _size; i++) {
+            _cards[i] = pile.cardCodeAt(i);
+        }
+    }
+
+    /**
+     * Forgets what was rendered, so the whole pile is rendered again,
+     * e.g. after its components were moved by a drag
+     */
+    void invalidate() {
+        _size = -1;
+    }
+}
@@ -0,0 +1,103 @@
+package view;
+
+import javax.swing.*;
+
+/**
+ * Coalesces render requests on the Event Dispatch Thread.
+ * A request only marks the board dirty; the render runs once, at most once per frame,
+ * however many requests arrived in between. Requests from other threads are passed to the EDT.
+ * <p>
+ * The counters are only written on the EDT.
+ */
+public final class RenderScheduler {
+    public static final int DEFAULT_FRAME_MILLIS = 16;
+
+    private final Runnable _render;
+    private final int _frameMillis;
+    private final Timer _timer;
+    private boolean _dirty;
+    private long _lastRenderNanos;
+    private long _requests;
+    private long _renders;
+
+    /**
+     * @param render      Renders the board, called on the EDT
+     * @param frameMillis The minimum time between two renders
+     */
+    public RenderScheduler(Runnable render, int frameMillis) {
+        _render = render;
+        _frameMillis = frameMillis;
+        _timer = new Timer(frameMillis, e -> renderNow());
+        _timer.setRepeats(false);
+        _lastRenderNanos = System.nanoTime() - frameMillis * 1_000_000L;
+    }
+
+    /**
+     * Marks the board dirty.
+     * If no render is pending one is scheduled for the next frame, otherwise the request is coalesced.
+     */
+    public void requestRender() {
+        if (!SwingUtilities.isEventDispatchThread()) {
+            SwingUtilities.invokeLater(this::requestRender);
+            return;
+        }
+        _requests++;
+        if (_dirty) {
+            return;
+        }
+        _dirty = true;
+        long sinceLastRender = (System.nanoTime() - _lastRenderNanos) / 1_000_000L;
+        if (sinceLastRender >= _frameMillis) {
+            SwingUtilities.invokeLater(this::renderNow);
+        } else {
+            _timer.setInitialDelay((int) (_frameMillis - sinceLastRender));
+            _timer.restart();
+        }
+    }
+
+    /**
+     * Renders right away if the board is dirty, must be called on the EDT
+     */
+    public void flush() {
+        renderNow();
+    }
+
+    private void renderNow() {
+        if (!_dirty) {
+            return;
+        }
+        _dirty = false;
+        _timer.stop();
+        _lastRenderNanos = System.nanoTime();
+        _renders++;
+        _render.run();
+    }
+
+    /**
+     * @return True if a render is pending
+     */
+    public boolean isDirty() {
+        return _dirty;
+    }
+
+    /**
+     * @return The number of render requests
+     */
+    public long getRequests() {
+        return _requests;
+    }
+
+    /**
+     * @return The number of renders that ran
+     */
+    public long getRenders() {
+        return _renders;
+    }
+
+    /**
+     * @return The number of requests that were served by a render another request had scheduled
+     */
+    public long getCoalesced() {
+        return _requests - _renders - (_dirty ? 1 : 0);
+    }
+}
@@ -16,8 +16,11 @@ public class SolitaireView {
 
     public static final int SCREEN_WIDTH = 1200;
     public static final int SCREEN_HEIGHT = 800;
+    public static final String RENDERER_PROPERTY = "solitaire.renderer";
+    public static final String CANVAS_RENDERER = "canvas";
     private final ToolbarPanel _toolbarPanel;
     private final GamePanel _gamePanel;
+    private final BoardCanvas _boardCanvas;
     private ActionListener _gameOverListener;
 
     /**
@@ -32,12 +35,29 @@ public class SolitaireView {
         _toolbarPanel = new ToolbarPanel();
         frame.add(_toolbarPanel.getToolBar(), BorderLayout.NORTH);
 
-        _gamePanel = new GamePanel();
-        frame.add(_gamePanel.getMainPane(), BorderLayout.CENTER);
+        if (isCanvasRenderer()) {
+            _gamePanel = null;
+            _boardCanvas = new BoardCanvas();
+            frame.add(_boardCanvas, BorderLayout.CENTER);
+        } else {
+            _gamePanel = new GamePanel();
+            _boardCanvas = null;
+            frame.add(_gamePanel.getMainPane(), BorderLayout.CENTER);
+        }
 
         frame.setVisible(true);
     }
 
+    /**
+     * Checks if the board is painted by a single {@link BoardCanvas} instead of the {@link GamePanel},
+     * which is the case if the system property {@value #RENDERER_PROPERTY} is {@value #CANVAS_RENDERER}
+     *
+     * @return True if the canvas renderer is selected, false otherwise
+     */
+    public static boolean isCanvasRenderer() {
+        return CANVAS_RENDERER.equals(System.getProperty(RENDERER_PROPERTY));
+    }
+
     /**
      * Updates the game state by re-rendering the deck, discard pile, foundations, and tableaus
      *
@@ -47,7 +67,26 @@ public class SolitaireView {
      * @param tableaus    The array of tableau piles
      */
     public void updateGameState(Deck deck, DiscardPile discardPile, Foundation[] foundations, Tableau[] tableaus) {
-        _gamePanel.renderGameState(deck, discardPile, foundations, tableaus);
+        if (_boardCanvas != null) {
+            _boardCanvas.render(deck, discardPile, foundations, tableaus);
+        } else {
+            _gamePanel.renderGameState(deck, discardPile, foundations, tableaus);
+        }
+    }
+
+    /**
+     * Highlights the card a hint suggests to move and shows the hint in the toolbar
+     *
+     * @param card The packed card to highlight, {@link model.PackedCard#NONE} for none
+     * @param text The hint, empty to remove it
+     */
+    public void showHint(byte card, String text) {
+        if (_boardCanvas != null) {
+            _boardCanvas.showHint(card);
+        } else {
+            _gamePanel.showHint(card);
+        }
+        _toolbarPanel.setHintText(text);
     }
 
     /**
@@ -64,7 +103,7 @@ public class SolitaireView {
      */
     public void showGameOverDialog() {
         int result = JOptionPane.showOptionDialog(
-                _gamePanel.getMainPane(),
+                _boardCanvas != null ? _boardCanvas : _gamePanel.getMainPane(),
                 "Would you like to play again?",
                 "Game Over",
                 JOptionPane.YES_NO_OPTION,
@@ -84,12 +123,21 @@ public class SolitaireView {
     /**
      * Gets the game panel
      *
-     * @return The game panel
+     * @return The game panel or null if the canvas renderer is selected
      */
     public GamePanel getGamePanel() {
         return _gamePanel;
     }
 
+    /**
+     * Gets the board canvas
+     *
+     * @return The board canvas or null if the game panel is used
+     */
+    public BoardCanvas getBoardCanvas() {
+        return _boardCanvas;
+    }
+
     /**
      * Gets the toolbar panel
      *
@@ -1,9 +1,5 @@
 package view;
 
-import listener.ICardDraggedListener;
-import listener.ICardPressedListener;
-import listener.ICardReleasedListener;
-import model.Card;
 import model.Tableau;
 
 import javax.swing.*;
@@ -17,17 +13,19 @@ import static view.SolitaireView.SCREEN_WIDTH;
 public class TableauPanel {
 
     private final JPanel _tableauPanel;
-    private ICardPressedListener _cardPressedListener;
-    private ICardReleasedListener _cardReleasedListener;
-    private ICardDraggedListener _cardDraggedListener;
+    private final PileSnapshot[] _rendered;
+    private final CardLabelPool _cardLabels;
     public static final String TABLEAU = "Tableau";
 
-    public TableauPanel() {
+    public TableauPanel(CardLabelPool cardLabels) {
+        _cardLabels = cardLabels;
         _tableauPanel = new JPanel(new GridLayout(1, 7));
         _tableauPanel.setBounds(0, (int) (SCREEN_HEIGHT * 0.25), SCREEN_WIDTH, (int) (SCREEN_HEIGHT * 0.65));
         _tableauPanel.setBackground(new Color(0, 128, 0));
+        _rendered = new PileSnapshot[7];
 
         for (int i = 0; i < 7; i++) {
+            _rendered[i] = new PileSnapshot();
             TitledBorder titledBorder = BorderFactory.createTitledBorder(TABLEAU + " " + (i + 1));
             titledBorder.setTitleColor(Color.BLACK);
             Border lineBorder = BorderFactory.createLineBorder(Color.BLACK, 3);
@@ -40,36 +38,58 @@ public class TableauPanel {
         }
     }
 
+    /**
+     * Renders the tableaus that changed since the last call.
+     * Of a changed tableau only the cards from the lowest changed card upwards are rebound and placed again.
+     */
     public void renderTableau(Tableau[] tableaus) {
-        int cardOffset = 30;
-        int tableauX_Coordinate = (_tableauPanel.getComponent(1).getWidth() - 100) / 2;
-
         for (int i = 0; i < tableaus.length; i++) {
-            Tableau tableau = tableaus[i];
-
-            int layer = 0;
-            int yPos = 20;
+            int firstChange = _rendered[i].firstChange(tableaus[i]);
+            if (firstChange != PileSnapshot.UNCHANGED) {
+                renderCards(i, tableaus[i], firstChange);
+                _rendered[i].update(tableaus[i]);
+            }
+        }
+    }
 
-            for (Card card : tableau.get_tableau()) {
-                CardLabel cardLabel = new CardLabel(card, TABLEAU, (Container) _tableauPanel.getComponent(i));
+    /**
+     * Replaces the labels of a tableau from the given position upwards.
+     * The layer of a label is the position of its card.
+     */
+    private void renderCards(int index, Tableau tableau, int from) {
+        int cardOffset = 30;
+        int tableauX_Coordinate = (_tableauPanel.getComponent(1).getWidth() - 100) / 2;
+        JLayeredPane pane = (JLayeredPane) _tableauPanel.getComponent(index);
 
-                cardLabel.getCardLabel().setBounds(tableauX_Coordinate, yPos, 100, 144);
-                JLayeredPane pane = (JLayeredPane) _tableauPanel.getComponent(i);
-                cardLabel.setListeners(_cardPressedListener, _cardReleasedListener, _cardDraggedListener);
-                pane.add(cardLabel.getCardLabel(), Integer.valueOf(layer));
-                yPos += cardOffset;
-                layer++;
+        for (Component component : pane.getComponents()) {
+            if (pane.getLayer(component) >= from) {
+                pane.remove(component);
             }
         }
-    }
+        for (int position = from; position < tableau.size(); position++) {
+            CardLabel cardLabel = _cardLabels.bind(tableau.cardCodeAt(position), TABLEAU, pane);
 
-    public void setCardListeners(ICardPressedListener pressedListener,
-                                 ICardReleasedListener releasedListener,
-                                 ICardDraggedListener draggedListener) {
+            cardLabel.getCardLabel().setBounds(tableauX_Coordinate, 20 + position * cardOffset, 100, 144);
+            pane.add(cardLabel.getCardLabel(), Integer.valueOf(position));
+        }
+        pane.repaint();
+    }
 
-        _cardPressedListener = pressedListener;
-        _cardReleasedListener = releasedListener;
-        _cardDraggedListener = draggedListener;
+    /**
+     * Renders the given tableau completely on the next call of {@link #renderTableau(Tableau[])}
+     *
+     * @param tableauPane The pane of the tableau
+     * @return True if the pane belongs to this panel, false otherwise
+     */
+    public boolean invalidate(Container tableauPane) {
+        for (int i = 0; i < _rendered.length; i++) {
+            if (_tableauPanel.getComponent(i) == tableauPane) {
+                ((JLayeredPane) tableauPane).removeAll();
+                _rendered[i].invalidate();
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -19,6 +19,10 @@ public class ToolbarPanel implements IScoreListener {
     private static JLabel _timeLabel = null;
     private final JButton _stepBackButton;
     private final JButton _restartButton;
+    private final JButton _autoCompleteButton;
+    private final JButton _sendUpButton;
+    private final JButton _hintButton;
+    private final JLabel _hintLabel;
     private final JToolBar _toolBar;
     private static Timer _timer = null;
     private static TimerListener _timerListener;
@@ -27,6 +31,9 @@ public class ToolbarPanel implements IScoreListener {
     // Listeners for Controller to register
     private ActionListener _stepBackListener;
     private ActionListener _restartListener;
+    private ActionListener _autoCompleteListener;
+    private ActionListener _sendUpListener;
+    private ActionListener _hintListener;
 
     /**
      * Creates a new toolbar panel with a time label
@@ -45,12 +52,21 @@ public class ToolbarPanel implements IScoreListener {
 
         _stepBackButton = new JButton("Step Back");
         _restartButton = new JButton("Restart");
+        _autoCompleteButton = new JButton("Auto Complete");
+        _autoCompleteButton.setEnabled(false);
+        _sendUpButton = new JButton("Send Up");
+        _hintButton = new JButton("Hint");
+        _hintLabel = new JLabel("", SwingConstants.CENTER);
         addMouseListener();
         _score = new JLabel("Score: 0", SwingConstants.CENTER);
 
         _toolBar.add(_timeLabel);
         _toolBar.add(_stepBackButton);
         _toolBar.add(_restartButton);
+        _toolBar.add(_sendUpButton);
+        _toolBar.add(_autoCompleteButton);
+        _toolBar.add(_hintButton);
+        _toolBar.add(_hintLabel);
         _toolBar.add(_score);
     }
 
@@ -71,6 +87,30 @@ public class ToolbarPanel implements IScoreListener {
                 }
             }
         });
+        _autoCompleteButton.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (_autoCompleteListener != null && _autoCompleteButton.isEnabled()) {
+                    _autoCompleteListener.actionPerformed(null);
+                }
+            }
+        });
+        _sendUpButton.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (_sendUpListener != null) {
+                    _sendUpListener.actionPerformed(null);
+                }
+            }
+        });
+        _hintButton.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (_hintListener != null) {
+                    _hintListener.actionPerformed(null);
+                }
+            }
+        });
     }
 
     public static void resetTimer() {
@@ -105,4 +145,39 @@ public class ToolbarPanel implements IScoreListener {
     public void addRestartListener(ActionListener listener) {
         _restartListener = listener;
     }
+
+    /**
+     * Registers listener for auto complete button clicks.
+     */
+    public void addAutoCompleteListener(ActionListener listener) {
+        _autoCompleteListener = listener;
+    }
+
+    /**
+     * Registers listener for send up button clicks.
+     */
+    public void addSendUpListener(ActionListener listener) {
+        _sendUpListener = listener;
+    }
+
+    /**
+     * Registers listener for hint button clicks.
+     */
+    public void addHintListener(ActionListener listener) {
+        _hintListener = listener;
+    }
+
+    /**
+     * Shows the text of a hint next to the hint button, an empty text removes it.
+     */
+    public void setHintText(String text) {
+        _hintLabel.setText(text);
+    }
+
+    /**
+     * Enables the auto complete button, which is only useful once all tableau cards are face-up.
+     */
+    public void setAutoCompleteEnabled(boolean enabled) {
+        _autoCompleteButton.setEnabled(enabled);
+    }
 }
@@ -8,6 +8,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class GameMoveManagerTest {
@@ -22,8 +23,8 @@ class GameMoveManagerTest {
     @Test
     void stepBack_ShouldMoveAllCardsToDiscardPile_WhenDiscardPileIsEmpty() {
         List<Card> deckCards = new ArrayList<>();
-        for (int i = 0; i < solitaireController.get_deck().get_deck().size(); i++) {
-            solitaireController.placeCardOnDiscardPile(solitaireController.drawCardFromDeck());
+        while (!solitaireController.get_deck().isEmpty()) {
+            solitaireController.drawCardFromDeck();
             deckCards.add(solitaireController.get_discardPile().get_discardPile().peek());
         }
         solitaireController.reDealCards();
@@ -35,12 +36,55 @@ class GameMoveManagerTest {
         assertEquals(24, solitaireController.get_discardPile().get_discardPile().size());
     }
 
+    @Test
+    void reDealCards_ShouldDoNothing_WhenTheDeckIsNotEmpty() {
+        solitaireController.drawCardFromDeck();
+        int moves = solitaireController.get_engine().getGameMoveManager().size();
+
+        solitaireController.reDealCards();
+
+        assertEquals(moves, solitaireController.get_engine().getGameMoveManager().size());
+        assertEquals(23, solitaireController.get_deck().get_deck().size());
+        assertEquals(1, solitaireController.get_discardPile().get_discardPile().size());
+    }
+
     @Test
     void stepBack_ShouldPutTopDiscardPileCardBackToDeck_WhenDiscardPileIsNotEmpty() {
         Card card = solitaireController.drawCardFromDeck();
-        solitaireController.placeCardOnDiscardPile(card);
         solitaireController.stepBack();
         assertEquals(card, solitaireController.get_deck().get_deck().peek());
         assertTrue(solitaireController.get_discardPile().isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    void addGameMove_ShouldRecordMoveTurnOverAndScore() {
+        KlondikeEngine engine = new KlondikeEngine();
+        GameMoveManager gameMoveManager = engine.getGameMoveManager();
+        engine.apply(Move.draw());
+        while (!engine.getDeck().isEmpty()) {
+            engine.apply(Move.draw());
+        }
+        int reDeal = Move.reDeal(engine.getDiscardPile().size());
+        engine.apply(reDeal);
+
+        assertEquals(25, gameMoveManager.size());
+        assertEquals(Move.draw(), gameMoveManager.moveAt(0));
+        assertFalse(gameMoveManager.turnedOverAt(0));
+        assertEquals(reDeal, gameMoveManager.moveAt(24));
+        assertEquals(-100, gameMoveManager.scoreAt(24));
+    }
+
+    @Test
+    void stepBack_ShouldGrowAndEmptyTheJournal_OverManyMoves() {
+        KlondikeEngine engine = new KlondikeEngine();
+        for (int i = 0; i < 1000; i++) {
+            engine.apply(engine.getDeck().isEmpty() ? Move.reDeal(engine.getDiscardPile().size()) : Move.draw());
+        }
+        assertEquals(1000, engine.getGameMoveManager().size());
+        while (engine.undo()) {
+            assertEquals(24, engine.getDeck().size() + engine.getDiscardPile().size());
+        }
+        assertTrue(engine.getGameMoveManager().isEmpty());
+        assertEquals(24, engine.getDeck().size());
+    }
+}
@@ -0,0 +1,380 @@
+package controller;
+
+import model.Card;
+import model.CardIndex;
+import model.PackedCard;
+import model.Tableau;
+import model.ZobristHash;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KlondikeEngineTest {
+    private KlondikeEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new KlondikeEngine();
+    }
+
+    @Test
+    void deal_ShouldDealSevenTableausAndLeave24CardsInTheDeck() {
+        Tableau[] tableaus = engine.getTableaus();
+        for (int i = 0; i < tableaus.length; i++) {
+            assertEquals(i + 1, tableaus[i].size());
+            assertTrue(PackedCard.isFaceUp(tableaus[i].peekCardCode()));
+        }
+        assertEquals(24, engine.getDeck().size());
+        assertTrue(engine.getDiscardPile().isEmpty());
+        assertFalse(engine.isWon());
+        assertEquals(0, engine.getScore());
+    }
+
+    @Test
+    void legalMoves_ShouldOnlyContainLegalMoves() {
+        int[] moves = new int[KlondikeEngine.MAX_MOVES];
+        Random random = new Random(1);
+        for (int step = 0; step < 200; step++) {
+            int count = engine.legalMoves(moves);
+            assertTrue(count > 0);
+            for (int i = 0; i < count; i++) {
+                assertTrue(engine.isLegal(moves[i]), Move.toString(moves[i]));
+            }
+            engine.apply(moves[random.nextInt(count)]);
+        }
+    }
+
+    @Test
+    void undo_ShouldRestoreTheDealtPosition_AfterRandomMoves() {
+        byte[] dealt = layout();
+        int[] moves = new int[KlondikeEngine.MAX_MOVES];
+        Random random = new Random(7);
+        int applied = 0;
+        for (; applied < 150; applied++) {
+            int count = engine.legalMoves(moves);
+            engine.apply(moves[random.nextInt(count)]);
+        }
+        for (int i = 0; i < applied; i++) {
+            assertTrue(engine.undo());
+        }
+        assertFalse(engine.undo());
+        assertArrayEquals(dealt, layout());
+    }
+
+    @Test
+    void getHash_ShouldMatchTheRecomputedHash_AfterEveryMoveAndUndo() {
+        long dealt = engine.getHash();
+        assertEquals(recomputedHash(), dealt);
+        int[] moves = new int[KlondikeEngine.MAX_MOVES];
+        Random random = new Random(3);
+        for (int step = 0; step < 150; step++) {
+            int count = engine.legalMoves(moves);
+            engine.apply(moves[random.nextInt(count)]);
+            assertEquals(recomputedHash(), engine.getHash());
+        }
+        while (engine.undo()) {
+            assertEquals(recomputedHash(), engine.getHash());
+        }
+        assertEquals(dealt, engine.getHash());
+    }
+
+    @Test
+    void getHash_ShouldBeEqual_WhenTheSameSeedIsDealt() {
+        engine.deal(42);
+        long hash = engine.getHash();
+        engine.deal(43);
+        assertNotEquals(hash, engine.getHash());
+        engine.deal(42);
+        assertEquals(hash, engine.getHash());
+    }
+
+    @Test
+    void getCardIndex_ShouldKnowWhereEveryCardLies_AfterEveryMoveAndUndo() {
+        assertIndexMatchesPiles();
+        int[] moves = new int[KlondikeEngine.MAX_MOVES];
+        Random random = new Random(5);
+        for (int step = 0; step < 150; step++) {
+            int count = engine.legalMoves(moves);
+            engine.apply(moves[random.nextInt(count)]);
+            assertIndexMatchesPiles();
+        }
+        while (engine.undo()) {
+            assertIndexMatchesPiles();
+        }
+        engine.deal(9);
+        assertIndexMatchesPiles();
+    }
+
+    @Test
+    void apply_ShouldMoveTheDrawnCardToTheDiscardPile() {
+        Card topOfDeck = engine.getDeck().peek();
+        engine.apply(Move.draw());
+        assertEquals(topOfDeck, engine.getDiscardPile().peek());
+        assertTrue(engine.getDiscardPile().peek().isVisible());
+        assertEquals(23, engine.getDeck().size());
+    }
+
+    @Test
+    void canAutoComplete_ShouldBeFalse_WhenTableauCardsAreFaceDown() {
+        assertFalse(engine.canAutoComplete());
+        assertEquals(0, engine.autoComplete());
+        assertTrue(engine.getGameMoveManager().isEmpty());
+    }
+
+    @Test
+    void autoComplete_ShouldWinTheGameAsOneUndoEntry_WhenAllTableauCardsAreFaceUp() {
+        clearPiles();
+        Card.Suit[] suits = Card.Suit.values();
+        for (int suit = 0; suit < suits.length; suit++) {
+            for (int rank = 13; rank >= 2; rank--) {
+                engine.getTableaus()[suit].placeCardCode(faceUp(suits[suit], rank));
+            }
+            // the Aces wait in the deck, so auto-complete has to draw
+            engine.getDeck().placeCardCode(PackedCard.of(suits[suit], 1));
+        }
+        long hash = engine.getHash();
+        byte[] layout = layout();
+
+        assertTrue(engine.canAutoComplete());
+        int moves = engine.autoComplete();
+
+        assertTrue(engine.isWon());
+        assertEquals(moves, engine.getGameMoveManager().size());
+        assertEquals(moves, engine.getGameMoveManager().lastEntrySize());
+        assertFalse(engine.canAutoComplete());
+
+        assertTrue(engine.undo());
+        assertTrue(engine.getGameMoveManager().isEmpty());
+        assertEquals(hash, engine.getHash());
+        assertArrayEquals(layout, layout());
+    }
+
+    @Test
+    void sendSafeCardsUp_ShouldOnlyMoveSafeCards() {
+        clearPiles();
+        Tableau[] tableaus = engine.getTableaus();
+        tableaus[0].placeCardCode(faceUp(Card.Suit.CLUB, 3));
+        tableaus[0].placeCardCode(faceUp(Card.Suit.CLUB, 2));
+        tableaus[0].placeCardCode(faceUp(Card.Suit.CLUB, 1));
+        tableaus[1].placeCardCode(faceUp(Card.Suit.HEART, 1));
+        for (Card.Suit suit : Card.Suit.values()) {
+            for (int rank = suit == Card.Suit.CLUB ? 4 : 2; rank <= 13; rank++) {
+                engine.getDeck().placeCardCode(PackedCard.of(suit, rank));
+            }
+        }
+        engine.getDeck().placeCardCode(PackedCard.of(Card.Suit.SPADE, 1));
+        engine.getDeck().placeCardCode(PackedCard.of(Card.Suit.DIAMOND, 1));
+
+        int moves = engine.sendSafeCardsUp();
+
+        assertEquals(3, moves);
+        assertEquals(3, engine.getGameMoveManager().lastEntrySize());
+        assertEquals(1, tableaus[0].size());
+        assertTrue(tableaus[1].isEmpty());
+        assertEquals(30, engine.getScore());
+    }
+
+    @Test
+    void apply_ShouldDrawThreeCards_WhenRulesDrawThree() {
+        engine = new KlondikeEngine(null, Rules.DRAW_THREE);
+        engine.deal(3);
+        byte third = engine.getDeck().cardCodeAt(engine.getDeck().size() - 3);
+        byte[] layout = layout();
+
+        int[] moves = new int[KlondikeEngine.MAX_MOVES];
+        int count = engine.legalMoves(moves);
+        assertEquals(Move.draw(3), moves[count - 1]);
+        assertFalse(engine.isLegal(Move.draw()));
+        engine.apply(Move.draw(3));
+
+        assertEquals(21, engine.getDeck().size());
+        assertEquals(3, engine.getDiscardPile().size());
+        assertTrue(PackedCard.isSameCard(third, engine.getDiscardPile().peekCardCode()));
+
+        engine.undo();
+        assertArrayEquals(layout, layout());
+        assertEquals(recomputedHash(), engine.getHash());
+    }
+
+    @Test
+    void apply_ShouldDrawTheRestOfTheDeck_WhenFewerCardsAreLeftThanTheDrawCount() {
+        engine = new KlondikeEngine(null, Rules.DRAW_THREE);
+        engine.deal(3);
+        while (engine.getDeck().size() > 2) {
+            engine.getDiscardPile().placeCardCode(engine.getDeck().pickUpCardCode());
+        }
+
+        assertEquals(Move.draw(2), engine.drawMove());
+        engine.apply(engine.drawMove());
+
+        assertTrue(engine.getDeck().isEmpty());
+        assertEquals(24, engine.getDiscardPile().size());
+        assertEquals(Move.NONE, engine.drawMove());
+    }
+
+    @Test
+    void legalMoves_ShouldNotReDeal_WhenTheReDealLimitIsReached() {
+        engine = new KlondikeEngine(null, new Rules(1, 1, Scoring.STANDARD));
+        engine.deal(4);
+        drawDeck();
+        int reDeal = Move.reDeal(24);
+        assertTrue(engine.isLegal(reDeal));
+        long hashBeforeReDeal = engine.getHash();
+
+        engine.apply(reDeal);
+        drawDeck();
+
+        assertFalse(engine.isLegal(reDeal));
+        assertFalse(engine.canReDeal());
+        int[] moves = new int[KlondikeEngine.MAX_MOVES];
+        int count = engine.legalMoves(moves);
+        for (int i = 0; i < count; i++) {
+            assertNotEquals(Move.DECK, Move.to(moves[i]));
+        }
+        // same cards, but one re-deal less left
+        assertNotEquals(hashBeforeReDeal, engine.getHash());
+
+        for (int i = 0; i <= 24; i++) {
+            engine.undo();
+        }
+        assertTrue(engine.canReDeal());
+        assertEquals(hashBeforeReDeal, engine.getHash());
+    }
+
+    @Test
+    void score_ShouldFollowVegasScoring_WhenRulesAreVegas() {
+        engine.setRules(Rules.VEGAS);
+        engine.deal(1);
+        assertEquals(-52, engine.getScore());
+
+        clearPiles();
+        engine.getTableaus()[0].placeCardCode(faceUp(Card.Suit.HEART, 1));
+        engine.getDeck().placeCardCode(PackedCard.of(Card.Suit.HEART, 2));
+
+        engine.apply(Move.of(Move.tableau(0), Move.foundation(0), 1));
+        assertEquals(-47, engine.getScore());
+        engine.apply(engine.drawMove());
+        assertEquals(-47, engine.getScore());
+
+        engine.undo();
+        engine.undo();
+        assertEquals(-52, engine.getScore());
+    }
+
+    @Test
+    void score_ShouldMatchTheScoreManager_WhenRulesAreVegas() {
+        ScoreManager scoreManager = new ScoreManager();
+        engine = new KlondikeEngine(scoreManager, Rules.VEGAS);
+        assertEquals(-52, scoreManager.getScore());
+
+        clearPiles();
+        engine.getTableaus()[0].placeCardCode(faceUp(Card.Suit.HEART, 1));
+        engine.apply(Move.of(Move.tableau(0), Move.foundation(0), 1));
+        engine.apply(Move.of(Move.foundation(0), Move.tableau(1), 1));
+        assertEquals(-52, scoreManager.getScore());
+        engine.undo();
+        assertEquals(engine.getScore(), scoreManager.getScore());
+
+        engine.deal(1);
+        assertEquals(-52, scoreManager.getScore());
+    }
+
+    @Test
+    void reDeal_ShouldNotBeLegal_WhenTheDeckIsNotEmpty() {
+        engine.deal(6);
+        engine.apply(Move.draw());
+
+        assertFalse(engine.canReDeal());
+        assertFalse(engine.isLegal(Move.reDeal(1)));
+    }
+
+    @Test
+    void undo_ShouldRestoreTheStock_WhenAReDealIsSteppedBack() {
+        engine.deal(6);
+        long hash = engine.getHash();
+        drawDeck();
+        engine.apply(Move.reDeal(24));
+
+        for (int i = 0; i <= 24; i++) {
+            assertTrue(engine.undo());
+        }
+
+        assertEquals(24, engine.getDeck().size());
+        assertTrue(engine.getDiscardPile().isEmpty());
+        assertEquals(hash, engine.getHash());
+    }
+
+    @Test
+    void setRules_ShouldApplyFromTheNextDeal() {
+        engine.setRules(Rules.DRAW_THREE);
+
+        assertEquals(Rules.STANDARD, engine.getRules());
+        assertEquals(Move.draw(), engine.drawMove());
+
+        engine.deal(1);
+        assertEquals(Rules.DRAW_THREE, engine.getRules());
+        assertEquals(Move.draw(3), engine.drawMove());
+    }
+
+    private void drawDeck() {
+        while (!engine.getDeck().isEmpty()) {
+            engine.apply(engine.drawMove());
+        }
+    }
+
+    private void clearPiles() {
+        for (int pile = 0; pile < Move.PILE_COUNT; pile++) {
+            engine.getPile(pile).clear();
+        }
+    }
+
+    private static byte faceUp(Card.Suit suit, int rank) {
+        return PackedCard.withVisibility(PackedCard.of(suit, rank), true);
+    }
+
+    private void assertIndexMatchesPiles() {
+        CardIndex index = engine.getCardIndex();
+        int located = 0;
+        for (int pile = 0; pile < Move.PILE_COUNT; pile++) {
+            for (int i = 0; i < engine.getPile(pile).size(); i++) {
+                byte card = engine.getPile(pile).cardCodeAt(i);
+                assertEquals(pile, index.pileOf(card));
+                assertEquals(i, index.positionOf(card));
+                located++;
+            }
+        }
+        assertEquals(PackedCard.CARD_COUNT, located);
+    }
+
+    private long recomputedHash() {
+        long hash = 0;
+        for (int pile = 0; pile < Move.PILE_COUNT; pile++) {
+            for (int i = 0; i < engine.getPile(pile).size(); i++) {
+                hash ^= ZobristHash.key(pile, i, engine.getPile(pile).cardCodeAt(i));
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Writes every pile, including visibility, into one array
+     */
+    private byte[] layout() {
+        byte[] layout = new byte[PackedCard.CARD_COUNT + Move.PILE_COUNT];
+        int index = 0;
+        for (int pile = 0; pile < Move.PILE_COUNT; pile++) {
+            layout[index++] = (byte) engine.getPile(pile).size();
+            for (int i = 0; i < engine.getPile(pile).size(); i++) {
+                layout[index++] = engine.getPile(pile).cardCodeAt(i);
+            }
+        }
+        return layout;
+    }
+}
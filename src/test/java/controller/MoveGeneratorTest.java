@@ -0,0 +1,105 @@
+package controller;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MoveGeneratorTest {
+
+    @Test
+    void generate_ShouldListEveryLegalMoveExactlyOnce_DuringRandomGames() {
+        KlondikeEngine engine = new KlondikeEngine();
+        MoveBuffer buffer = new MoveBuffer();
+        Random random = new Random(11);
+        for (long seed = 0; seed < 20; seed++) {
+            engine.deal(seed);
+            for (int step = 0; step < 200; step++) {
+                engine.legalMoves(buffer);
+                int[] generated = sorted(buffer);
+                assertArrayEquals(bruteForceMoves(engine), generated, "seed " + seed + ", step " + step);
+                engine.apply(buffer.get(random.nextInt(buffer.size())));
+            }
+        }
+    }
+
+    @Test
+    void generate_ShouldNotChangeThePosition() {
+        KlondikeEngine engine = new KlondikeEngine();
+        engine.deal(5);
+        long hash = engine.getHash();
+        MoveBuffer buffer = new MoveBuffer();
+        engine.getMoveGenerator().generate(buffer);
+
+        assertFalse(buffer.isEmpty());
+        assertTrue(buffer.contains(Move.draw()));
+        assertEquals(hash, engine.getHash());
+    }
+
+    /**
+     * Tries every combination of piles and card counts with isLegal
+     */
+    private static int[] bruteForceMoves(KlondikeEngine engine) {
+        int[] moves = new int[KlondikeEngine.MAX_MOVES];
+        int count = 0;
+        for (int from = 0; from < Move.PILE_COUNT; from++) {
+            for (int to = 0; to < Move.PILE_COUNT; to++) {
+                if (Move.isFoundation(from) && Move.isFoundation(to)) {
+                    continue;
+                }
+                if (from == Move.DISCARD_PILE && to == Move.DECK) {
+                    int move = Move.reDeal(engine.getDiscardPile().size());
+                    if (engine.isLegal(move)) {
+                        moves[count++] = move;
+                    }
+                    continue;
+                }
+                for (int cards = 1; cards <= 13; cards++) {
+                    int move = Move.of(from, to, cards);
+                    if (engine.isLegal(move) && !isBottomKingShift(engine, move) && !isSecondEmptyFoundation(engine, move)) {
+                        moves[count++] = move;
+                    }
+                }
+            }
+        }
+        int[] result = Arrays.copyOf(moves, count);
+        Arrays.sort(result);
+        return result;
+    }
+
+    private static boolean isBottomKingShift(KlondikeEngine engine, int move) {
+        return Move.isTableau(Move.from(move)) && Move.isTableau(Move.to(move))
+                && engine.getPile(Move.to(move)).isEmpty()
+                && engine.getPile(Move.from(move)).size() == Move.count(move);
+    }
+
+    /**
+     * An Ace is only moved to the first empty foundation
+     */
+    private static boolean isSecondEmptyFoundation(KlondikeEngine engine, int move) {
+        int to = Move.to(move);
+        if (!Move.isFoundation(to) || !engine.getPile(to).isEmpty()) {
+            return false;
+        }
+        for (int other = Move.FIRST_FOUNDATION; other < to; other++) {
+            if (engine.getPile(other).isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int[] sorted(MoveBuffer buffer) {
+        int[] moves = new int[buffer.size()];
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = buffer.get(i);
+        }
+        Arrays.sort(moves);
+        return moves;
+    }
+}
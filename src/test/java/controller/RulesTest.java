@@ -0,0 +1,33 @@
+package controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RulesTest {
+
+    @Test
+    void parse_ShouldReturnThePresets() {
+        assertEquals(Rules.STANDARD, Rules.parse("standard"));
+        assertEquals(Rules.DRAW_THREE, Rules.parse("draw3"));
+        assertEquals(Rules.VEGAS, Rules.parse("vegas"));
+    }
+
+    @Test
+    void parse_ShouldReadDrawCountReDealLimitAndScoring() {
+        Rules rules = Rules.parse("3::vegas");
+
+        assertEquals(3, rules.getDrawCount());
+        assertEquals(Rules.UNLIMITED, rules.getReDealLimit());
+        assertEquals(Scoring.VEGAS, rules.getScoring());
+        assertEquals(Rules.VEGAS, Rules.parse(Rules.VEGAS.toString()));
+    }
+
+    @Test
+    void parse_ShouldThrow_WhenRulesAreInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> Rules.parse("draw4"));
+        assertThrows(IllegalArgumentException.class, () -> Rules.parse("0:1:standard"));
+        assertThrows(IllegalArgumentException.class, () -> Rules.parse("1:1:casino"));
+    }
+}
@@ -0,0 +1,102 @@
+package controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScoreManagerTest {
+    private ScoreManager scoreManager;
+    private List<Integer> published;
+
+    @BeforeEach
+    void setUp() {
+        scoreManager = new ScoreManager();
+        published = new ArrayList<>();
+    }
+
+    @Test
+    void addScore_ShouldPublishAllChangesOnceOnTheEdt() throws Exception {
+        scoreManager.addListener(score -> {
+            assertTrue(SwingUtilities.isEventDispatchThread());
+            published.add(score);
+        });
+        flushEdt();
+        published.clear();
+
+        SwingUtilities.invokeAndWait(() -> {
+            scoreManager.addScore(5);
+            scoreManager.addScore(10);
+            scoreManager.addScore(100);
+            assertEquals(115, scoreManager.getScore());
+            assertTrue(published.isEmpty());
+        });
+        flushEdt();
+
+        assertEquals(List.of(115), published);
+    }
+
+    @Test
+    void addScore_ShouldNotPublish_WhenChangesCancelOut() throws Exception {
+        scoreManager.addListener(published::add);
+        flushEdt();
+        published.clear();
+
+        SwingUtilities.invokeAndWait(() -> {
+            scoreManager.addScore(10);
+            scoreManager.decreaseScore(10);
+        });
+        flushEdt();
+
+        assertTrue(published.isEmpty());
+    }
+
+    @Test
+    void addListener_ShouldPublishTheCurrentScore() throws Exception {
+        scoreManager.addListener(published::add);
+        flushEdt();
+
+        assertEquals(List.of(0), published);
+    }
+
+    @Test
+    void resetScore_ShouldPublishTheScore_WhenItDidNotChange() throws Exception {
+        scoreManager.addListener(published::add);
+        flushEdt();
+
+        scoreManager.resetScore();
+        flushEdt();
+
+        assertEquals(List.of(0, 0), published);
+    }
+
+    @Test
+    void decreaseScore_ShouldNotDropBelowZero() {
+        scoreManager.increaseScore(5);
+        scoreManager.decreaseScore(100);
+
+        assertEquals(0, scoreManager.getScore());
+    }
+
+    @Test
+    void resetScore_ShouldStartAtTheInitialScoreWithoutFloor_WhenScoringIsVegas() {
+        scoreManager.resetScore(Scoring.VEGAS);
+        assertEquals(-52, scoreManager.getScore());
+
+        scoreManager.addScore(-5);
+        assertEquals(-57, scoreManager.getScore());
+
+        scoreManager.resetScore();
+        assertEquals(-52, scoreManager.getScore());
+    }
+
+    private static void flushEdt() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+        });
+    }
+}
@@ -0,0 +1,68 @@
+package model;
+
+import controller.KlondikeEngine;
+import controller.Move;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardSnapshotTest {
+    private KlondikeEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new KlondikeEngine();
+        engine.deal(5);
+    }
+
+    @Test
+    void snapshot_ShouldCopyEveryPile() {
+        BoardSnapshot snapshot = engine.snapshot();
+
+        assertEquals(Move.PILE_COUNT, snapshot.pileCount());
+        for (int pile = 0; pile < Move.PILE_COUNT; pile++) {
+            ICardHolder holder = engine.getPile(pile);
+            assertEquals(holder.size(), snapshot.size(pile));
+            assertEquals(holder.peekCardCode(), snapshot.peek(pile));
+            for (int i = 0; i < holder.size(); i++) {
+                assertEquals(holder.cardCodeAt(i), snapshot.cardAt(pile, i));
+            }
+        }
+        assertEquals(engine.getHash(), snapshot.getHash());
+    }
+
+    @Test
+    void snapshot_ShouldNotChange_WhenTheGameGoesOn() {
+        BoardSnapshot snapshot = engine.snapshot();
+        BoardSnapshot copy = engine.snapshot();
+
+        engine.apply(Move.draw());
+        engine.apply(Move.draw());
+
+        assertEquals(copy, snapshot);
+        assertNotEquals(engine.snapshot(), snapshot);
+        assertEquals(24, snapshot.size(Move.DECK));
+        assertEquals(PackedCard.NONE, snapshot.peek(Move.DISCARD_PILE));
+    }
+
+    @Test
+    void load_ShouldRestoreThePositionOnAnotherEngine() {
+        engine.apply(Move.draw());
+        BoardSnapshot snapshot = engine.snapshot();
+
+        KlondikeEngine other = new KlondikeEngine();
+        other.load(snapshot);
+
+        assertEquals(snapshot, other.snapshot());
+        assertEquals(engine.getHash(), other.getHash());
+        assertTrue(other.getGameMoveManager().isEmpty());
+    }
+
+    @Test
+    void cardAt_ShouldThrow_WhenPositionIsOutsideThePile() {
+        BoardSnapshot snapshot = engine.snapshot();
+
+        assertThrows(IndexOutOfBoundsException.class, () -> snapshot.cardAt(0, 1));
+    }
+}
@@ -34,8 +34,8 @@ class CardTest {
     void CardConstructor_ShouldSetImagePathToCardBack_WhenRankIsNotBetween_0_And_14() {
         Card cardRank0 = new Card(Card.Suit.HEART, 0);
         Card cardRank14 = new Card(Card.Suit.HEART, 14);
-        assertEquals("src/main/resources/card back/card_back.png", cardRank0.getImagePath());
-        assertEquals("src/main/resources/card back/card_back.png", cardRank14.getImagePath());
+        assertEquals("src/main/resources/back/card_back.png", cardRank0.getImagePath());
+        assertEquals("src/main/resources/back/card_back.png", cardRank14.getImagePath());
     }
 
     @Test
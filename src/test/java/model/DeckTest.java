@@ -40,4 +40,22 @@ class DeckTest {
         }
         assertNull(deck.pickUpCard());
     }
-}
\ No newline at end of file
+
+    @Test
+    void DeckConstructor_ShouldDealTheSameDeck_WhenSeedIsTheSame() {
+        assertEquals(new Deck(42).get_deck(), new Deck(42).get_deck());
+        assertNotEquals(new Deck(42).get_deck(), new Deck(43).get_deck());
+    }
+
+    @Test
+    void shuffle_ShouldWriteEveryCardOnceFaceDown() {
+        byte[] cards = new byte[52];
+        Deck.shuffle(cards, 7);
+        boolean[] seen = new boolean[PackedCard.IDENTITY_COUNT];
+        for (byte card : cards) {
+            assertFalse(PackedCard.isFaceUp(card));
+            assertFalse(seen[PackedCard.identity(card)]);
+            seen[PackedCard.identity(card)] = true;
+        }
+    }
+}
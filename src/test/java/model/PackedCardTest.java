@@ -0,0 +1,65 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PackedCardTest {
+
+    @Test
+    void of_ShouldKeepSuitAndRank_ForEveryCard() {
+        for (Card.Suit suit : Card.Suit.values()) {
+            for (int rank = 1; rank <= 13; rank++) {
+                byte card = PackedCard.of(suit, rank);
+                assertEquals(suit, PackedCard.suit(card));
+                assertEquals(rank, PackedCard.rank(card));
+                assertFalse(PackedCard.isFaceUp(card));
+                assertNotEquals(PackedCard.NONE, card);
+            }
+        }
+    }
+
+    @Test
+    void withVisibility_ShouldNotChangeIdentity() {
+        byte card = PackedCard.of(Card.Suit.DIAMOND, 7);
+        byte faceUp = PackedCard.withVisibility(card, true);
+        assertTrue(PackedCard.isFaceUp(faceUp));
+        assertTrue(PackedCard.isSameCard(card, faceUp));
+        assertEquals(PackedCard.identity(card), PackedCard.identity(faceUp));
+        assertEquals(card, PackedCard.withVisibility(faceUp, false));
+    }
+
+    @Test
+    void isOppositeColor_ShouldMatchSuitColors() {
+        byte heart = PackedCard.of(Card.Suit.HEART, 5);
+        byte diamond = PackedCard.of(Card.Suit.DIAMOND, 5);
+        byte spade = PackedCard.of(Card.Suit.SPADE, 5);
+        byte club = PackedCard.of(Card.Suit.CLUB, 5);
+        assertTrue(PackedCard.isOppositeColor(heart, spade));
+        assertTrue(PackedCard.isOppositeColor(club, diamond));
+        assertFalse(PackedCard.isOppositeColor(heart, diamond));
+        assertFalse(PackedCard.isOppositeColor(club, spade));
+    }
+
+    @Test
+    void canPlaceOnTableau_ShouldRequireKingOrOppositeColorOneLower() {
+        byte redQueen = PackedCard.of(Card.Suit.HEART, 12);
+        assertTrue(PackedCard.canPlaceOnTableau(PackedCard.of(Card.Suit.SPADE, 13), PackedCard.NONE));
+        assertFalse(PackedCard.canPlaceOnTableau(redQueen, PackedCard.NONE));
+        assertTrue(PackedCard.canPlaceOnTableau(PackedCard.of(Card.Suit.CLUB, 11), redQueen));
+        assertFalse(PackedCard.canPlaceOnTableau(PackedCard.of(Card.Suit.DIAMOND, 11), redQueen));
+        assertFalse(PackedCard.canPlaceOnTableau(PackedCard.of(Card.Suit.CLUB, 10), redQueen));
+    }
+
+    @Test
+    void canPlaceOnFoundation_ShouldRequireAceOrSameSuitOneHigher() {
+        byte aceOfClubs = PackedCard.of(Card.Suit.CLUB, 1);
+        assertTrue(PackedCard.canPlaceOnFoundation(aceOfClubs, PackedCard.NONE));
+        assertFalse(PackedCard.canPlaceOnFoundation(PackedCard.of(Card.Suit.CLUB, 2), PackedCard.NONE));
+        assertTrue(PackedCard.canPlaceOnFoundation(PackedCard.of(Card.Suit.CLUB, 2), aceOfClubs));
+        assertFalse(PackedCard.canPlaceOnFoundation(PackedCard.of(Card.Suit.SPADE, 2), aceOfClubs));
+    }
+}
@@ -0,0 +1,27 @@
+package service;
+
+import model.Card;
+import model.PackedCard;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ImageLoaderTest {
+
+    @Test
+    void cardIcon_ShouldReturnTheSameIcon_WhenCalledTwice() {
+        byte aceOfSpades = PackedCard.withVisibility(PackedCard.of(Card.Suit.SPADE, 1), true);
+        assertNotNull(ImageLoader.cardIcon(aceOfSpades));
+        assertSame(ImageLoader.cardIcon(aceOfSpades), ImageLoader.cardIcon(aceOfSpades));
+        assertNotSame(ImageLoader.cardIcon(aceOfSpades), ImageLoader.cardBackIcon());
+    }
+
+    @Test
+    void cardIcon_ShouldReturnTheCardBack_WhenTheCardIsFaceDown() {
+        assertSame(ImageLoader.cardBackIcon(), ImageLoader.cardIcon(PackedCard.of(Card.Suit.HEART, 12)));
+        assertNotNull(ImageLoader.cardBackIcon());
+        assertNotNull(ImageLoader.redrawIcon());
+    }
+}
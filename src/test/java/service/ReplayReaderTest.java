@@ -0,0 +1,98 @@
+package service;
+
+import controller.KlondikeEngine;
+import controller.Move;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplayReaderTest {
+
+    @Test
+    void replay_ShouldReachTheRecordedPosition_ForSeveralGamesInOneStream() throws IOException {
+        KlondikeEngine engine = new KlondikeEngine();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        long[] hashes = new long[3];
+        int[] moveCounts = new int[3];
+        try (ReplayWriter writer = new ReplayWriter(bytes)) {
+            Random random = new Random(2);
+            int[] moves = new int[KlondikeEngine.MAX_MOVES];
+            for (int game = 0; game < hashes.length; game++) {
+                engine.deal(1000 + game);
+                writer.beginGame(engine.getSeed());
+                for (int step = 0; step < 120; step++) {
+                    if (step % 10 == 9) {
+                        engine.undo();
+                        writer.writeUndo();
+                    } else {
+                        int move = moves[random.nextInt(engine.legalMoves(moves))];
+                        engine.apply(move);
+                        writer.writeMove(move);
+                    }
+                    moveCounts[game]++;
+                }
+                hashes[game] = engine.getHash();
+            }
+        }
+
+        try (ReplayReader reader = new ReplayReader(new ByteArrayInputStream(bytes.toByteArray()))) {
+            for (int game = 0; game < hashes.length; game++) {
+                assertTrue(reader.nextGame());
+                assertEquals(1000 + game, reader.getSeed());
+                assertEquals(moveCounts[game], reader.size());
+                reader.replay(engine);
+                assertEquals(hashes[game], engine.getHash());
+            }
+            assertFalse(reader.nextGame());
+        }
+        // 3 seeds and at most 2 bytes per move
+        assertTrue(bytes.size() <= 4 + 3 * (8 + 1) + 2 * 360);
+    }
+
+    @Test
+    void seek_ShouldPlayTheFirstMovesOnly() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ReplayWriter writer = new ReplayWriter(bytes)) {
+            writer.beginGame(-5);
+            writer.writeMove(Move.draw());
+            writer.writeMove(Move.draw());
+        }
+        KlondikeEngine engine = new KlondikeEngine();
+        try (ReplayReader reader = new ReplayReader(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertTrue(reader.nextGame());
+            assertEquals(-5, reader.getSeed());
+            reader.seek(engine, 1);
+            assertEquals(1, engine.getDiscardPile().size());
+            reader.replay(engine);
+            assertEquals(2, engine.getDiscardPile().size());
+        }
+    }
+
+    @Test
+    void seek_ShouldThrow_WhenAReDealIsNotAllowed() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ReplayWriter writer = new ReplayWriter(bytes)) {
+            writer.beginGame(3);
+            writer.writeMove(Move.reDeal(1));
+        }
+        KlondikeEngine engine = new KlondikeEngine();
+        try (ReplayReader reader = new ReplayReader(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertTrue(reader.nextGame());
+            assertThrows(RuntimeException.class, () -> reader.replay(engine));
+        }
+    }
+
+    @Test
+    void constructor_ShouldThrow_WhenTheStreamIsNoReplay() {
+        byte[] bytes = {'P', 'N', 'G', 1};
+        assertThrows(IOException.class, () -> new ReplayReader(new ByteArrayInputStream(bytes)));
+    }
+}
@@ -0,0 +1,43 @@
+package service;
+
+import model.Card;
+import model.PackedCard;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class SpriteAtlasTest {
+
+    @Test
+    void load_ShouldProvideEveryCardFromTheClasspath() throws IOException {
+        SpriteAtlas atlas = SpriteAtlas.load();
+        for (Card.Suit suit : Card.Suit.values()) {
+            for (int rank = 1; rank <= 13; rank++) {
+                byte card = PackedCard.of(suit, rank);
+                BufferedImage image = atlas.cardImage(card);
+                BufferedImage original = ImageIO.read(new File(new Card(card).getImagePath()));
+                assertNotNull(image, SpriteAtlas.nameOf(suit, rank));
+                assertEquals(original.getWidth(), image.getWidth());
+                assertEquals(original.getHeight(), image.getHeight());
+                assertEquals(original.getRGB(50, 72), image.getRGB(50, 72));
+            }
+        }
+        assertNotNull(atlas.image(SpriteAtlas.BACK));
+        assertNotNull(atlas.image(SpriteAtlas.REDRAW));
+    }
+
+    @Test
+    void cardImage_ShouldIgnoreTheVisibility() {
+        SpriteAtlas atlas = SpriteAtlas.load();
+        byte card = PackedCard.of(Card.Suit.DIAMOND, 7);
+        assertEquals(atlas.cardImage(card), atlas.cardImage(PackedCard.withVisibility(card, true)));
+        assertNotEquals(atlas.cardImage(card), atlas.cardImage(PackedCard.of(Card.Suit.DIAMOND, 8)));
+    }
+}
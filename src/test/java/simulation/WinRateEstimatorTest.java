@@ -0,0 +1,61 @@
+package simulation;
+
+import controller.Rules;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WinRateEstimatorTest {
+
+    @Test
+    void estimate_ShouldPlayEveryDeal() {
+        WinRateEstimator estimator = new WinRateEstimator(2, GreedyPolicy::new, WinRateEstimator.DEFAULT_MAX_MOVES);
+
+        WinRateStats stats = estimator.estimate(1, 600, null, 0);
+
+        assertEquals(600, stats.getGames());
+        assertTrue(stats.getWins() > 0);
+        assertTrue(stats.meanMoves() > 0);
+    }
+
+    @Test
+    void estimate_ShouldNotDependOnTheNumberOfWorkers() {
+        WinRateStats single = new WinRateEstimator(1, RandomPolicy::new, 200).estimate(5, 300, null, 0);
+        WinRateStats parallel = new WinRateEstimator(4, RandomPolicy::new, 200).estimate(5, 300, null, 0);
+
+        assertEquals(single.toString(), parallel.toString());
+        assertArrayEquals(single.getScoreHistogram(), parallel.getScoreHistogram());
+    }
+
+    @Test
+    void estimate_ShouldReportTheStatsSoFar() {
+        List<WinRateStats> reports = new ArrayList<>();
+        WinRateEstimator estimator = new WinRateEstimator(1, GreedyPolicy::new, WinRateEstimator.DEFAULT_MAX_MOVES);
+
+        estimator.estimate(1, 3 * WinRateEstimator.DEFAULT_CHUNK_SIZE, reports::add, 0);
+
+        assertEquals(3, reports.size());
+        assertEquals(WinRateEstimator.DEFAULT_CHUNK_SIZE, reports.get(0).getGames());
+    }
+
+    @Test
+    void estimate_ShouldPlayByTheGivenRules() {
+        WinRateStats drawOne = new WinRateEstimator(2, GreedyPolicy::new, WinRateEstimator.DEFAULT_MAX_MOVES)
+                .estimate(1, 300, null, 0);
+        WinRateStats vegas = new WinRateEstimator(2, GreedyPolicy::new, WinRateEstimator.DEFAULT_MAX_MOVES,
+                Rules.VEGAS).estimate(1, 300, null, 0);
+
+        assertEquals(300, vegas.getGames());
+        assertTrue(vegas.getWins() < drawOne.getWins());
+        assertTrue(vegas.meanScore() < 0);
+    }
+
+    @Test
+    void policy_ShouldThrow_WhenNameIsUnknown() {
+        assertThrows(IllegalArgumentException.class, () -> WinRateEstimator.policy("perfect"));
+    }
+}
@@ -0,0 +1,79 @@
+package simulation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WinRateStatsTest {
+
+    @Test
+    void add_ShouldCountGamesWinsAndMeans() {
+        WinRateStats stats = new WinRateStats();
+
+        stats.add(true, 100, 600);
+        stats.add(false, 50, 100);
+
+        assertEquals(2, stats.getGames());
+        assertEquals(1, stats.getWins());
+        assertEquals(0.5, stats.winRate());
+        assertEquals(75, stats.meanMoves());
+        assertEquals(350, stats.meanScore());
+    }
+
+    @Test
+    void merge_ShouldGiveTheSameStatsAsAddingAllGames() {
+        WinRateStats all = new WinRateStats();
+        WinRateStats first = new WinRateStats();
+        WinRateStats second = new WinRateStats();
+        for (int i = 0; i < 10; i++) {
+            boolean won = i % 3 == 0;
+            all.add(won, i * 7, i * 40 - 100);
+            (i < 4 ? first : second).add(won, i * 7, i * 40 - 100);
+        }
+
+        first.merge(second);
+
+        assertEquals(all.toString(), first.toString());
+        assertArrayEquals(all.getScoreHistogram(), first.getScoreHistogram());
+    }
+
+    @Test
+    void winRateInterval_ShouldContainTheWinRate() {
+        WinRateStats stats = new WinRateStats();
+        for (int i = 0; i < 100; i++) {
+            stats.add(i < 50, 10, 0);
+        }
+
+        double[] interval = stats.winRateInterval();
+
+        assertEquals(0.404, interval[0], 0.001);
+        assertEquals(0.596, interval[1], 0.001);
+    }
+
+    @Test
+    void winRateInterval_ShouldStayWithinZeroAndOne_WhenNoGameIsWon() {
+        WinRateStats stats = new WinRateStats();
+        for (int i = 0; i < 20; i++) {
+            stats.add(false, 10, 0);
+        }
+
+        double[] interval = stats.winRateInterval();
+
+        assertEquals(0, interval[0]);
+        assertTrue(interval[1] > 0 && interval[1] < 0.2);
+    }
+
+    @Test
+    void getScoreHistogram_ShouldCountScoresOutsideTheRangeInTheOuterBuckets() {
+        WinRateStats stats = new WinRateStats();
+
+        stats.add(false, 0, WinRateStats.MIN_SCORE - 500);
+        stats.add(false, 0, 0);
+        stats.add(true, 0, WinRateStats.MAX_SCORE + 500);
+
+        long[] histogram = stats.getScoreHistogram();
+        assertEquals(1, histogram[0]);
+        assertEquals(1, histogram[-WinRateStats.MIN_SCORE / WinRateStats.SCORE_BUCKET_WIDTH]);
+        assertEquals(1, histogram[histogram.length - 1]);
+    }
+}
@@ -0,0 +1,85 @@
+package solver;
+
+import controller.Rules;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchSolverTest {
+    private static final long MAX_NODES = 20_000;
+    private static final long TIME_LIMIT_MILLIS = 60_000;
+    private static final int MAX_DEPTH = 300;
+
+    @Test
+    void solve_ShouldReturnOneResultPerSeedInOrder() {
+        BatchSolver batchSolver = new BatchSolver(4, MAX_NODES, TIME_LIMIT_MILLIS, MAX_DEPTH);
+        SolveResult[] results = batchSolver.solve(100, 12);
+        batchSolver.shutdown();
+
+        assertEquals(12, results.length);
+        for (int i = 0; i < results.length; i++) {
+            assertEquals(100 + i, results[i].getSeed());
+            assertTrue(results[i].getNodes() > 0);
+        }
+    }
+
+    @Test
+    void solve_ShouldMatchTheSequentialSolver() {
+        BatchSolver batchSolver = new BatchSolver(4, MAX_NODES, TIME_LIMIT_MILLIS, MAX_DEPTH);
+        SolveResult[] results = batchSolver.solve(0, 8);
+        batchSolver.shutdown();
+
+        KlondikeSolver solver = new KlondikeSolver(MAX_NODES, TIME_LIMIT_MILLIS, MAX_DEPTH);
+        for (SolveResult result : results) {
+            SolveResult expected = solver.solve(result.getSeed());
+            assertEquals(expected.getStatus(), result.getStatus());
+            assertEquals(expected.getNodes(), result.getNodes());
+        }
+    }
+
+    @Test
+    void solve_ShouldShareTheTranspositionTable_WhenATableSizeIsGiven() {
+        BatchSolver batchSolver = new BatchSolver(4, MAX_NODES, TIME_LIMIT_MILLIS, MAX_DEPTH, 16);
+        SolveResult[] results = batchSolver.solve(0, 8);
+        batchSolver.shutdown();
+
+        assertEquals(8, results.length);
+        TranspositionTable table = batchSolver.getTable();
+        assertTrue(table.getStores() > 0);
+        assertTrue(table.getHits() > 0);
+        assertTrue(table.getOccupancy() > 0);
+    }
+
+    @Test
+    void setRules_ShouldNotReuseTheSharedTable_WhenTheRulesChange() {
+        BatchSolver batchSolver = new BatchSolver(1, MAX_NODES, TIME_LIMIT_MILLIS, MAX_DEPTH, 16);
+        batchSolver.solve(5, 1);
+        batchSolver.setRules(Rules.DRAW_THREE);
+        SolveResult result = batchSolver.solve(5, 1)[0];
+        batchSolver.shutdown();
+
+        BatchSolver drawThreeSolver = new BatchSolver(1, MAX_NODES, TIME_LIMIT_MILLIS, MAX_DEPTH, 16);
+        drawThreeSolver.setRules(Rules.DRAW_THREE);
+        SolveResult expected = drawThreeSolver.solve(5, 1)[0];
+        drawThreeSolver.shutdown();
+
+        assertEquals(expected.getStatus(), result.getStatus());
+        assertEquals(expected.getNodes(), result.getNodes());
+        // only the entries of the draw-three search are left
+        assertEquals(drawThreeSolver.getTable().getStores(), batchSolver.getTable().getStores());
+        assertEquals(drawThreeSolver.getTable().getOccupancy(), batchSolver.getTable().getOccupancy());
+    }
+
+    @Test
+    void solve_ShouldFindWinnableDeals() {
+        KlondikeSolver solver = new KlondikeSolver(200_000, TIME_LIMIT_MILLIS, 400);
+        int winnable = 0;
+        for (long seed = 0; seed < 20; seed++) {
+            if (solver.solve(seed).getStatus() == SolveResult.Status.WINNABLE) {
+                winnable++;
+            }
+        }
+        assertTrue(winnable > 0);
+    }
+}
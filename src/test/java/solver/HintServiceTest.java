@@ -0,0 +1,68 @@
+package solver;
+
+import controller.KlondikeEngine;
+import controller.Move;
+import model.BoardSnapshot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HintServiceTest {
+    private HintService hintService;
+
+    @BeforeEach
+    void setUp() {
+        hintService = new HintService(50);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hintService.close();
+    }
+
+    @Test
+    void findHint_ShouldReturnLegalMove_WhenGameHasJustBeenDealt() throws Exception {
+        KlondikeEngine engine = new KlondikeEngine();
+        engine.deal(7);
+
+        int move = hintService.findHint(engine.snapshot(), Move.NONE).get(5, TimeUnit.SECONDS);
+
+        assertNotEquals(Move.NONE, move);
+        assertTrue(engine.isLegal(move));
+    }
+
+    @Test
+    void findHint_ShouldSearchThePositionOfTheSnapshot() throws Exception {
+        KlondikeEngine engine = new KlondikeEngine();
+        engine.deal(11);
+        int[] history = {Move.draw(), Move.draw(), Move.draw()};
+        for (int move : history) {
+            engine.apply(move);
+        }
+
+        BoardSnapshot snapshot = engine.snapshot();
+        engine.apply(Move.draw());
+
+        int move = hintService.findHint(snapshot, history[history.length - 1]).get(5, TimeUnit.SECONDS);
+
+        engine.undo();
+        assertTrue(engine.isLegal(move));
+    }
+
+    @Test
+    void findHint_ShouldCancelThePreviousSearch() {
+        BoardSnapshot snapshot = new KlondikeEngine().snapshot();
+        CompletableFuture<Integer> first = hintService.findHint(snapshot, Move.NONE);
+        CompletableFuture<Integer> second = hintService.findHint(snapshot, Move.NONE);
+        hintService.cancel();
+
+        assertTrue(first.isDone());
+        assertTrue(second.isDone());
+    }
+}
@@ -0,0 +1,65 @@
+package solver;
+
+import controller.KlondikeEngine;
+import controller.Move;
+import model.Card;
+import model.PackedCard;
+import model.Tableau;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KlondikeSolverTest {
+    private static final long MAX_NODES = 200_000;
+    private static final long TIME_LIMIT_MILLIS = 60_000;
+    private static final int MAX_DEPTH = 100;
+    private static final int MAX_HINTS = 100;
+
+    @Test
+    void findHint_ShouldLeadToAWin_WhenOnlyShiftingACardFreesTheCardBelow() {
+        KlondikeEngine engine = new KlondikeEngine();
+        for (int pile = 0; pile < Move.PILE_COUNT; pile++) {
+            engine.getPile(pile).clear();
+        }
+        foundation(engine, 7, Card.Suit.CLUB, 10);
+        foundation(engine, 8, Card.Suit.DIAMOND, 11);
+        foundation(engine, 9, Card.Suit.HEART, 8);
+        foundation(engine, 10, Card.Suit.SPADE, 10);
+
+        // the Ten of Hearts has to leave the Jack of Spades by moving onto the Jack of Clubs
+        Tableau[] tableaus = engine.getTableaus();
+        tableaus[0].placeCardCode(PackedCard.of(Card.Suit.SPADE, 13));
+        tableaus[0].placeCardCode(PackedCard.of(Card.Suit.SPADE, 12));
+        tableaus[0].placeCardCode(PackedCard.of(Card.Suit.DIAMOND, 13));
+        tableaus[0].placeCardCode(PackedCard.of(Card.Suit.DIAMOND, 12));
+        for (int rank = 13; rank >= 11; rank--) {
+            tableaus[0].placeCardCode(PackedCard.of(Card.Suit.HEART, rank));
+        }
+        tableaus[0].placeCardCode(PackedCard.of(Card.Suit.HEART, 9));
+        tableaus[0].placeCardCode(faceUp(Card.Suit.SPADE, 11));
+        tableaus[0].placeCardCode(faceUp(Card.Suit.HEART, 10));
+        tableaus[1].placeCardCode(PackedCard.of(Card.Suit.CLUB, 13));
+        tableaus[1].placeCardCode(PackedCard.of(Card.Suit.CLUB, 12));
+        tableaus[1].placeCardCode(faceUp(Card.Suit.CLUB, 11));
+
+        KlondikeSolver solver = new KlondikeSolver(MAX_NODES, TIME_LIMIT_MILLIS, MAX_DEPTH);
+        int lastMove = Move.NONE;
+        for (int i = 0; i < MAX_HINTS && !engine.canAutoComplete(); i++) {
+            lastMove = solver.findHint(engine.snapshot(), lastMove);
+            engine.apply(lastMove);
+        }
+        engine.autoComplete();
+
+        assertTrue(engine.isWon());
+    }
+
+    private static void foundation(KlondikeEngine engine, int pile, Card.Suit suit, int topRank) {
+        for (int rank = 1; rank <= topRank; rank++) {
+            engine.getPile(pile).placeCardCode(faceUp(suit, rank));
+        }
+    }
+
+    private static byte faceUp(Card.Suit suit, int rank) {
+        return PackedCard.withVisibility(PackedCard.of(suit, rank), true);
+    }
+}
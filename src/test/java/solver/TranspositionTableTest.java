@@ -0,0 +1,99 @@
+package solver;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TranspositionTableTest {
+
+    @Test
+    void probe_ShouldReturnTheStoredDepth_WhenThePositionWasStored() {
+        TranspositionTable table = new TranspositionTable(1);
+        table.store(0x1234_5678_9ABC_DEF0L, 17);
+
+        assertEquals(17, table.probe(0x1234_5678_9ABC_DEF0L));
+        assertEquals(TranspositionTable.MISS, table.probe(0x0FED_CBA9_8765_4321L));
+        assertEquals(2, table.getProbes());
+        assertEquals(1, table.getHits());
+    }
+
+    @Test
+    void store_ShouldKeepTheLargerDepth_WhenThePositionIsStoredAgain() {
+        TranspositionTable table = new TranspositionTable(1);
+        table.store(42, 10);
+        table.store(42, TranspositionTable.UNBOUNDED);
+        table.store(42, 3);
+
+        assertEquals(TranspositionTable.UNBOUNDED, table.probe(42));
+    }
+
+    @Test
+    void store_ShouldReplaceTheShallowestEntry_WhenTheBucketIsFull() {
+        TranspositionTable table = new TranspositionTable(1);
+        // same bucket, different upper halves
+        for (int i = 0; i < 4; i++) {
+            table.store((long) (i + 1) << 32, 10 + i);
+        }
+        table.store(5L << 32, 50);
+
+        assertEquals(TranspositionTable.MISS, table.probe(1L << 32));
+        assertEquals(50, table.probe(5L << 32));
+        assertEquals(13, table.probe(4L << 32));
+        assertEquals(1, table.getCollisions());
+    }
+
+    @Test
+    void store_ShouldReplaceEntriesOfOlderSearchesFirst() {
+        TranspositionTable table = new TranspositionTable(1);
+        table.store(1L << 32, TranspositionTable.UNBOUNDED);
+        table.newSearch();
+        for (int i = 1; i < 4; i++) {
+            table.store((long) (i + 1) << 32, 1);
+        }
+        table.store(5L << 32, 1);
+
+        assertEquals(TranspositionTable.MISS, table.probe(1L << 32));
+        assertEquals(1, table.probe(2L << 32));
+    }
+
+    @Test
+    void store_ShouldKeepEveryEntry_WhenThreadsStoreAtOnce() throws InterruptedException {
+        TranspositionTable table = new TranspositionTable(8);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            int first = t * 10_000;
+            threads[t] = new Thread(() -> {
+                for (int i = first; i < first + 10_000; i++) {
+                    table.store(key(i), 7);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        for (int i = 0; i < 40_000; i++) {
+            assertEquals(7, table.probe(key(i)));
+        }
+        assertEquals(40_000, table.getStores());
+        assertEquals(40_000.0 / table.capacity(), table.getOccupancy(), 1e-9);
+    }
+
+    @Test
+    void constructor_ShouldRoundTheCapacityToThePowerOfTwo_ThatFitsTheMemory() {
+        assertEquals(1 << 17, new TranspositionTable(1).capacity());
+        assertEquals(1 << 18, new TranspositionTable(3).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new TranspositionTable(0));
+        assertTrue(new TranspositionTable(1).getHitRate() == 0);
+    }
+
+    /**
+     * Spreads the entries over the buckets, two entries per bucket
+     */
+    private static long key(int i) {
+        return (long) i << 32 | (i >>> 1) << 2;
+    }
+}
@@ -0,0 +1,96 @@
+package view;
+
+import controller.KlondikeEngine;
+import controller.Move;
+import model.PackedCard;
+import model.Tableau;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardCanvasTest {
+    private KlondikeEngine engine;
+    private BoardCanvas canvas;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        engine = new KlondikeEngine();
+        canvas = new BoardCanvas();
+        canvas.setSize(SolitaireView.SCREEN_WIDTH, SolitaireView.SCREEN_HEIGHT);
+        // let the resize event pass before rendering, it renders on the EDT
+        SwingUtilities.invokeAndWait(() -> {
+        });
+        render();
+    }
+
+    private void render() {
+        canvas.render(engine.getDeck(), engine.getDiscardPile(), engine.getFoundations(), engine.getTableaus());
+    }
+
+    @Test
+    void indexAt_ShouldReturnTopCard_WhenCardsOverlap() {
+        Tableau last = engine.getTableaus()[6];
+        Point top = centerOfTopCard(6);
+
+        int index = canvas.indexAt(top.x, top.y);
+
+        assertTrue(index >= 0);
+        assertEquals(last.peekCardCode(), canvas.cardAt(index));
+    }
+
+    @Test
+    void indexAt_ShouldReturnMinusOne_WhenNoCardIsHit() {
+        assertEquals(-1, canvas.indexAt(1, SolitaireView.SCREEN_HEIGHT - 1));
+    }
+
+    @Test
+    void dropSlotAt_ShouldFindTableauColumn_WhenPointIsBelowTheTopRow() {
+        Point top = centerOfTopCard(3);
+
+        assertEquals(3, canvas.dropSlotAt(top.x, top.y));
+    }
+
+    @Test
+    void render_ShouldOnlyRepaintTheDeckAndDiscardPile_WhenACardIsDrawn() {
+        engine.apply(Move.draw());
+        render();
+
+        Rectangle dirty = canvas.getDirtyRegion();
+        assertFalse(dirty.isEmpty());
+        assertTrue(dirty.y + dirty.height < centerOfTopCard(0).y);
+        assertTrue(dirty.x > SolitaireView.SCREEN_WIDTH / 2);
+    }
+
+    @Test
+    void render_ShouldRepaintNothing_WhenNothingChanged() {
+        render();
+
+        assertTrue(canvas.getDirtyRegion().isEmpty());
+    }
+
+    @Test
+    void paint_ShouldDrawCardsOverTheFelt() {
+        BufferedImage image = new BufferedImage(SolitaireView.SCREEN_WIDTH, SolitaireView.SCREEN_HEIGHT,
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        canvas.paint(graphics);
+        graphics.dispose();
+
+        int felt = new Color(0, 128, 0).getRGB();
+        Point top = centerOfTopCard(0);
+        assertNotEquals(felt, image.getRGB(top.x, top.y));
+        assertEquals(felt, image.getRGB(1, SolitaireView.SCREEN_HEIGHT - 1));
+    }
+
+    private Point centerOfTopCard(int tableau) {
+        int columnWidth = SolitaireView.SCREEN_WIDTH / 7;
+        int size = engine.getTableaus()[tableau].size();
+        int y = 3 * 20 + BoardCanvas.CARD_HEIGHT + (size - 1) * 30 + BoardCanvas.CARD_HEIGHT / 2;
+        return new Point(tableau * columnWidth + columnWidth / 2, y);
+    }
+}
@@ -0,0 +1,60 @@
+package view;
+
+import model.Card;
+import model.PackedCard;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CardLabelPoolTest {
+    private CardLabelPool pool;
+    private JPanel container;
+
+    @BeforeEach
+    void setUp() {
+        pool = new CardLabelPool();
+        container = new JPanel();
+    }
+
+    @Test
+    void bind_ShouldReturnSameLabel_WhenCardIsBoundAgain() {
+        byte faceDown = PackedCard.of(Card.Suit.HEART, 7);
+        byte faceUp = PackedCard.withVisibility(faceDown, true);
+
+        CardLabel first = pool.bind(faceDown, TableauPanel.TABLEAU, container);
+        CardLabel second = pool.bind(faceUp, FoundationPanel.FOUNDATION, container);
+
+        assertSame(first, second);
+        assertEquals(faceUp, second.getCard());
+        assertEquals(FoundationPanel.FOUNDATION, second.getSource());
+    }
+
+    @Test
+    void bind_ShouldReturnDifferentLabels_WhenCardsDiffer() {
+        CardLabel ace = pool.bind(PackedCard.of(Card.Suit.CLUB, 1), TableauPanel.TABLEAU, container);
+        CardLabel two = pool.bind(PackedCard.of(Card.Suit.CLUB, 2), TableauPanel.TABLEAU, container);
+
+        assertNotSame(ace, two);
+        assertNotSame(ace.getCardLabel(), two.getCardLabel());
+    }
+
+    @Test
+    void of_ShouldReturnOwningCardLabel_WhenGivenItsComponent() {
+        CardLabel cardLabel = pool.bind(PackedCard.of(Card.Suit.SPADE, 12), TableauPanel.TABLEAU, container);
+
+        assertSame(cardLabel, CardLabel.of(cardLabel.getCardLabel()));
+        assertNull(CardLabel.of(new JLabel()));
+    }
+
+    @Test
+    void isInteractive_ShouldOnlyBeTrue_WhenCardIsFaceUpOrOnTheDeck() {
+        byte faceDown = PackedCard.of(Card.Suit.DIAMOND, 3);
+
+        assertFalse(pool.bind(faceDown, TableauPanel.TABLEAU, container).isInteractive());
+        assertTrue(pool.bind(faceDown, DeckPanel.DECK, container).isInteractive());
+        assertTrue(pool.bind(PackedCard.withVisibility(faceDown, true), TableauPanel.TABLEAU, container).isInteractive());
+    }
+}
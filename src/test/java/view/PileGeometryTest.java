@@ -0,0 +1,64 @@
+package view;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PileGeometryTest {
+    private PileGeometry geometry;
+
+    @BeforeEach
+    void setUp() {
+        geometry = new PileGeometry(20);
+        Rectangle[] tableaus = new Rectangle[7];
+        for (int i = 0; i < tableaus.length; i++) {
+            tableaus[i] = new Rectangle(i * 170 + 10, 200, 150, 500);
+        }
+        Rectangle[] foundations = new Rectangle[4];
+        for (int i = 0; i < foundations.length; i++) {
+            foundations[i] = new Rectangle(i * 150 + 10, 10, 100, 144);
+        }
+        geometry.rebuild(1200, 800, tableaus, foundations);
+    }
+
+    @Test
+    void targetAt_ShouldReturnTableau_WhenPointIsInsideIt() {
+        int target = geometry.targetAt(3 * 170 + 80, 400);
+
+        assertEquals(TableauPanel.TABLEAU, PileGeometry.typeOf(target));
+        assertEquals(3, PileGeometry.indexOf(target));
+    }
+
+    @Test
+    void targetAt_ShouldReturnFoundation_WhenPointIsInsideIt() {
+        int target = geometry.targetAt(2 * 150 + 50, 80);
+
+        assertEquals(FoundationPanel.FOUNDATION, PileGeometry.typeOf(target));
+        assertEquals(2, PileGeometry.indexOf(target));
+    }
+
+    @Test
+    void targetAt_ShouldSnapToPile_WhenPointIsWithinTolerance() {
+        int target = geometry.targetAt(5, 400);
+
+        assertEquals(TableauPanel.TABLEAU, PileGeometry.typeOf(target));
+        assertEquals(0, PileGeometry.indexOf(target));
+    }
+
+    @Test
+    void targetAt_ShouldReturnNone_WhenPointIsFarFromAllPiles() {
+        assertEquals(PileGeometry.NONE, geometry.targetAt(1000, 60));
+        assertEquals(PileGeometry.NONE, geometry.targetAt(-5, 400));
+        assertEquals(PileGeometry.NONE, geometry.targetAt(5000, 400));
+    }
+
+    @Test
+    void targetAt_ShouldReturnNearerPile_WhenTolerancesOverlap() {
+        // tableau 0 ends at 159, tableau 1 starts at 180
+        assertEquals(0, PileGeometry.indexOf(geometry.targetAt(164, 400)));
+        assertEquals(1, PileGeometry.indexOf(geometry.targetAt(176, 400)));
+    }
+}
@@ -0,0 +1,68 @@
+package view;
+
+import model.Deck;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PileSnapshotTest {
+    private Deck deck;
+    private PileSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        deck = new Deck(1);
+        snapshot = new PileSnapshot();
+    }
+
+    @Test
+    void firstChange_ShouldReturnZero_WhenNothingWasRendered() {
+        assertEquals(0, snapshot.firstChange(deck));
+    }
+
+    @Test
+    void firstChange_ShouldReturnUnchanged_WhenPileWasRendered() {
+        snapshot.update(deck);
+
+        assertEquals(PileSnapshot.UNCHANGED, snapshot.firstChange(deck));
+    }
+
+    @Test
+    void firstChange_ShouldReturnNewSize_WhenCardsWereRemoved() {
+        snapshot.update(deck);
+        deck.pickUpCardCode();
+        deck.pickUpCardCode();
+
+        assertEquals(50, snapshot.firstChange(deck));
+    }
+
+    @Test
+    void firstChange_ShouldReturnOldSize_WhenCardsWereAdded() {
+        byte top = deck.pickUpCardCode();
+        snapshot.update(deck);
+        deck.placeCardCode(top);
+
+        assertEquals(51, snapshot.firstChange(deck));
+    }
+
+    @Test
+    void firstChange_ShouldReturnPositionOfReplacedCard_WhenTopCardChanged() {
+        byte top = deck.pickUpCardCode();
+        byte below = deck.pickUpCardCode();
+        deck.placeCardCode(top);
+        snapshot.update(deck);
+        deck.pickUpCardCode();
+        deck.placeCardCode(below);
+
+        assertEquals(50, snapshot.firstChange(deck));
+    }
+
+    @Test
+    void firstChange_ShouldReturnZero_WhenInvalidated() {
+        snapshot.update(deck);
+        snapshot.invalidate();
+
+        assertEquals(0, snapshot.firstChange(deck));
+    }
+}
@@ -0,0 +1,66 @@
+package view;
+
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RenderSchedulerTest {
+    @Test
+    void requestRender_ShouldRenderOnce_WhenRequestedManyTimesWithinAFrame() throws Exception {
+        AtomicInteger renders = new AtomicInteger();
+        CountDownLatch rendered = new CountDownLatch(1);
+        RenderScheduler scheduler = new RenderScheduler(() -> {
+            renders.incrementAndGet();
+            rendered.countDown();
+        }, 50);
+
+        SwingUtilities.invokeAndWait(() -> {
+            for (int i = 0; i < 10; i++) {
+                scheduler.requestRender();
+            }
+        });
+        assertTrue(rendered.await(5, TimeUnit.SECONDS));
+        SwingUtilities.invokeAndWait(() -> {
+        });
+
+        assertEquals(1, renders.get());
+        assertEquals(10, scheduler.getRequests());
+        assertEquals(1, scheduler.getRenders());
+        assertEquals(9, scheduler.getCoalesced());
+        assertFalse(scheduler.isDirty());
+    }
+
+    @Test
+    void requestRender_ShouldRenderAgain_WhenRequestedAfterARender() throws Exception {
+        CountDownLatch rendered = new CountDownLatch(2);
+        RenderScheduler scheduler = new RenderScheduler(rendered::countDown, 10);
+
+        scheduler.requestRender();
+        Thread.sleep(50);
+        scheduler.requestRender();
+
+        assertTrue(rendered.await(5, TimeUnit.SECONDS));
+        SwingUtilities.invokeAndWait(() -> assertEquals(2, scheduler.getRenders()));
+    }
+
+    @Test
+    void flush_ShouldRenderRightAway_WhenDirty() throws Exception {
+        AtomicInteger renders = new AtomicInteger();
+        RenderScheduler scheduler = new RenderScheduler(renders::incrementAndGet, 1000);
+
+        SwingUtilities.invokeAndWait(() -> {
+            scheduler.requestRender();
+            scheduler.flush();
+            scheduler.flush();
+        });
+
+        assertEquals(1, renders.get());
+    }
+}